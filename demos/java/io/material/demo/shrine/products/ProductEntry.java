@@ -17,19 +17,20 @@
 package io.material.demo.shrine.products;
 
 import android.net.Uri;
+import android.support.annotation.Nullable;
 
 /** A product entry in the list of products. */
 public class ProductEntry {
   public final String title;
-  public final Uri dynamicUrl;
+  @Nullable public final Uri dynamicUrl;
   public final String url;
   public final String price;
   public final String description;
 
   public ProductEntry(
-      String title, String dynamicUrl, String url, String price, String description) {
+      String title, @Nullable String dynamicUrl, String url, String price, String description) {
     this.title = title;
-    this.dynamicUrl = Uri.parse(dynamicUrl);
+    this.dynamicUrl = dynamicUrl != null ? Uri.parse(dynamicUrl) : null;
     this.url = url;
     this.price = price;
     this.description = description;
@@ -21,6 +21,8 @@ import android.content.Context;
 import android.content.Intent;
 import android.graphics.Point;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
 import com.google.android.material.appbar.CollapsingToolbarLayout;
 import android.support.v7.app.AppCompatActivity;
 import android.support.v7.widget.CardView;
@@ -38,25 +40,33 @@ import android.view.View.OnClickListener;
 import android.view.ViewGroup;
 import android.widget.TextView;
 import com.android.volley.toolbox.NetworkImageView;
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
 import io.material.demo.shrine.filters.FiltersActivity;
 import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.Reader;
-import java.io.StringWriter;
-import java.io.Writer;
-import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /** Activity that displays a list of products. */
 public class ProductListActivity extends AppCompatActivity {
   private static final String TAG = ProductListActivity.class.getSimpleName();
+  /**
+   * Number of products parsed before the activity is shown. Enough to fill the first screen and to
+   * pick the collapsing toolbar image.
+   */
+  private static final int FIRST_PAGE_SIZE = 20;
+  /** Number of products parsed in the background before they're added to the grid. */
+  private static final int PAGE_SIZE = 100;
+
   private ImageRequester imageRequester;
   private List<ProductEntry> productEntryList;
+  private ProductAdapter productAdapter;
+  private final Handler mainHandler = new Handler(Looper.getMainLooper());
+  private ExecutorService catalogExecutor;
+  private volatile boolean destroyed;
 
   @Override
   public void onCreate(Bundle savedInstanceState) {
@@ -64,34 +74,135 @@ public class ProductListActivity extends AppCompatActivity {
     super.onCreate(savedInstanceState);
     setContentView(R.layout.shrine_product_activity);
     imageRequester = ImageRequester.getInstance(this);
-    initProductEntryList();
+    JsonReader catalogReader = initProductEntryList();
     initCollapsingToolbar();
     initItemGrid();
+    if (catalogReader != null) {
+      loadRemainingProducts(catalogReader);
+    }
   }
 
-  private void initProductEntryList() {
-    InputStream inputStream = getResources().openRawResource(R.raw.products);
-    Writer writer = new StringWriter();
-    char[] buffer = new char[1024];
+  @Override
+  protected void onDestroy() {
+    destroyed = true;
+    if (catalogExecutor != null) {
+      catalogExecutor.shutdownNow();
+    }
+    super.onDestroy();
+  }
+
+  /**
+   * Parses the first page of the catalog. Returns the reader positioned after it if there are more
+   * products to parse, or null.
+   */
+  private JsonReader initProductEntryList() {
+    productEntryList = new ArrayList<>();
+    JsonReader reader = null;
     try {
-      Reader reader = new BufferedReader(new InputStreamReader(inputStream, "UTF-8"));
-      int pointer;
-      while ((pointer = reader.read(buffer)) != -1) {
-        writer.write(buffer, 0, pointer);
+      reader =
+          new JsonReader(
+              new BufferedReader(
+                  new InputStreamReader(getResources().openRawResource(R.raw.products), "UTF-8")));
+      reader.beginArray();
+      if (readProducts(reader, productEntryList, FIRST_PAGE_SIZE)) {
+        return reader;
       }
-    } catch (IOException exception) {
-      Log.e(TAG, "Error writing/reading from the JSON file.", exception);
-    } finally {
-      try {
-        inputStream.close();
-      } catch (IOException exception) {
-        Log.e(TAG, "Error closing the input stream.", exception);
+      reader.endArray();
+    } catch (IOException | IllegalStateException exception) {
+      Log.e(TAG, "Error reading the JSON file.", exception);
+    }
+    closeQuietly(reader);
+    return null;
+  }
+
+  /** Parses the rest of the catalog in the background, adding it to the grid a page at a time. */
+  private void loadRemainingProducts(final JsonReader reader) {
+    catalogExecutor = Executors.newSingleThreadExecutor();
+    catalogExecutor.execute(
+        new Runnable() {
+          @Override
+          public void run() {
+            try {
+              boolean hasMore = true;
+              while (hasMore && !destroyed) {
+                final List<ProductEntry> page = new ArrayList<>(PAGE_SIZE);
+                hasMore = readProducts(reader, page, PAGE_SIZE);
+                if (!page.isEmpty()) {
+                  mainHandler.post(
+                      new Runnable() {
+                        @Override
+                        public void run() {
+                          if (!destroyed) {
+                            productAdapter.addProducts(page);
+                          }
+                        }
+                      });
+                }
+              }
+            } catch (IOException | IllegalStateException exception) {
+              Log.e(TAG, "Error reading the JSON file.", exception);
+            } finally {
+              closeQuietly(reader);
+            }
+          }
+        });
+  }
+
+  /**
+   * Reads up to {@code count} products from the array the reader is in. Returns whether the array
+   * has more products.
+   */
+  private static boolean readProducts(JsonReader reader, List<ProductEntry> products, int count)
+      throws IOException {
+    for (int i = 0; i < count && reader.hasNext(); i++) {
+      products.add(readProduct(reader));
+    }
+    return reader.hasNext();
+  }
+
+  private static ProductEntry readProduct(JsonReader reader) throws IOException {
+    String title = null;
+    String dynamicUrl = null;
+    String url = null;
+    String price = null;
+    String description = null;
+    reader.beginObject();
+    while (reader.hasNext()) {
+      String name = reader.nextName();
+      switch (name) {
+        case "title":
+          title = reader.nextString();
+          break;
+        case "dynamicUrl":
+          dynamicUrl = reader.nextString();
+          break;
+        case "url":
+          url = reader.nextString();
+          break;
+        case "price":
+          price = reader.nextString();
+          break;
+        case "description":
+          description = reader.nextString();
+          break;
+        default:
+          reader.skipValue();
+          break;
       }
     }
-    String jsonProductsString = writer.toString();
-    Gson gson = new Gson();
-    Type productListType = new TypeToken<ArrayList<ProductEntry>>() {}.getType();
-    this.productEntryList = gson.fromJson(jsonProductsString, productListType);
+    reader.endObject();
+    return new ProductEntry(title, dynamicUrl, url, price, description);
+  }
+
+  private static void closeQuietly(JsonReader reader) {
+    if (reader == null) {
+      return;
+    }
+    try {
+      reader.close();
+    } catch (IOException exception) {
+      Log.e(TAG, "Error closing the input stream.", exception);
+    }
   }
 
   @Override
@@ -137,7 +248,8 @@ public class ProductListActivity extends AppCompatActivity {
     RecyclerView recyclerView = findViewById(R.id.ProductGrid);
     recyclerView.setHasFixedSize(true);
     recyclerView.setLayoutManager(new GridLayoutManager(this, 2));
-    recyclerView.setAdapter(new ProductAdapter(this, productEntryList, imageRequester));
+    productAdapter = new ProductAdapter(this, productEntryList, imageRequester);
+    recyclerView.setAdapter(productAdapter);
   }
 
   private static class ProductAdapter extends Adapter<ProductViewHolder> {
@@ -166,6 +278,12 @@ public class ProductListActivity extends AppCompatActivity {
     public int getItemCount() {
       return productEntries.size();
     }
+
+    void addProducts(List<ProductEntry> products) {
+      int start = productEntries.size();
+      productEntries.addAll(products);
+      notifyItemRangeInserted(start, products.size());
+    }
   }
 
   private static class ProductViewHolder extends ViewHolder {
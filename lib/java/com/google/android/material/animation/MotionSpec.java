@@ -66,6 +66,8 @@ public class MotionSpec {
 
   private final SimpleArrayMap<String, MotionTiming> timings = new SimpleArrayMap<>();
 
+  private boolean immutable;
+
   /** Returns whether this motion spec contains a MotionTiming with the given name. */
   public boolean hasTiming(String name) {
     return timings.get(name) != null;
@@ -82,11 +84,37 @@ public class MotionSpec {
     return timings.get(name);
   }
 
-  /** Sets a MotionTiming with the given name. */
+  /**
+   * Sets a MotionTiming with the given name.
+   *
+   * @throws UnsupportedOperationException if this motion spec is shared through {@link
+   *     MotionSpecRegistry}
+   */
   public void setTiming(String name, @Nullable MotionTiming timing) {
+    if (immutable) {
+      throw new UnsupportedOperationException("This MotionSpec is shared and can't be modified");
+    }
     timings.put(name, timing);
   }
 
+  /** Returns whether this motion spec is shared and can't be modified. */
+  public boolean isImmutable() {
+    return immutable;
+  }
+
+  /** Prevents further modifications so that this motion spec can be shared. */
+  void makeImmutable() {
+    immutable = true;
+  }
+
+  /** Returns a copy of this motion spec which can be modified. */
+  MotionSpec copy() {
+    MotionSpec copy = new MotionSpec();
+    // MotionTiming can't be modified, so the timings themselves can be shared.
+    copy.timings.putAll(timings);
+    return copy;
+  }
+
   /**
    * Returns the total duration of this motion spec, which is the maximum delay+duration of its
    * motion timings.
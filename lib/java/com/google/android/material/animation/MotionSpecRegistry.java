@@ -0,0 +1,153 @@
+/*
+ * Copyright 2018 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.animation;
+
+import static android.support.annotation.RestrictTo.Scope.LIBRARY_GROUP;
+
+import android.content.Context;
+import android.content.res.Configuration;
+import android.support.annotation.AnimatorRes;
+import android.support.annotation.Nullable;
+import android.support.annotation.RestrictTo;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * A process-wide registry of immutable {@link MotionSpec motion specs}, so that each animator
+ * resource is inflated once per configuration and shared by every component using it.
+ *
+ * <p>Motion specs returned by {@link #get(Context, int)} can't be modified, use {@link
+ * #getCopy(Context, int)} to get an instance that can. The registry keeps a bounded number of
+ * recently used motion specs, so that specs inflated for previous configurations don't stay
+ * around forever.
+ *
+ * @hide
+ */
+@RestrictTo(LIBRARY_GROUP)
+public final class MotionSpecRegistry {
+
+  private static final int MAX_SIZE = 32;
+
+  private static final Map<Key, MotionSpec> motionSpecs =
+      new LinkedHashMap<Key, MotionSpec>(MAX_SIZE, 0.75f, true /* accessOrder */) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, MotionSpec> eldest) {
+          return size() > MAX_SIZE;
+        }
+      };
+  private static final Key lookupKey = new Key();
+
+  private MotionSpecRegistry() {}
+
+  /**
+   * Returns the shared motion spec for the given animator resource in the context's configuration,
+   * inflating it if needed.
+   */
+  @Nullable
+  public static MotionSpec get(Context context, @AnimatorRes int id) {
+    Configuration configuration = context.getResources().getConfiguration();
+    synchronized (motionSpecs) {
+      lookupKey.set(id, configuration);
+      MotionSpec spec = motionSpecs.get(lookupKey);
+      lookupKey.set(0, null);
+      if (spec != null) {
+        return spec;
+      }
+    }
+
+    // Inflate outside of the lock, the worst case being that two threads inflate the same spec.
+    MotionSpec spec = MotionSpec.createFromResource(context, id);
+    if (spec == null) {
+      return null;
+    }
+    spec.makeImmutable();
+
+    synchronized (motionSpecs) {
+      Key key = new Key();
+      key.set(id, new Configuration(configuration));
+      MotionSpec existing = motionSpecs.get(key);
+      if (existing != null) {
+        return existing;
+      }
+      motionSpecs.put(key, spec);
+      return spec;
+    }
+  }
+
+  /**
+   * Returns a copy of the shared motion spec for the given animator resource which can be
+   * modified. The copy is cheap compared to inflating the resource again.
+   */
+  @Nullable
+  public static MotionSpec getCopy(Context context, @AnimatorRes int id) {
+    MotionSpec spec = get(context, id);
+    return spec != null ? spec.copy() : null;
+  }
+
+  /**
+   * Inflates the motion specs for the given animator resources on the executor, so that they
+   * don't have to be inflated on the main thread the first time they are used.
+   */
+  public static void preload(Context context, Executor executor, @AnimatorRes final int... ids) {
+    final Context applicationContext = context.getApplicationContext();
+    executor.execute(
+        new Runnable() {
+          @Override
+          public void run() {
+            for (int id : ids) {
+              get(applicationContext, id);
+            }
+          }
+        });
+  }
+
+  private static final class Key {
+    @AnimatorRes int id;
+    @Nullable Configuration configuration;
+
+    void set(@AnimatorRes int id, @Nullable Configuration configuration) {
+      this.id = id;
+      this.configuration = configuration;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+
+      Key that = (Key) o;
+
+      if (id != that.id) {
+        return false;
+      }
+      return configuration != null
+          ? configuration.equals(that.configuration)
+          : that.configuration == null;
+    }
+
+    @Override
+    public int hashCode() {
+      int result = id;
+      result = 31 * result + (configuration != null ? configuration.hashCode() : 0);
+      return result;
+    }
+  }
+}
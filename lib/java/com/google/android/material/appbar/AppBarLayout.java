@@ -46,6 +46,7 @@ import android.support.v4.view.WindowInsetsCompat;
 import android.util.AttributeSet;
 import android.view.View;
 import android.view.ViewGroup;
+import android.view.ViewTreeObserver;
 import android.view.animation.Interpolator;
 import android.widget.LinearLayout;
 import java.lang.annotation.Retention;
@@ -143,6 +144,27 @@ public class AppBarLayout extends LinearLayout {
     void onOffsetChanged(AppBarLayout appBarLayout, int verticalOffset);
   }
 
+  /**
+   * An {@link OnOffsetChangedListener} which is also told how much the offset changed since the
+   * last dispatch to the listeners. When offset updates are coalesced, the delta accumulates all
+   * the changes made during the frame. A listener added after offsets were dispatched gets a delta
+   * relative to the last offset dispatched to the other listeners.
+   *
+   * @see #setCoalesceOffsetUpdates(boolean)
+   */
+  public interface OnOffsetDeltaChangedListener extends OnOffsetChangedListener {
+
+    /**
+     * Called instead of {@link #onOffsetChanged(AppBarLayout, int)} when the {@link
+     * AppBarLayout}'s layout offset has been changed.
+     *
+     * @param appBarLayout the {@link AppBarLayout} which offset has changed
+     * @param verticalOffset the vertical offset for the parent {@link AppBarLayout}, in px
+     * @param offsetDelta the change of the vertical offset since the last dispatch, in px
+     */
+    void onOffsetChanged(AppBarLayout appBarLayout, int verticalOffset, int offsetDelta);
+  }
+
   private static final int INVALID_SCROLL_RANGE = -1;
 
   private int totalScrollRange = INVALID_SCROLL_RANGE;
@@ -151,12 +173,35 @@ public class AppBarLayout extends LinearLayout {
 
   private boolean haveChildWithInterpolator;
 
+  // The vertical bounds of the children which weren't gone at the last layout, used to find the
+  // child on an offset without walking the children on every scroll step.
+  private int[] childIndices = new int[0];
+  private int[] childTops = new int[0];
+  private int[] childBottoms = new int[0];
+  private int laidOutChildCount;
+  private boolean childBoundsSorted;
+  // Set when children are added or removed, until the next layout records their bounds.
+  private boolean childBoundsDirty = true;
+
   private int pendingAction = PENDING_ACTION_NONE;
 
   private WindowInsetsCompat lastInsets;
 
   private List<BaseOnOffsetChangedListener> listeners;
 
+  private boolean coalesceOffsetUpdates;
+  private boolean offsetUpdatePending;
+  private int pendingOffset;
+  private int lastDispatchedOffset;
+  private final ViewTreeObserver.OnPreDrawListener offsetUpdatePreDrawListener =
+      new ViewTreeObserver.OnPreDrawListener() {
+        @Override
+        public boolean onPreDraw() {
+          flushOffsetUpdates();
+          return true;
+        }
+      };
+
   private boolean liftable;
   private boolean lifted;
 
@@ -258,6 +303,58 @@ public class AppBarLayout extends LinearLayout {
     removeOnOffsetChangedListener((BaseOnOffsetChangedListener) listener);
   }
 
+  /**
+   * Sets whether offset changes are dispatched to the listeners at most once per frame, right
+   * before this {@link AppBarLayout} is drawn, with the latest offset. Otherwise every scroll step
+   * is dispatched as it happens, which may be several times per frame during a fling.
+   *
+   * <p>Listeners which need to know how far the offset moved since the last dispatch should
+   * implement {@link OnOffsetDeltaChangedListener}.
+   *
+   * @param coalesceOffsetUpdates whether to dispatch offset changes once per frame
+   * @see #isCoalesceOffsetUpdates()
+   */
+  public void setCoalesceOffsetUpdates(boolean coalesceOffsetUpdates) {
+    if (this.coalesceOffsetUpdates == coalesceOffsetUpdates) {
+      return;
+    }
+    this.coalesceOffsetUpdates = coalesceOffsetUpdates;
+    if (ViewCompat.isAttachedToWindow(this)) {
+      if (coalesceOffsetUpdates) {
+        getViewTreeObserver().addOnPreDrawListener(offsetUpdatePreDrawListener);
+      } else {
+        getViewTreeObserver().removeOnPreDrawListener(offsetUpdatePreDrawListener);
+        flushOffsetUpdates();
+      }
+    }
+  }
+
+  /**
+   * Returns whether offset changes are dispatched to the listeners at most once per frame.
+   *
+   * @see #setCoalesceOffsetUpdates(boolean)
+   */
+  public boolean isCoalesceOffsetUpdates() {
+    return coalesceOffsetUpdates;
+  }
+
+  @Override
+  protected void onAttachedToWindow() {
+    super.onAttachedToWindow();
+    if (coalesceOffsetUpdates) {
+      getViewTreeObserver().addOnPreDrawListener(offsetUpdatePreDrawListener);
+    }
+  }
+
+  @Override
+  protected void onDetachedFromWindow() {
+    if (coalesceOffsetUpdates) {
+      getViewTreeObserver().removeOnPreDrawListener(offsetUpdatePreDrawListener);
+      flushOffsetUpdates();
+    }
+    super.onDetachedFromWindow();
+  }
+
   @Override
   protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
     super.onMeasure(widthMeasureSpec, heightMeasureSpec);
@@ -269,21 +366,100 @@ public class AppBarLayout extends LinearLayout {
     super.onLayout(changed, l, t, r, b);
     invalidateScrollRanges();
 
+    final int childCount = getChildCount();
+    if (childTops.length < childCount) {
+      childIndices = new int[childCount];
+      childTops = new int[childCount];
+      childBottoms = new int[childCount];
+    }
     haveChildWithInterpolator = false;
-    for (int i = 0, z = getChildCount(); i < z; i++) {
+    childBoundsSorted = true;
+    int laidOutCount = 0;
+    for (int i = 0; i < childCount; i++) {
       final View child = getChildAt(i);
       final LayoutParams childLp = (LayoutParams) child.getLayoutParams();
       final Interpolator interpolator = childLp.getScrollInterpolator();
 
       if (interpolator != null) {
         haveChildWithInterpolator = true;
-        break;
       }
+
+      if (child.getVisibility() == GONE) {
+        // Children which are gone keep their stale bounds, leave them out
+        continue;
+      }
+      final int top = child.getTop();
+      final int bottom = child.getBottom();
+      if (laidOutCount > 0
+          && (top < childTops[laidOutCount - 1] || bottom < childBottoms[laidOutCount - 1])) {
+        // Negative margins can make the children overlap
+        childBoundsSorted = false;
+      }
+      childIndices[laidOutCount] = i;
+      childTops[laidOutCount] = top;
+      childBottoms[laidOutCount] = bottom;
+      laidOutCount++;
     }
+    laidOutChildCount = laidOutCount;
+    childBoundsDirty = false;
 
     setLiftableState(liftOnScroll || hasCollapsibleChild());
   }
 
+  @Override
+  public void onViewAdded(View child) {
+    super.onViewAdded(child);
+    childBoundsDirty = true;
+  }
+
+  @Override
+  public void onViewRemoved(View child) {
+    super.onViewRemoved(child);
+    childBoundsDirty = true;
+  }
+
+  /**
+   * Returns the index of the first child which isn't gone and whose vertical bounds contain the
+   * given absolute offset, or -1 if there is none.
+   */
+  int getChildIndexOnAbsOffset(int absOffset) {
+    if (childBoundsDirty) {
+      // The children changed since the last layout, the bounds are out of date
+      for (int i = 0, z = getChildCount(); i < z; i++) {
+        final View child = getChildAt(i);
+        if (child.getVisibility() != GONE
+            && absOffset >= child.getTop()
+            && absOffset <= child.getBottom()) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    final int count = laidOutChildCount;
+    if (!childBoundsSorted) {
+      for (int i = 0; i < count; i++) {
+        if (absOffset >= childTops[i] && absOffset <= childBottoms[i]) {
+          return childIndices[i];
+        }
+      }
+      return -1;
+    }
+
+    // Find the first child whose bottom is at or below the offset
+    int low = 0;
+    int high = count - 1;
+    while (low <= high) {
+      final int mid = (low + high) >>> 1;
+      if (childBottoms[mid] < absOffset) {
+        low = mid + 1;
+      } else {
+        high = mid - 1;
+      }
+    }
+    return low < count && childTops[low] <= absOffset ? childIndices[low] : -1;
+  }
+
   private boolean hasCollapsibleChild() {
     for (int i = 0, z = getChildCount(); i < z; i++) {
       if (((LayoutParams) getChildAt(i).getLayoutParams()).isCollapsible()) {
@@ -496,12 +672,33 @@ public class AppBarLayout extends LinearLayout {
   }
 
   void dispatchOffsetUpdates(int offset) {
+    if (coalesceOffsetUpdates && ViewCompat.isAttachedToWindow(this)) {
+      // Keep the latest offset, the listeners are called before the next draw.
+      pendingOffset = offset;
+      offsetUpdatePending = true;
+      return;
+    }
+    dispatchOffsetUpdatesNow(offset);
+  }
+
+  private void flushOffsetUpdates() {
+    if (offsetUpdatePending) {
+      offsetUpdatePending = false;
+      dispatchOffsetUpdatesNow(pendingOffset);
+    }
+  }
+
+  private void dispatchOffsetUpdatesNow(int offset) {
+    final int offsetDelta = offset - lastDispatchedOffset;
+    lastDispatchedOffset = offset;
     // Iterate backwards through the list so that most recently added listeners
     // get the first chance to decide
     if (listeners != null) {
       for (int i = 0, z = listeners.size(); i < z; i++) {
         final BaseOnOffsetChangedListener listener = listeners.get(i);
-        if (listener != null) {
+        if (listener instanceof OnOffsetDeltaChangedListener) {
+          ((OnOffsetDeltaChangedListener) listener).onOffsetChanged(this, offset, offsetDelta);
+        } else if (listener != null) {
           listener.onOffsetChanged(this, offset);
         }
       }
@@ -882,6 +1079,10 @@ public class AppBarLayout extends LinearLayout {
     private WeakReference<View> lastNestedScrollingChildRef;
     private BaseDragCallback onDragCallback;
 
+    // The first NestedScrollingChild of the CoordinatorLayout, looked up again after each layout
+    @Nullable private WeakReference<View> firstScrollingChildRef;
+    private boolean firstScrollingChildResolved;
+
     public BaseBehavior() {}
 
     public BaseBehavior(Context context, AttributeSet attrs) {
@@ -1156,6 +1357,10 @@ public class AppBarLayout extends LinearLayout {
     public boolean onLayoutChild(CoordinatorLayout parent, T abl, int layoutDirection) {
       boolean handled = super.onLayoutChild(parent, abl, layoutDirection);
 
+      // Adding or removing views from the CoordinatorLayout requests a layout, so the first
+      // scrolling child may have changed
+      firstScrollingChildResolved = false;
+
       // The priority for actions here is (first which is true wins):
       // 1. forced pending actions
       // 2. offsets for restorations
@@ -1306,49 +1511,45 @@ public class AppBarLayout extends LinearLayout {
 
     private int interpolateOffset(T layout, final int offset) {
       final int absOffset = Math.abs(offset);
+      final View child = getAppBarChildOnOffset(layout, offset);
+      if (child == null) {
+        return offset;
+      }
 
-      for (int i = 0, z = layout.getChildCount(); i < z; i++) {
-        final View child = layout.getChildAt(i);
-        final AppBarLayout.LayoutParams childLp = (LayoutParams) child.getLayoutParams();
-        final Interpolator interpolator = childLp.getScrollInterpolator();
-
-        if (absOffset >= child.getTop() && absOffset <= child.getBottom()) {
-          if (interpolator != null) {
-            int childScrollableHeight = 0;
-            final int flags = childLp.getScrollFlags();
-            if ((flags & LayoutParams.SCROLL_FLAG_SCROLL) != 0) {
-              // We're set to scroll so add the child's height plus margin
-              childScrollableHeight += child.getHeight() + childLp.topMargin + childLp.bottomMargin;
-
-              if ((flags & LayoutParams.SCROLL_FLAG_EXIT_UNTIL_COLLAPSED) != 0) {
-                // For a collapsing scroll, we to take the collapsed height
-                // into account.
-                childScrollableHeight -= ViewCompat.getMinimumHeight(child);
-              }
-            }
+      final AppBarLayout.LayoutParams childLp = (LayoutParams) child.getLayoutParams();
+      final Interpolator interpolator = childLp.getScrollInterpolator();
+      if (interpolator != null) {
+        int childScrollableHeight = 0;
+        final int flags = childLp.getScrollFlags();
+        if ((flags & LayoutParams.SCROLL_FLAG_SCROLL) != 0) {
+          // We're set to scroll so add the child's height plus margin
+          childScrollableHeight += child.getHeight() + childLp.topMargin + childLp.bottomMargin;
 
-            if (ViewCompat.getFitsSystemWindows(child)) {
-              childScrollableHeight -= layout.getTopInset();
-            }
+          if ((flags & LayoutParams.SCROLL_FLAG_EXIT_UNTIL_COLLAPSED) != 0) {
+            // For a collapsing scroll, we to take the collapsed height
+            // into account.
+            childScrollableHeight -= ViewCompat.getMinimumHeight(child);
+          }
+        }
 
-            if (childScrollableHeight > 0) {
-              final int offsetForView = absOffset - child.getTop();
-              final int interpolatedDiff =
-                  Math.round(
-                      childScrollableHeight
-                          * interpolator.getInterpolation(
-                              offsetForView / (float) childScrollableHeight));
+        if (ViewCompat.getFitsSystemWindows(child)) {
+          childScrollableHeight -= layout.getTopInset();
+        }
 
-              return Integer.signum(offset) * (child.getTop() + interpolatedDiff);
-            }
-          }
+        if (childScrollableHeight > 0) {
+          final int offsetForView = absOffset - child.getTop();
+          final int interpolatedDiff =
+              Math.round(
+                  childScrollableHeight
+                      * interpolator.getInterpolation(
+                          offsetForView / (float) childScrollableHeight));
 
-          // If we get to here then the view on the offset isn't suitable for interpolated
-          // scrolling. So break out of the loop
-          break;
+          return Integer.signum(offset) * (child.getTop() + interpolatedDiff);
         }
       }
 
+      // If we get to here then the view on the offset isn't suitable for interpolated
+      // scrolling
       return offset;
     }
 
@@ -1419,26 +1620,33 @@ public class AppBarLayout extends LinearLayout {
       return false;
     }
 
+    @Nullable
     private static View getAppBarChildOnOffset(final AppBarLayout layout, final int offset) {
-      final int absOffset = Math.abs(offset);
-      for (int i = 0, z = layout.getChildCount(); i < z; i++) {
-        final View child = layout.getChildAt(i);
-        if (absOffset >= child.getTop() && absOffset <= child.getBottom()) {
-          return child;
-        }
-      }
-      return null;
+      final int index = layout.getChildIndexOnAbsOffset(Math.abs(offset));
+      return index >= 0 ? layout.getChildAt(index) : null;
     }
 
     @Nullable
     private View findFirstScrollingChild(CoordinatorLayout parent) {
+      if (firstScrollingChildResolved) {
+        final View child = firstScrollingChildRef != null ? firstScrollingChildRef.get() : null;
+        if (child == null || child.getParent() == parent) {
+          return child;
+        }
+        // The child has been removed and the parent hasn't been laid out since
+      }
+
+      View scrollingChild = null;
       for (int i = 0, z = parent.getChildCount(); i < z; i++) {
         final View child = parent.getChildAt(i);
         if (child instanceof NestedScrollingChild) {
-          return child;
+          scrollingChild = child;
+          break;
         }
       }
-      return null;
+      firstScrollingChildRef = scrollingChild != null ? new WeakReference<>(scrollingChild) : null;
+      firstScrollingChildResolved = true;
+      return scrollingChild;
     }
 
     @Override
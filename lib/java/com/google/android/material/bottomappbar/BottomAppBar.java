@@ -216,7 +216,7 @@ public class BottomAppBar extends Toolbar implements AttachedBehavior {
   public void setFabCradleMargin(@Dimension float cradleMargin) {
     if (cradleMargin != getFabCradleMargin()) {
       topEdgeTreatment.setFabCradleMargin(cradleMargin);
-      materialShapeDrawable.invalidateSelf();
+      materialShapeDrawable.invalidatePath();
     }
   }
 
@@ -230,7 +230,7 @@ public class BottomAppBar extends Toolbar implements AttachedBehavior {
   public void setFabCradleRoundedCornerRadius(@Dimension float roundedCornerRadius) {
     if (roundedCornerRadius != getFabCradleRoundedCornerRadius()) {
       topEdgeTreatment.setFabCradleRoundedCornerRadius(roundedCornerRadius);
-      materialShapeDrawable.invalidateSelf();
+      materialShapeDrawable.invalidatePath();
     }
   }
 
@@ -251,7 +251,7 @@ public class BottomAppBar extends Toolbar implements AttachedBehavior {
   public void setCradleVerticalOffset(@Dimension float verticalOffset) {
     if (verticalOffset != getCradleVerticalOffset()) {
       topEdgeTreatment.setCradleVerticalOffset(verticalOffset);
-      materialShapeDrawable.invalidateSelf();
+      materialShapeDrawable.invalidatePath();
     }
   }
 
@@ -290,7 +290,7 @@ public class BottomAppBar extends Toolbar implements AttachedBehavior {
   void setFabDiameter(@Px int diameter) {
     if (diameter != topEdgeTreatment.getFabDiameter()) {
       topEdgeTreatment.setFabDiameter(diameter);
-      materialShapeDrawable.invalidateSelf();
+      materialShapeDrawable.invalidatePath();
     }
   }
 
@@ -336,7 +336,7 @@ public class BottomAppBar extends Toolbar implements AttachedBehavior {
           @Override
           public void onAnimationUpdate(ValueAnimator animation) {
             topEdgeTreatment.setHorizontalOffset((Float) animation.getAnimatedValue());
-            materialShapeDrawable.invalidateSelf();
+            materialShapeDrawable.invalidatePath();
           }
         });
     animator.setDuration(ANIMATION_DURATION);
@@ -483,6 +483,7 @@ public class BottomAppBar extends Toolbar implements AttachedBehavior {
     // If we are animating the fab in, set the correct horizontal offset
     if (showCradle) {
       topEdgeTreatment.setHorizontalOffset(getFabTranslationX());
+      materialShapeDrawable.invalidatePath();
     }
 
     ValueAnimator animator =
@@ -627,6 +628,7 @@ public class BottomAppBar extends Toolbar implements AttachedBehavior {
   private void setCutoutState() {
     // Layout all elements related to the positioning of the fab.
     topEdgeTreatment.setHorizontalOffset(getFabTranslationX());
+    materialShapeDrawable.invalidatePath();
     FloatingActionButton fab = findDependentFab();
     materialShapeDrawable.setInterpolation(fabAttached && isVisibleFab() ? 1 : 0);
     if (fab != null) {
@@ -69,6 +69,16 @@ public class BottomNavigationItemView extends FrameLayout implements MenuView.It
 
   private ColorStateList iconTint;
 
+  // Values animated by BottomNavigationMenuView's lightweight selection animation.
+  private int selectionStartLeft;
+  private int selectionStartRight;
+  private int selectionEndLeft;
+  private int selectionEndRight;
+  private float selectionIconStartTop;
+  private float selectionIconOffset;
+  private final LabelAnimationValues smallLabelValues = new LabelAnimationValues();
+  private final LabelAnimationValues largeLabelValues = new LabelAnimationValues();
+
   public BottomNavigationItemView(@NonNull Context context) {
     this(context, null);
   }
@@ -341,4 +351,108 @@ public class BottomNavigationItemView extends FrameLayout implements MenuView.It
   public void setItemBackground(@Nullable Drawable background) {
     ViewCompat.setBackground(this, background);
   }
+
+  /** Records how this item currently looks, before the selection changes. */
+  void captureSelectionStartValues() {
+    selectionStartLeft = getLeft();
+    selectionStartRight = getRight();
+    selectionIconStartTop = icon.getTop() + icon.getTranslationY();
+    smallLabelValues.captureStart(smallLabel);
+    largeLabelValues.captureStart(largeLabel);
+  }
+
+  /**
+   * Records how this item looks after the selection changed and it has been laid out, and moves it
+   * back to its start values.
+   */
+  void captureSelectionEndValues() {
+    selectionEndLeft = getLeft();
+    selectionEndRight = getRight();
+    selectionIconOffset = selectionIconStartTop - icon.getTop();
+    smallLabelValues.captureEnd(smallLabel);
+    largeLabelValues.captureEnd(largeLabel);
+    setSelectionAnimationFraction(0f);
+  }
+
+  void setSelectionAnimationFraction(float fraction) {
+    if (selectionStartLeft != selectionEndLeft || selectionStartRight != selectionEndRight) {
+      // Lay the item out again so that its children are positioned for the animated width.
+      layout(
+          lerp(selectionStartLeft, selectionEndLeft, fraction),
+          getTop(),
+          lerp(selectionStartRight, selectionEndRight, fraction),
+          getBottom());
+    }
+    icon.setTranslationY(selectionIconOffset * (1f - fraction));
+    smallLabelValues.apply(smallLabel, fraction);
+    largeLabelValues.apply(largeLabel, fraction);
+  }
+
+  /**
+   * Lays this item out during the selection animation, at the given fraction between its start
+   * bounds and the new end bounds computed by the parent's layout pass.
+   */
+  void layoutForSelectionAnimation(
+      int endLeft, int top, int endRight, int bottom, float fraction) {
+    selectionEndLeft = endLeft;
+    selectionEndRight = endRight;
+    layout(
+        lerp(selectionStartLeft, endLeft, fraction),
+        top,
+        lerp(selectionStartRight, endRight, fraction),
+        bottom);
+  }
+
+  void endSelectionAnimation() {
+    setSelectionAnimationFraction(1f);
+    smallLabelValues.end(smallLabel);
+    largeLabelValues.end(largeLabel);
+  }
+
+  private static int lerp(int start, int end, float fraction) {
+    return Math.round(start + (end - start) * fraction);
+  }
+
+  /** Scale and visibility of a label animated by the lightweight selection animation. */
+  private static class LabelAnimationValues {
+    private float startScale = 1f;
+    private float endScale = 1f;
+    private float startAlpha = 1f;
+    private float endAlpha = 1f;
+    private int endVisibility = VISIBLE;
+    private boolean fading;
+
+    void captureStart(View label) {
+      startScale = label.getScaleX();
+      startAlpha = label.getVisibility() == VISIBLE ? label.getAlpha() : 0f;
+    }
+
+    void captureEnd(View label) {
+      endScale = label.getScaleX();
+      endVisibility = label.getVisibility();
+      endAlpha = endVisibility == VISIBLE ? 1f : 0f;
+      // Keep a label which is hidden at either end visible while it fades.
+      fading = endVisibility != GONE && startAlpha != endAlpha;
+      if (fading) {
+        label.setVisibility(VISIBLE);
+      }
+    }
+
+    void apply(View label, float fraction) {
+      float scale = startScale + (endScale - startScale) * fraction;
+      label.setScaleX(scale);
+      label.setScaleY(scale);
+      if (fading) {
+        label.setAlpha(startAlpha + (endAlpha - startAlpha) * fraction);
+      }
+    }
+
+    void end(View label) {
+      if (fading) {
+        fading = false;
+        label.setAlpha(1f);
+        label.setVisibility(endVisibility);
+      }
+    }
+  }
 }
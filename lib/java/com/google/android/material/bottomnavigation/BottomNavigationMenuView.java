@@ -20,6 +20,9 @@ import com.google.android.material.R;
 
 import static android.support.annotation.RestrictTo.Scope.LIBRARY_GROUP;
 
+import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
+import android.animation.ValueAnimator;
 import android.content.Context;
 import android.content.res.ColorStateList;
 import android.content.res.Resources;
@@ -53,7 +56,9 @@ public class BottomNavigationMenuView extends ViewGroup implements MenuView {
   private static final int[] CHECKED_STATE_SET = {android.R.attr.state_checked};
   private static final int[] DISABLED_STATE_SET = {-android.R.attr.state_enabled};
 
-  private final TransitionSet set;
+  @Nullable private TransitionSet set;
+  @Nullable private ValueAnimator selectionAnimator;
+  private boolean selectionAnimationPending;
   private final int inactiveItemMaxWidth;
   private final int inactiveItemMinWidth;
   private final int activeItemMaxWidth;
@@ -64,6 +69,8 @@ public class BottomNavigationMenuView extends ViewGroup implements MenuView {
 
   private boolean itemHorizontalTranslationEnabled;
   @LabelVisibilityMode private int labelVisibilityMode;
+  @SelectionAnimationMode
+  private int selectionAnimationMode = SelectionAnimationMode.SELECTION_ANIMATION_TRANSITION;
 
   private BottomNavigationItemView[] buttons;
   private int selectedItemId = 0;
@@ -100,12 +107,6 @@ public class BottomNavigationMenuView extends ViewGroup implements MenuView {
     itemHeight = res.getDimensionPixelSize(R.dimen.design_bottom_navigation_height);
     itemTextColorDefault = createDefaultColorStateList(android.R.attr.textColorSecondary);
 
-    set = new AutoTransition();
-    set.setOrdering(TransitionSet.ORDERING_TOGETHER);
-    set.setDuration(ACTIVE_ANIMATION_DURATION_MS);
-    set.setInterpolator(new FastOutSlowInInterpolator());
-    set.addTransition(new TextScale());
-
     onClickListener =
         new OnClickListener() {
           @Override
@@ -208,19 +209,35 @@ public class BottomNavigationMenuView extends ViewGroup implements MenuView {
     final int count = getChildCount();
     final int width = right - left;
     final int height = bottom - top;
+    // While the selection animates, the items are laid out between their start and end bounds.
+    final boolean animating = selectionAnimator != null && selectionAnimator.isRunning();
+    final float fraction = animating ? selectionAnimator.getAnimatedFraction() : 1f;
     int used = 0;
     for (int i = 0; i < count; i++) {
       final View child = getChildAt(i);
       if (child.getVisibility() == GONE) {
         continue;
       }
+      int childLeft;
       if (ViewCompat.getLayoutDirection(this) == ViewCompat.LAYOUT_DIRECTION_RTL) {
-        child.layout(width - used - child.getMeasuredWidth(), 0, width - used, height);
+        childLeft = width - used - child.getMeasuredWidth();
+      } else {
+        childLeft = used;
+      }
+      int childRight = childLeft + child.getMeasuredWidth();
+      if (animating && child instanceof BottomNavigationItemView) {
+        ((BottomNavigationItemView) child)
+            .layoutForSelectionAnimation(childLeft, 0, childRight, height, fraction);
       } else {
-        child.layout(used, 0, child.getMeasuredWidth() + used, height);
+        child.layout(childLeft, 0, childRight, height);
       }
       used += child.getMeasuredWidth();
     }
+
+    if (selectionAnimationPending) {
+      selectionAnimationPending = false;
+      startSelectionAnimation();
+    }
   }
 
   @Override
@@ -459,6 +476,29 @@ public class BottomNavigationMenuView extends ViewGroup implements MenuView {
     return itemHorizontalTranslationEnabled;
   }
 
+  /**
+   * Sets how the menu items animate when the selected item changes.
+   *
+   * @param selectionAnimationMode one of {@link
+   *     SelectionAnimationMode#SELECTION_ANIMATION_LIGHTWEIGHT}, {@link
+   *     SelectionAnimationMode#SELECTION_ANIMATION_TRANSITION}, or {@link
+   *     SelectionAnimationMode#SELECTION_ANIMATION_NONE}
+   * @see #getSelectionAnimationMode()
+   */
+  public void setSelectionAnimationMode(@SelectionAnimationMode int selectionAnimationMode) {
+    this.selectionAnimationMode = selectionAnimationMode;
+  }
+
+  /**
+   * Returns how the menu items animate when the selected item changes.
+   *
+   * @see #setSelectionAnimationMode(int)
+   */
+  @SelectionAnimationMode
+  public int getSelectionAnimationMode() {
+    return selectionAnimationMode;
+  }
+
   public ColorStateList createDefaultColorStateList(int baseColorThemeAttr) {
     final TypedValue value = new TypedValue();
     if (!getContext().getTheme().resolveAttribute(baseColorThemeAttr, value, true)) {
@@ -484,6 +524,7 @@ public class BottomNavigationMenuView extends ViewGroup implements MenuView {
   }
 
   public void buildMenuView() {
+    cancelSelectionAnimation();
     removeAllViews();
     if (buttons != null) {
       for (BottomNavigationItemView item : buttons) {
@@ -552,7 +593,16 @@ public class BottomNavigationMenuView extends ViewGroup implements MenuView {
     }
     if (previousSelectedId != selectedItemId) {
       // Note: this has to be called before BottomNavigationItemView#initialize().
-      TransitionManager.beginDelayedTransition(this, set);
+      switch (selectionAnimationMode) {
+        case SelectionAnimationMode.SELECTION_ANIMATION_LIGHTWEIGHT:
+          prepareSelectionAnimation();
+          break;
+        case SelectionAnimationMode.SELECTION_ANIMATION_TRANSITION:
+          TransitionManager.beginDelayedTransition(this, getSelectionTransition());
+          break;
+        default:
+          break;
+      }
     }
 
     boolean shifting = isShifting(labelVisibilityMode, menu.getVisibleItems().size());
@@ -565,6 +615,81 @@ public class BottomNavigationMenuView extends ViewGroup implements MenuView {
     }
   }
 
+  private TransitionSet getSelectionTransition() {
+    if (set == null) {
+      set = new AutoTransition();
+      set.setOrdering(TransitionSet.ORDERING_TOGETHER);
+      set.setDuration(ACTIVE_ANIMATION_DURATION_MS);
+      set.setInterpolator(new FastOutSlowInInterpolator());
+      set.addTransition(new TextScale());
+    }
+    return set;
+  }
+
+  /**
+   * Records the current state of the items, so that they can be animated from it once they have
+   * been laid out for the new selection.
+   */
+  private void prepareSelectionAnimation() {
+    if (!ViewCompat.isLaidOut(this)) {
+      return;
+    }
+    // Start from where a running animation currently is.
+    for (BottomNavigationItemView button : buttons) {
+      button.captureSelectionStartValues();
+    }
+    cancelSelectionAnimation();
+    selectionAnimationPending = true;
+    requestLayout();
+  }
+
+  private void startSelectionAnimation() {
+    if (buttons == null) {
+      return;
+    }
+    for (BottomNavigationItemView button : buttons) {
+      button.captureSelectionEndValues();
+    }
+    if (selectionAnimator == null) {
+      selectionAnimator = ValueAnimator.ofFloat(0f, 1f);
+      selectionAnimator.setDuration(ACTIVE_ANIMATION_DURATION_MS);
+      selectionAnimator.setInterpolator(new FastOutSlowInInterpolator());
+      selectionAnimator.addUpdateListener(
+          new ValueAnimator.AnimatorUpdateListener() {
+            @Override
+            public void onAnimationUpdate(ValueAnimator animation) {
+              if (buttons == null) {
+                return;
+              }
+              float fraction = animation.getAnimatedFraction();
+              for (BottomNavigationItemView button : buttons) {
+                button.setSelectionAnimationFraction(fraction);
+              }
+            }
+          });
+      selectionAnimator.addListener(
+          new AnimatorListenerAdapter() {
+            @Override
+            public void onAnimationEnd(Animator animation) {
+              if (buttons == null) {
+                return;
+              }
+              for (BottomNavigationItemView button : buttons) {
+                button.endSelectionAnimation();
+              }
+            }
+          });
+    }
+    selectionAnimator.start();
+  }
+
+  private void cancelSelectionAnimation() {
+    selectionAnimationPending = false;
+    if (selectionAnimator != null && selectionAnimator.isRunning()) {
+      selectionAnimator.cancel();
+    }
+  }
+
   private BottomNavigationItemView getNewItem() {
     BottomNavigationItemView item = itemPool.acquire();
     if (item == null) {
@@ -501,6 +501,30 @@ public class BottomNavigationView extends FrameLayout {
     return menuView.isItemHorizontalTranslationEnabled();
   }
 
+  /**
+   * Sets how the menu items animate when the selected item changes. Defaults to {@link
+   * SelectionAnimationMode#SELECTION_ANIMATION_TRANSITION}.
+   *
+   * @param selectionAnimationMode one of {@link
+   *     SelectionAnimationMode#SELECTION_ANIMATION_LIGHTWEIGHT}, {@link
+   *     SelectionAnimationMode#SELECTION_ANIMATION_TRANSITION}, or {@link
+   *     SelectionAnimationMode#SELECTION_ANIMATION_NONE}
+   * @see #getSelectionAnimationMode()
+   */
+  public void setSelectionAnimationMode(@SelectionAnimationMode int selectionAnimationMode) {
+    menuView.setSelectionAnimationMode(selectionAnimationMode);
+  }
+
+  /**
+   * Returns how the menu items animate when the selected item changes.
+   *
+   * @see #setSelectionAnimationMode(int)
+   */
+  @SelectionAnimationMode
+  public int getSelectionAnimationMode() {
+    return menuView.getSelectionAnimationMode();
+  }
+
   /** Listener for handling selection events on bottom navigation items. */
   public interface OnNavigationItemSelectedListener {
 
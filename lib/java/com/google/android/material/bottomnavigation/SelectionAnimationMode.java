@@ -0,0 +1,53 @@
+/*
+ * Copyright 2018 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.android.material.bottomnavigation;
+
+import android.support.annotation.IntDef;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/**
+ * Selection animation mode enum for bottom navigation.
+ *
+ * <p>The selection animation mode determines how the navigation items animate to their new state
+ * when another item is selected. {@link SelectionAnimationMode#SELECTION_ANIMATION_LIGHTWEIGHT}
+ * animates the items' bounds, icons and labels directly with a single animator, {@link
+ * SelectionAnimationMode#SELECTION_ANIMATION_TRANSITION} runs a transition on the whole bottom
+ * navigation, and {@link SelectionAnimationMode#SELECTION_ANIMATION_NONE} doesn't animate.
+ */
+@IntDef({
+  SelectionAnimationMode.SELECTION_ANIMATION_LIGHTWEIGHT,
+  SelectionAnimationMode.SELECTION_ANIMATION_TRANSITION,
+  SelectionAnimationMode.SELECTION_ANIMATION_NONE
+})
+@Retention(RetentionPolicy.SOURCE)
+public @interface SelectionAnimationMode {
+  /**
+   * The items' bounds, icon positions and label scales are animated from values cached when the
+   * selection changes, without going through the transition framework.
+   */
+  int SELECTION_ANIMATION_LIGHTWEIGHT = 0;
+
+  /**
+   * An {@code AutoTransition} with text scaling runs on the bottom navigation, which captures and
+   * compares the state of every item view. This is the default.
+   */
+  int SELECTION_ANIMATION_TRANSITION = 1;
+
+  /** The items jump to their new state. */
+  int SELECTION_ANIMATION_NONE = 2;
+}
@@ -119,7 +119,8 @@ public class BottomSheetBehavior<V extends View> extends CoordinatorLayout.Behav
 
   private static final float HIDE_THRESHOLD = 0.5f;
 
-  private static final float HIDE_FRICTION = 0.1f;
+  /** Multiplied by the velocity in px/s to predict how far a fling carries the sheet. */
+  private static final float FLING_FRICTION = 0.1f;
 
   private boolean fitToContents = true;
 
@@ -173,7 +174,27 @@ public class BottomSheetBehavior<V extends View> extends CoordinatorLayout.Behav
 
   boolean touchingScrollingChild;
 
-  private Map<View, Integer> importantForAccessibilityMap;
+  private final Map<View, Integer> importantForAccessibilityMap = new HashMap<>();
+
+  private boolean siblingsHiddenFromAccessibility;
+
+  private SettleRunnable settleRunnable;
+
+  private boolean slidePending;
+
+  private int pendingSlideTop;
+
+  private final Runnable dispatchPendingSlide =
+      new Runnable() {
+        @Override
+        public void run() {
+          slidePending = false;
+          View bottomSheet = viewRef != null ? viewRef.get() : null;
+          if (bottomSheet != null && callback != null) {
+            dispatchOnSlide(bottomSheet, pendingSlideTop);
+          }
+        }
+      };
 
   /** Default constructor for instantiating BottomSheetBehaviors. */
   public BottomSheetBehavior() {}
@@ -470,7 +491,7 @@ public class BottomSheetBehavior<V extends View> extends CoordinatorLayout.Behav
     }
     if (viewDragHelper.smoothSlideViewTo(child, child.getLeft(), top)) {
       setStateInternal(STATE_SETTLING);
-      ViewCompat.postOnAnimation(child, new SettleRunnable(child, targetState));
+      startSettling(child, targetState);
     } else {
       setStateInternal(targetState);
     }
@@ -666,6 +687,8 @@ public class BottomSheetBehavior<V extends View> extends CoordinatorLayout.Behav
     if (this.state == state) {
       return;
     }
+    // Report the last drag position before the state change, rather than after it
+    flushPendingSlide();
     this.state = state;
     if (state == STATE_HALF_EXPANDED || state == STATE_EXPANDED) {
       updateImportantForAccessibility(true);
@@ -703,7 +726,7 @@ public class BottomSheetBehavior<V extends View> extends CoordinatorLayout.Behav
       // It should not hide, but collapse.
       return false;
     }
-    final float newTop = child.getTop() + yvel * HIDE_FRICTION;
+    final float newTop = child.getTop() + yvel * FLING_FRICTION;
     return Math.abs(newTop - collapsedOffset) / (float) peekHeight > HIDE_THRESHOLD;
   }
 
@@ -756,7 +779,7 @@ public class BottomSheetBehavior<V extends View> extends CoordinatorLayout.Behav
     }
     if (viewDragHelper.smoothSlideViewTo(child, child.getLeft(), top)) {
       setStateInternal(STATE_SETTLING);
-      ViewCompat.postOnAnimation(child, new SettleRunnable(child, state));
+      startSettling(child, state);
     } else {
       setStateInternal(state);
     }
@@ -801,19 +824,8 @@ public class BottomSheetBehavior<V extends View> extends CoordinatorLayout.Behav
           int top;
           @State int targetState;
           if (yvel < 0) { // Moving up
-            if (fitToContents) {
-              top = fitToContentsOffset;
-              targetState = STATE_EXPANDED;
-            } else {
-              int currentTop = releasedChild.getTop();
-              if (currentTop > halfExpandedOffset) {
-                top = halfExpandedOffset;
-                targetState = STATE_HALF_EXPANDED;
-              } else {
-                top = 0;
-                targetState = STATE_EXPANDED;
-              }
-            }
+            targetState = getFlingTargetState(releasedChild.getTop(), yvel);
+            top = targetState == STATE_HALF_EXPANDED ? halfExpandedOffset : getExpandedOffset();
           } else if (hideable
               && shouldHide(releasedChild, yvel)
               && (releasedChild.getTop() > collapsedOffset || Math.abs(xvel) < Math.abs(yvel))) {
@@ -855,13 +867,12 @@ public class BottomSheetBehavior<V extends View> extends CoordinatorLayout.Behav
               }
             }
           } else {
-            top = collapsedOffset;
-            targetState = STATE_COLLAPSED;
+            targetState = getFlingTargetState(releasedChild.getTop(), yvel);
+            top = targetState == STATE_HALF_EXPANDED ? halfExpandedOffset : collapsedOffset;
           }
           if (viewDragHelper.settleCapturedViewAt(releasedChild.getLeft(), top)) {
             setStateInternal(STATE_SETTLING);
-            ViewCompat.postOnAnimation(
-                releasedChild, new SettleRunnable(releasedChild, targetState));
+            startSettling(releasedChild, targetState);
           } else {
             setStateInternal(targetState);
           }
@@ -888,39 +899,128 @@ public class BottomSheetBehavior<V extends View> extends CoordinatorLayout.Behav
         }
       };
 
+  /**
+   * Returns the state a vertical fling released at the given top settles to, when it doesn't hide
+   * the sheet. Without fitToContents, the fling stops at the half expanded state if it doesn't
+   * carry the sheet closer to the next state.
+   */
+  @VisibleForTesting
+  @State
+  int getFlingTargetState(int currentTop, float yvel) {
+    float projectedTop = currentTop + yvel * FLING_FRICTION;
+    if (yvel < 0) {
+      if (!fitToContents
+          && currentTop > halfExpandedOffset
+          && isCloserToHalfExpanded(projectedTop, getExpandedOffset())) {
+        return STATE_HALF_EXPANDED;
+      }
+      return STATE_EXPANDED;
+    }
+    if (!fitToContents
+        && currentTop < halfExpandedOffset
+        && isCloserToHalfExpanded(projectedTop, collapsedOffset)) {
+      return STATE_HALF_EXPANDED;
+    }
+    return STATE_COLLAPSED;
+  }
+
+  /**
+   * Returns whether the projected top of a fling is closer to the half expanded offset than to the
+   * given offset.
+   */
+  private boolean isCloserToHalfExpanded(float projectedTop, int otherOffset) {
+    return Math.abs(projectedTop - halfExpandedOffset) < Math.abs(projectedTop - otherOffset);
+  }
+
   void dispatchOnSlide(int top) {
     View bottomSheet = viewRef.get();
     if (bottomSheet != null && callback != null) {
-      if (top > collapsedOffset) {
-        callback.onSlide(
-            bottomSheet, (float) (collapsedOffset - top) / (parentHeight - collapsedOffset));
-      } else {
-        callback.onSlide(
-            bottomSheet, (float) (collapsedOffset - top) / (collapsedOffset - getExpandedOffset()));
+      if (state == STATE_DRAGGING && ViewCompat.isAttachedToWindow(bottomSheet)) {
+        // Drags may move the sheet several times per frame, only report the last position. The
+        // animation callbacks posted while handling input run before the frame is drawn.
+        pendingSlideTop = top;
+        if (!slidePending) {
+          slidePending = true;
+          ViewCompat.postOnAnimation(bottomSheet, dispatchPendingSlide);
+        }
+        return;
       }
+      if (slidePending) {
+        slidePending = false;
+        bottomSheet.removeCallbacks(dispatchPendingSlide);
+      }
+      dispatchOnSlide(bottomSheet, top);
     }
   }
 
+  /** Synchronously dispatches the drag position which is waiting for the next frame, if any. */
+  private void flushPendingSlide() {
+    if (!slidePending) {
+      return;
+    }
+    slidePending = false;
+    View bottomSheet = viewRef != null ? viewRef.get() : null;
+    if (bottomSheet != null) {
+      bottomSheet.removeCallbacks(dispatchPendingSlide);
+      if (callback != null) {
+        dispatchOnSlide(bottomSheet, pendingSlideTop);
+      }
+    }
+  }
+
+  private void dispatchOnSlide(View bottomSheet, int top) {
+    if (top > collapsedOffset) {
+      callback.onSlide(
+          bottomSheet, (float) (collapsedOffset - top) / (parentHeight - collapsedOffset));
+    } else {
+      callback.onSlide(
+          bottomSheet, (float) (collapsedOffset - top) / (collapsedOffset - getExpandedOffset()));
+    }
+  }
+
+  private void startSettling(View child, @State int targetState) {
+    if (settleRunnable == null) {
+      settleRunnable = new SettleRunnable();
+    }
+    settleRunnable.settle(child, targetState);
+  }
+
   @VisibleForTesting
   int getPeekHeightMin() {
     return peekHeightMin;
   }
 
+  /**
+   * Drives the {@link ViewDragHelper} until the sheet settles. A single instance is reused, so that
+   * changing the target while settling doesn't post another runnable.
+   */
   private class SettleRunnable implements Runnable {
 
-    private final View view;
+    private View view;
 
-    @State private final int targetState;
+    @State private int targetState;
 
-    SettleRunnable(View view, @State int targetState) {
-      this.view = view;
+    private boolean isPosted;
+
+    void settle(View view, @State int targetState) {
       this.targetState = targetState;
+      if (isPosted && this.view != view) {
+        this.view.removeCallbacks(this);
+        isPosted = false;
+      }
+      this.view = view;
+      if (!isPosted) {
+        ViewCompat.postOnAnimation(view, this);
+        isPosted = true;
+      }
     }
 
     @Override
     public void run() {
+      isPosted = false;
       if (viewDragHelper != null && viewDragHelper.continueSettling(true)) {
         ViewCompat.postOnAnimation(view, this);
+        isPosted = true;
       } else {
         setStateInternal(targetState);
       }
@@ -990,51 +1090,54 @@ public class BottomSheetBehavior<V extends View> extends CoordinatorLayout.Behav
   }
 
   private void updateImportantForAccessibility(boolean expanded) {
-    if (viewRef == null) {
+    if (viewRef == null || Build.VERSION.SDK_INT < Build.VERSION_CODES.JELLY_BEAN) {
       return;
     }
 
-    ViewParent viewParent = viewRef.get().getParent();
+    final View bottomSheet = viewRef.get();
+    ViewParent viewParent = bottomSheet != null ? bottomSheet.getParent() : null;
     if (!(viewParent instanceof CoordinatorLayout)) {
       return;
     }
 
     CoordinatorLayout parent = (CoordinatorLayout) viewParent;
-    final int childCount = parent.getChildCount();
-    if ((Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) && expanded) {
-      if (importantForAccessibilityMap == null) {
-        importantForAccessibilityMap = new HashMap<>(childCount);
-      } else {
+    if (expanded) {
+      if (siblingsHiddenFromAccessibility) {
         // The important for accessibility values of the child views have been saved already.
         return;
       }
-    }
+      siblingsHiddenFromAccessibility = true;
+
+      for (int i = 0, childCount = parent.getChildCount(); i < childCount; i++) {
+        final View child = parent.getChildAt(i);
+        if (child == bottomSheet) {
+          continue;
+        }
 
-    for (int i = 0; i < childCount; i++) {
-      final View child = parent.getChildAt(i);
-      if (child == viewRef.get()) {
-        continue;
+        // Only the child views which are not hidden already need to be saved and restored.
+        final int importantForAccessibility = child.getImportantForAccessibility();
+        if (importantForAccessibility
+            != ViewCompat.IMPORTANT_FOR_ACCESSIBILITY_NO_HIDE_DESCENDANTS) {
+          importantForAccessibilityMap.put(child, importantForAccessibility);
+          ViewCompat.setImportantForAccessibility(
+              child, ViewCompat.IMPORTANT_FOR_ACCESSIBILITY_NO_HIDE_DESCENDANTS);
+        }
       }
+    } else {
+      if (!siblingsHiddenFromAccessibility) {
+        return;
+      }
+      siblingsHiddenFromAccessibility = false;
 
-      if (!expanded) {
-        if (importantForAccessibilityMap != null
-            && importantForAccessibilityMap.containsKey(child)) {
+      for (Map.Entry<View, Integer> entry : importantForAccessibilityMap.entrySet()) {
+        final View child = entry.getKey();
+        if (child.getParent() == parent) {
           // Restores the original important for accessibility value of the child view.
-          ViewCompat.setImportantForAccessibility(child, importantForAccessibilityMap.get(child));
-        }
-      } else {
-        // Saves the important for accessibility value of the child view.
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
-          importantForAccessibilityMap.put(child, child.getImportantForAccessibility());
+          ViewCompat.setImportantForAccessibility(child, entry.getValue());
         }
-
-        ViewCompat.setImportantForAccessibility(
-            child, ViewCompat.IMPORTANT_FOR_ACCESSIBILITY_NO_HIDE_DESCENDANTS);
       }
-    }
-
-    if (!expanded) {
-      importantForAccessibilityMap = null;
+      // Keep the map around, the sheet is likely to be expanded again.
+      importantForAccessibilityMap.clear();
     }
   }
 }
@@ -457,6 +457,17 @@ public class Chip extends AppCompatCheckBox implements Delegate {
     }
   }
 
+  @Override
+  public void setId(int id) {
+    int oldId = getId();
+    super.setId(id);
+    ViewParent parent = getParent();
+    if (oldId != id && parent instanceof ChipGroup) {
+      // The group looks its chips up by id
+      ((ChipGroup) parent).onChipIdChanged(this, oldId);
+    }
+  }
+
   /**
    * Register a callback to be invoked when the checked state of this chip changes. This callback is
    * used for internal purpose only.
@@ -38,6 +38,7 @@ import android.graphics.PorterDuff.Mode;
 import android.graphics.PorterDuffColorFilter;
 import android.graphics.Rect;
 import android.graphics.RectF;
+import android.graphics.Typeface;
 import android.graphics.drawable.Drawable;
 import android.graphics.drawable.Drawable.Callback;
 import android.os.Build.VERSION_CODES;
@@ -60,6 +61,7 @@ import com.google.android.material.internal.ThemeEnforcement;
 import com.google.android.material.resources.MaterialResources;
 import com.google.android.material.resources.TextAppearance;
 import com.google.android.material.ripple.RippleUtils;
+import android.support.v4.content.res.ResourcesCompat.FontCallback;
 import android.support.v4.graphics.ColorUtils;
 import android.support.v4.graphics.drawable.DrawableCompat;
 import android.support.v4.graphics.drawable.TintAwareDrawable;
@@ -250,8 +252,29 @@ public class ChipDrawable extends Drawable implements TintAwareDrawable, Callbac
   private WeakReference<Delegate> delegate = new WeakReference<>(null);
   private boolean textWidthDirty = true;
   private float textWidth;
+  private boolean textDrawStateDirty = true;
+  @Nullable private CharSequence ellipsizedText;
+  private float ellipsizedTextAvailableWidth = -1f;
   private TruncateAt truncateAt;
 
+  private final FontCallback fontCallback =
+      new FontCallback() {
+        @Override
+        public void onFontRetrieved(@NonNull Typeface typeface) {
+          if (textAppearance != null) {
+            textAppearance.updateMeasureState(context, textPaint);
+            textWidthDirty = true;
+            textDrawStateDirty = true;
+            invalidateEllipsizedText();
+          }
+          invalidateSelf();
+          onSizeChange();
+        }
+
+        @Override
+        public void onFontRetrievalFailed(int reason) {}
+      };
+
   /** Returns a ChipDrawable from the given attributes. */
   public static ChipDrawable createFromAttributes(
       Context context, AttributeSet attrs, @AttrRes int defStyleAttr, @StyleRes int defStyleRes) {
@@ -620,9 +643,10 @@ public class ChipDrawable extends Drawable implements TintAwareDrawable, Callbac
       Align align = calculateTextOrigin(bounds, pointF);
       calculateTextBounds(bounds, rectF);
 
-      if (textAppearance != null) {
+      if (textAppearance != null && textDrawStateDirty) {
         textPaint.drawableState = getState();
         textAppearance.updateDrawState(context, textPaint);
+        textDrawStateDirty = false;
       }
       textPaint.setTextAlign(align);
 
@@ -635,7 +659,7 @@ public class ChipDrawable extends Drawable implements TintAwareDrawable, Callbac
 
       CharSequence finalText = unicodeWrappedText;
       if (clip && truncateAt != null) {
-        finalText = TextUtils.ellipsize(unicodeWrappedText, textPaint, rectF.width(), truncateAt);
+        finalText = getEllipsizedText(rectF.width());
       }
       canvas.drawText(finalText, 0, finalText.length(), pointF.x, pointF.y, textPaint);
       if (clip) {
@@ -644,6 +668,24 @@ public class ChipDrawable extends Drawable implements TintAwareDrawable, Callbac
     }
   }
 
+  /**
+   * Returns the text ellipsized to the given width. The result is cached until the text, its
+   * measure state or the available width change, so redraws of a truncated chip don't allocate.
+   */
+  private CharSequence getEllipsizedText(float availableWidth) {
+    if (ellipsizedText == null || ellipsizedTextAvailableWidth != availableWidth) {
+      ellipsizedText =
+          TextUtils.ellipsize(unicodeWrappedText, textPaint, availableWidth, truncateAt);
+      ellipsizedTextAvailableWidth = availableWidth;
+    }
+    return ellipsizedText;
+  }
+
+  private void invalidateEllipsizedText() {
+    ellipsizedText = null;
+    ellipsizedTextAvailableWidth = -1f;
+  }
+
   private void drawCloseIcon(@NonNull Canvas canvas, Rect bounds) {
     if (showsCloseIcon()) {
       calculateCloseIconBounds(bounds, rectF);
@@ -913,6 +955,8 @@ public class ChipDrawable extends Drawable implements TintAwareDrawable, Callbac
   private boolean onStateChange(int[] chipState, int[] closeIconState) {
     boolean invalidate = super.onStateChange(chipState);
     boolean sizeChanged = false;
+    // The text color and shadow may depend on the state, re-apply them on the next draw.
+    textDrawStateDirty = true;
 
     int newChipBackgroundColor =
         chipBackgroundColor != null
@@ -1334,6 +1378,7 @@ public class ChipDrawable extends Drawable implements TintAwareDrawable, Callbac
       this.rawText = text;
       this.unicodeWrappedText = BidiFormatter.getInstance().unicodeWrap(text);
       textWidthDirty = true;
+      invalidateEllipsizedText();
 
       invalidateSelf();
       onSizeChange();
@@ -1346,7 +1391,7 @@ public class ChipDrawable extends Drawable implements TintAwareDrawable, Callbac
   }
 
   public void setTextAppearanceResource(@StyleRes int id) {
-    setTextAppearance(new TextAppearance(context, id));
+    setTextAppearance(MaterialResources.getTextAppearance(context, id));
   }
 
   public void setTextAppearance(@Nullable TextAppearance textAppearance) {
@@ -1354,8 +1399,12 @@ public class ChipDrawable extends Drawable implements TintAwareDrawable, Callbac
       this.textAppearance = textAppearance;
 
       if (textAppearance != null) {
+        // Draw with a fallback font until the font resource is loaded.
+        textAppearance.getFontAsync(context, fontCallback);
         textAppearance.updateMeasureState(context, textPaint);
         textWidthDirty = true;
+        textDrawStateDirty = true;
+        invalidateEllipsizedText();
       }
 
       onStateChange(getState());
@@ -1368,7 +1417,10 @@ public class ChipDrawable extends Drawable implements TintAwareDrawable, Callbac
   }
 
   public void setEllipsize(@Nullable TruncateAt truncateAt) {
-    this.truncateAt = truncateAt;
+    if (this.truncateAt != truncateAt) {
+      this.truncateAt = truncateAt;
+      invalidateEllipsizedText();
+    }
   }
 
   public boolean isChipIconEnabled() {
@@ -37,9 +37,15 @@ import com.google.android.material.internal.FlexWrap;
 import com.google.android.material.internal.FlexboxLayout;
 import com.google.android.material.internal.ThemeEnforcement;
 import android.util.AttributeSet;
+import android.util.SparseArray;
+import android.util.SparseBooleanArray;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.CompoundButton;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * A ChipGroup is used to hold multiple {@link Chip}s. By default, the chips are reflowed across
@@ -68,6 +74,22 @@ public class ChipGroup extends FlexboxLayout {
     public void onCheckedChanged(ChipGroup group, @IdRes int checkedId);
   }
 
+  /**
+   * Interface definition for a callback to be invoked when the set of checked chips changed in this
+   * group. Unlike {@link OnCheckedChangeListener}, it is also invoked outside of {@link
+   * #isSingleSelection() single selection mode}, and only once for operations which check or
+   * uncheck several chips.
+   */
+  public interface OnCheckedStateChangeListener {
+    /**
+     * Called when the set of checked chips has changed.
+     *
+     * @param group the group in which the checked chips have changed
+     * @param checkedIds the unique identifiers of the checked chips, in ascending order
+     */
+    void onCheckedChanged(ChipGroup group, @NonNull List<Integer> checkedIds);
+  }
+
   /**
    * {@link FlexboxLayout.LayoutParams for {@link ChipGroup}.
    */
@@ -104,6 +126,7 @@ public class ChipGroup extends FlexboxLayout {
   private boolean singleSelection;
 
   @Nullable private OnCheckedChangeListener onCheckedChangeListener;
+  @Nullable private OnCheckedStateChangeListener onCheckedStateChangeListener;
 
   private final CheckedStateTracker checkedStateTracker = new CheckedStateTracker();
   private PassThroughHierarchyChangeListener passThroughListener =
@@ -112,6 +135,13 @@ public class ChipGroup extends FlexboxLayout {
   @IdRes private int checkedId = View.NO_ID;
   private boolean protectFromCheckedChange = false;
 
+  // The chips of this group by id, so that checking a chip doesn't search the hierarchy
+  private final SparseArray<Chip> chipsById = new SparseArray<>();
+  private final SparseBooleanArray checkedIds = new SparseBooleanArray();
+  @Nullable private List<Integer> checkedIdsSnapshot;
+  private int checkedStateBatchDepth;
+  private boolean checkedStateChanged;
+
   public ChipGroup(Context context) {
     this(context, null);
   }
@@ -192,6 +222,7 @@ public class ChipGroup extends FlexboxLayout {
 
   @Override
   public void addView(View child, int index, ViewGroup.LayoutParams params) {
+    beginCheckedStateBatch();
     if (child instanceof Chip) {
       final Chip chip = (Chip) child;
       if (chip.isChecked()) {
@@ -203,6 +234,7 @@ public class ChipGroup extends FlexboxLayout {
     }
 
     super.addView(child, index, params);
+    endCheckedStateBatch();
   }
 
   @Override
@@ -262,6 +294,7 @@ public class ChipGroup extends FlexboxLayout {
       return;
     }
 
+    beginCheckedStateBatch();
     if (checkedId != View.NO_ID && singleSelection) {
       setCheckedStateForView(checkedId, false);
     }
@@ -271,7 +304,110 @@ public class ChipGroup extends FlexboxLayout {
     }
 
     setCheckedId(id);
+    endCheckedStateBatch();
   }
+
+  /**
+   * Checks all the chips in this group. The {@link OnCheckedStateChangeListener} is only invoked
+   * once.
+   *
+   * @throws UnsupportedOperationException in {@link #isSingleSelection() single selection mode}
+   * @see #clearAll()
+   */
+  public void checkAll() {
+    if (singleSelection) {
+      throw new UnsupportedOperationException(
+          "Checking all chips not allowed. ChipGroup is in single selection mode.");
+    }
+    beginCheckedStateBatch();
+    for (int i = 0; i < getChildCount(); i++) {
+      View child = getChildAt(i);
+      if (child instanceof Chip) {
+        setCheckedStateForView((Chip) child, true);
+      }
+    }
+    endCheckedStateBatch();
+  }
+
+  /**
+   * Unchecks all the chips in this group, like {@link #clearCheck()}. Only the chips which are
+   * checked are updated, and the {@link OnCheckedStateChangeListener} is only invoked once.
+   *
+   * @see #checkAll()
+   */
+  public void clearAll() {
+    beginCheckedStateBatch();
+    // Unchecking a chip removes it from the checked ids, so iterate backwards
+    for (int i = checkedIds.size() - 1; i >= 0; i--) {
+      setCheckedStateForView(checkedIds.keyAt(i), false);
+    }
+    setCheckedId(View.NO_ID);
+    endCheckedStateBatch();
+  }
+
+  /**
+   * Checks exactly the chips whose identifiers are passed in parameter, and unchecks all others.
+   * The {@link OnCheckedStateChangeListener} is only invoked once.
+   *
+   * @param ids the unique ids of the chips to check in this group
+   * @throws IllegalArgumentException if more than one id is passed in {@link #isSingleSelection()
+   *     single selection mode}
+   * @see #getCheckedChipIds()
+   */
+  public void setChecked(@NonNull Collection<Integer> ids) {
+    if (singleSelection) {
+      if (ids.size() > 1) {
+        throw new IllegalArgumentException(
+            "Only one chip can be checked in single selection mode: " + ids);
+      }
+      if (ids.isEmpty()) {
+        clearAll();
+      } else {
+        check(ids.iterator().next());
+      }
+      return;
+    }
+
+    final SparseBooleanArray newCheckedIds = new SparseBooleanArray(ids.size());
+    for (Integer id : ids) {
+      newCheckedIds.put(id, true);
+    }
+
+    beginCheckedStateBatch();
+    for (int i = checkedIds.size() - 1; i >= 0; i--) {
+      final int id = checkedIds.keyAt(i);
+      if (!newCheckedIds.get(id)) {
+        setCheckedStateForView(id, false);
+      }
+    }
+    for (int i = 0; i < newCheckedIds.size(); i++) {
+      final int id = newCheckedIds.keyAt(i);
+      if (!checkedIds.get(id)) {
+        setCheckedStateForView(id, true);
+      }
+    }
+    endCheckedStateBatch();
+  }
+
+  /**
+   * Returns the identifiers of the checked chips in this group, in ascending order. The returned
+   * list can't be modified, and is only rebuilt when the checked chips change.
+   *
+   * @return the unique ids of the checked chips in this group
+   * @see #setChecked(Collection)
+   */
+  @NonNull
+  public List<Integer> getCheckedChipIds() {
+    if (checkedIdsSnapshot == null) {
+      final List<Integer> ids = new ArrayList<>(checkedIds.size());
+      for (int i = 0; i < checkedIds.size(); i++) {
+        ids.add(checkedIds.keyAt(i));
+      }
+      checkedIdsSnapshot = Collections.unmodifiableList(ids);
+    }
+    return checkedIdsSnapshot;
+  }
+
   /**
    * When in {@link #isSingleSelection() single selection mode}, returns the identifier of the
    * selected chip in this group. Upon empty selection, the returned value is {@link View#NO_ID}. If
@@ -295,16 +431,7 @@ public class ChipGroup extends FlexboxLayout {
    * @see #getCheckedChipId()
    */
   public void clearCheck() {
-    protectFromCheckedChange = true;
-    for (int i = 0; i < getChildCount(); i++) {
-      View child = getChildAt(i);
-      if (child instanceof Chip) {
-        ((Chip) child).setChecked(false);
-      }
-    }
-    protectFromCheckedChange = false;
-
-    setCheckedId(View.NO_ID);
+    clearAll();
   }
 
   /**
@@ -317,6 +444,15 @@ public class ChipGroup extends FlexboxLayout {
     onCheckedChangeListener = listener;
   }
 
+  /**
+   * Register a callback to be invoked when the set of checked chips changes in this group.
+   *
+   * @param listener the callback to call on checked state change
+   */
+  public void setOnCheckedStateChangeListener(@Nullable OnCheckedStateChangeListener listener) {
+    onCheckedStateChangeListener = listener;
+  }
+
   private void setCheckedId(int checkedId) {
     this.checkedId = checkedId;
 
@@ -326,11 +462,72 @@ public class ChipGroup extends FlexboxLayout {
   }
 
   private void setCheckedStateForView(@IdRes int viewId, boolean checked) {
-    View checkedView = findViewById(viewId);
-    if (checkedView instanceof Chip) {
-      protectFromCheckedChange = true;
-      ((Chip) checkedView).setChecked(checked);
-      protectFromCheckedChange = false;
+    Chip chip = chipsById.get(viewId);
+    if (chip != null) {
+      setCheckedStateForView(chip, checked);
+    }
+    if (!checked) {
+      // In case the chip is gone, or its state was already out of sync
+      updateCheckedIds(viewId, false);
+    }
+  }
+
+  private void setCheckedStateForView(Chip chip, boolean checked) {
+    protectFromCheckedChange = true;
+    chip.setChecked(checked);
+    protectFromCheckedChange = false;
+  }
+
+  /**
+   * Re-keys a chip of this group whose id changed, so that it can still be looked up by id. The set
+   * of checked chips doesn't change, so the {@link OnCheckedStateChangeListener} isn't invoked.
+   */
+  void onChipIdChanged(Chip chip, @IdRes int oldId) {
+    if (chipsById.get(oldId) != chip) {
+      // Not tracked yet, or the id was generated when the chip was added
+      return;
+    }
+    final int newId = chip.getId();
+    chipsById.remove(oldId);
+    chipsById.put(newId, chip);
+    if (checkedIds.get(oldId)) {
+      checkedIds.delete(oldId);
+      checkedIds.put(newId, true);
+      checkedIdsSnapshot = null;
+    }
+    if (checkedId == oldId) {
+      checkedId = newId;
+    }
+  }
+
+  private void updateCheckedIds(@IdRes int id, boolean checked) {
+    if (checkedIds.get(id) == checked) {
+      return;
+    }
+    if (checked) {
+      checkedIds.put(id, true);
+    } else {
+      checkedIds.delete(id);
+    }
+    checkedIdsSnapshot = null;
+    checkedStateChanged = true;
+  }
+
+  /**
+   * Defers the {@link OnCheckedStateChangeListener} until the matching call to {@link
+   * #endCheckedStateBatch()}, so that it's invoked once for all the chips checked in between.
+   */
+  private void beginCheckedStateBatch() {
+    checkedStateBatchDepth++;
+  }
+
+  private void endCheckedStateBatch() {
+    checkedStateBatchDepth--;
+    if (checkedStateBatchDepth == 0 && checkedStateChanged) {
+      checkedStateChanged = false;
+      if (onCheckedStateChangeListener != null) {
+        onCheckedStateChangeListener.onCheckedChanged(this, getCheckedChipIds());
+      }
     }
   }
 
@@ -466,23 +663,25 @@ public class ChipGroup extends FlexboxLayout {
   private class CheckedStateTracker implements CompoundButton.OnCheckedChangeListener {
     @Override
     public void onCheckedChanged(CompoundButton buttonView, boolean isChecked) {
-      // prevents from infinite recursion
-      if (protectFromCheckedChange) {
-        return;
-      }
-
       int id = buttonView.getId();
 
-      if (isChecked) {
-        if (checkedId != View.NO_ID && checkedId != id && singleSelection) {
-          setCheckedStateForView(checkedId, false);
-        }
-        setCheckedId(id);
-      } else {
-        if (checkedId == id) {
-          setCheckedId(View.NO_ID);
+      beginCheckedStateBatch();
+      updateCheckedIds(id, isChecked);
+
+      // prevents from infinite recursion
+      if (!protectFromCheckedChange) {
+        if (isChecked) {
+          if (checkedId != View.NO_ID && checkedId != id && singleSelection) {
+            setCheckedStateForView(checkedId, false);
+          }
+          setCheckedId(id);
+        } else {
+          if (checkedId == id) {
+            setCheckedId(View.NO_ID);
+          }
         }
       }
+      endCheckedStateBatch();
     }
   }
 
@@ -507,7 +706,13 @@ public class ChipGroup extends FlexboxLayout {
           }
           child.setId(id);
         }
-        ((Chip) child).setOnCheckedChangeListenerInternal(checkedStateTracker);
+        final Chip chip = (Chip) child;
+        chip.setOnCheckedChangeListenerInternal(checkedStateTracker);
+        chipsById.put(id, chip);
+
+        beginCheckedStateBatch();
+        updateCheckedIds(id, chip.isChecked());
+        endCheckedStateBatch();
       }
 
       if (onHierarchyChangeListener != null) {
@@ -518,7 +723,15 @@ public class ChipGroup extends FlexboxLayout {
     @Override
     public void onChildViewRemoved(View parent, View child) {
       if (parent == ChipGroup.this && child instanceof Chip) {
+        final int id = child.getId();
         ((Chip) child).setOnCheckedChangeListenerInternal(null);
+        if (chipsById.get(id) == child) {
+          chipsById.remove(id);
+        }
+
+        beginCheckedStateBatch();
+        updateCheckedIds(id, false);
+        endCheckedStateBatch();
       }
 
       if (onHierarchyChangeListener != null) {
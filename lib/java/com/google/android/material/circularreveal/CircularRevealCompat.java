@@ -22,6 +22,7 @@ import android.animation.AnimatorSet;
 import android.animation.ObjectAnimator;
 import android.os.Build.VERSION;
 import android.os.Build.VERSION_CODES;
+import com.google.android.material.circularreveal.CircularRevealHelper.Strategy;
 import com.google.android.material.circularreveal.CircularRevealWidget.CircularRevealEvaluator;
 import com.google.android.material.circularreveal.CircularRevealWidget.CircularRevealProperty;
 import com.google.android.material.circularreveal.CircularRevealWidget.RevealInfo;
@@ -43,8 +44,9 @@ public final class CircularRevealCompat {
    * animation.
    *
    * <p>This is meant to be used as a drop-in replacement for {@link
-   * ViewAnimationUtils#createCircularReveal(View, int, int, float, float)}. In pre-L APIs, a
-   * backwards compatible version of the Animator will be returned.
+   * ViewAnimationUtils#createCircularReveal(View, int, int, float, float)}. In pre-L APIs, or if
+   * the view doesn't use the {@link CircularRevealHelper#REVEAL_ANIMATOR} strategy, a backwards
+   * compatible version of the Animator will be returned.
    *
    * <p>You must also call {@link
    * CircularRevealCompat#createCircularRevealListener(CircularRevealWidget)} and add the returned
@@ -58,7 +60,8 @@ public final class CircularRevealCompat {
             CircularRevealProperty.CIRCULAR_REVEAL,
             CircularRevealEvaluator.CIRCULAR_REVEAL,
             new RevealInfo(centerX, centerY, endRadius));
-    if (VERSION.SDK_INT >= VERSION_CODES.LOLLIPOP) {
+    if (VERSION.SDK_INT >= VERSION_CODES.LOLLIPOP
+        && getCircularRevealStrategy(view) == CircularRevealHelper.REVEAL_ANIMATOR) {
       // Ideally, the start radius would be inferred from the RevealInfo at the time of animation
       // start (usually on the next event loop iteration). So we approximate.
       RevealInfo revealInfo = view.getRevealInfo();
@@ -82,8 +85,9 @@ public final class CircularRevealCompat {
    * Returns an Animator to animate a clipping circle.
    *
    * <p>This is meant to be used as a drop-in replacement for {@link
-   * ViewAnimationUtils#createCircularReveal(View, int, int, float, float)}. In pre-L APIs, a
-   * backwards compatible version of the Animator will be returned.
+   * ViewAnimationUtils#createCircularReveal(View, int, int, float, float)}. In pre-L APIs, or if
+   * the view doesn't use the {@link CircularRevealHelper#REVEAL_ANIMATOR} strategy, a backwards
+   * compatible version of the Animator will be returned.
    *
    * <p>You must also call {@link
    * CircularRevealCompat#createCircularRevealListener(CircularRevealWidget)} and add the returned
@@ -98,7 +102,8 @@ public final class CircularRevealCompat {
             CircularRevealEvaluator.CIRCULAR_REVEAL,
             new RevealInfo(centerX, centerY, startRadius),
             new RevealInfo(centerX, centerY, endRadius));
-    if (VERSION.SDK_INT >= VERSION_CODES.LOLLIPOP) {
+    if (VERSION.SDK_INT >= VERSION_CODES.LOLLIPOP
+        && getCircularRevealStrategy(view) == CircularRevealHelper.REVEAL_ANIMATOR) {
       Animator circularRevealAnimator =
           ViewAnimationUtils.createCircularReveal(
               (View) view, (int) centerX, (int) centerY, startRadius, endRadius);
@@ -110,6 +115,17 @@ public final class CircularRevealCompat {
     }
   }
 
+  /**
+   * Returns the strategy the view uses to create the circular reveal effect: the one set on a
+   * {@link CircularRevealStrategyWidget}, or {@link CircularRevealHelper#STRATEGY} otherwise.
+   */
+  @Strategy
+  public static int getCircularRevealStrategy(CircularRevealWidget view) {
+    return view instanceof CircularRevealStrategyWidget
+        ? ((CircularRevealStrategyWidget) view).getCircularRevealStrategy()
+        : CircularRevealHelper.STRATEGY;
+  }
+
   /**
    * Creates an AnimatorListener to be applied to either the Animator returned from {@link
    * #createCircularReveal} or preferably to the overall AnimatorSet.
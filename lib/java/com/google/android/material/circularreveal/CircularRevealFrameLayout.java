@@ -21,11 +21,12 @@ import android.graphics.Canvas;
 import android.graphics.drawable.Drawable;
 import android.support.annotation.ColorInt;
 import android.support.annotation.Nullable;
+import com.google.android.material.circularreveal.CircularRevealHelper.Strategy;
 import android.util.AttributeSet;
 import android.widget.FrameLayout;
 
 /** A CircularRevealWidget wrapper for {@link FrameLayout}. */
-public class CircularRevealFrameLayout extends FrameLayout implements CircularRevealWidget {
+public class CircularRevealFrameLayout extends FrameLayout implements CircularRevealStrategyWidget {
 
   private final CircularRevealHelper helper;
 
@@ -80,6 +81,17 @@ public class CircularRevealFrameLayout extends FrameLayout implements CircularRe
     helper.setCircularRevealOverlayDrawable(drawable);
   }
 
+  @Strategy
+  @Override
+  public int getCircularRevealStrategy() {
+    return helper.getStrategy();
+  }
+
+  @Override
+  public void setCircularRevealStrategy(@Strategy int strategy) {
+    helper.setStrategy(strategy);
+  }
+
   @SuppressLint("MissingSuperCall")
   @Override
   public void draw(Canvas canvas) {
@@ -20,11 +20,12 @@ import android.graphics.Canvas;
 import android.graphics.drawable.Drawable;
 import android.support.annotation.ColorInt;
 import android.support.annotation.Nullable;
+import com.google.android.material.circularreveal.CircularRevealHelper.Strategy;
 import android.util.AttributeSet;
 import android.widget.GridLayout;
 
 /** A CircularRevealWidget wrapper for {@link GridLayout}. */
-public class CircularRevealGridLayout extends GridLayout implements CircularRevealWidget {
+public class CircularRevealGridLayout extends GridLayout implements CircularRevealStrategyWidget {
 
   private final CircularRevealHelper helper;
 
@@ -79,6 +80,17 @@ public class CircularRevealGridLayout extends GridLayout implements CircularReve
     helper.setCircularRevealOverlayDrawable(drawable);
   }
 
+  @Strategy
+  @Override
+  public int getCircularRevealStrategy() {
+    return helper.getStrategy();
+  }
+
+  @Override
+  public void setCircularRevealStrategy(@Strategy int strategy) {
+    helper.setStrategy(strategy);
+  }
+
   @Override
   public void draw(Canvas canvas) {
     if (helper != null) {
@@ -91,12 +91,18 @@ public class CircularRevealHelper {
    * the circular reveal effect. This is only supported on {@link VERSION_CODES#LOLLIPOP} and above.
    */
   public static final int REVEAL_ANIMATOR = 2;
+  /**
+   * Specify that this view should pick one of the other strategies when a circular reveal starts,
+   * based on whether the view is hardware accelerated and its layer type.
+   */
+  public static final int AUTO = 3;
 
   /** Which strategy this view should use to create the circular reveal effect. */
-  @IntDef({CLIP_PATH, BITMAP_SHADER, REVEAL_ANIMATOR})
+  @IntDef({CLIP_PATH, BITMAP_SHADER, REVEAL_ANIMATOR, AUTO})
   @Retention(RetentionPolicy.SOURCE)
   public @interface Strategy {}
 
+  /** The default strategy for this API level. */
   @Strategy public static final int STRATEGY;
 
   private final Delegate delegate;
@@ -122,6 +128,18 @@ public class CircularRevealHelper {
   private boolean buildingCircularRevealCache;
   private boolean hasCircularRevealCache;
 
+  @Strategy private int strategy = STRATEGY;
+  /** The strategy used by the current circular reveal, or -1 if it has to be resolved again. */
+  private int resolvedStrategy = -1;
+
+  /**
+   * The snapshot drawn by the {@link #BITMAP_SHADER} strategy. It is reused by the following
+   * circular reveals while the view keeps its size, and released when the view is detached.
+   */
+  @Nullable private Bitmap cacheBitmap;
+  @Nullable private Canvas cacheCanvas;
+  @Nullable private BitmapShader cacheShader;
+
   static {
     if (VERSION.SDK_INT >= VERSION_CODES.LOLLIPOP) {
       STRATEGY = REVEAL_ANIMATOR;
@@ -146,24 +164,100 @@ public class CircularRevealHelper {
       debugPaint = new Paint();
       debugPaint.setStyle(Style.STROKE);
     }
+
+    view.addOnAttachStateChangeListener(
+        new View.OnAttachStateChangeListener() {
+          @Override
+          public void onViewAttachedToWindow(View v) {}
+
+          @Override
+          public void onViewDetachedFromWindow(View v) {
+            if (!hasCircularRevealCache) {
+              releaseCircularRevealCache();
+            }
+          }
+        });
+  }
+
+  /**
+   * Sets the strategy used to create the circular reveal effect. Strategies which aren't supported
+   * on this API level fall back to {@link #STRATEGY}, and {@link #CLIP_PATH} falls back to {@link
+   * #BITMAP_SHADER} when the view is hardware accelerated below {@link
+   * VERSION_CODES#JELLY_BEAN_MR2}. The change takes effect for the next circular reveal.
+   */
+  public void setStrategy(@Strategy int strategy) {
+    if (strategy == REVEAL_ANIMATOR && VERSION.SDK_INT < VERSION_CODES.LOLLIPOP) {
+      strategy = STRATEGY;
+    }
+    this.strategy = strategy;
+    if (!hasCircularRevealCache) {
+      resolvedStrategy = -1;
+    }
+  }
+
+  /**
+   * Returns the strategy used to create the circular reveal effect. In {@link #AUTO} mode, this
+   * returns the strategy picked for the current circular reveal, which is kept until {@link
+   * #destroyCircularRevealCache()} is called.
+   */
+  @Strategy
+  public int getStrategy() {
+    if (resolvedStrategy == -1) {
+      if (strategy == AUTO) {
+        resolvedStrategy = pickAutoStrategy();
+      } else if (strategy == CLIP_PATH && !isClipPathSupported()) {
+        resolvedStrategy = BITMAP_SHADER;
+      } else {
+        resolvedStrategy = strategy;
+      }
+    }
+    return resolvedStrategy;
+  }
+
+  @Strategy
+  private int pickAutoStrategy() {
+    if (!isHardwareAccelerated()) {
+      // Software rendering supports clipPath() on all API levels.
+      return CLIP_PATH;
+    }
+    if (VERSION.SDK_INT >= VERSION_CODES.LOLLIPOP) {
+      return REVEAL_ANIMATOR;
+    }
+    return isClipPathSupported() ? CLIP_PATH : BITMAP_SHADER;
+  }
+
+  /** Returns whether clipPath() can be used, it isn't hardware accelerated before JB MR2. */
+  private boolean isClipPathSupported() {
+    return VERSION.SDK_INT >= VERSION_CODES.JELLY_BEAN_MR2 || !isHardwareAccelerated();
+  }
+
+  private boolean isHardwareAccelerated() {
+    return view.isHardwareAccelerated() && view.getLayerType() != View.LAYER_TYPE_SOFTWARE;
   }
 
   public void buildCircularRevealCache() {
-    if (STRATEGY == BITMAP_SHADER) {
+    if (getStrategy() == BITMAP_SHADER) {
       buildingCircularRevealCache = true;
       hasCircularRevealCache = false;
 
-      view.buildDrawingCache();
-      Bitmap bitmap = view.getDrawingCache();
-
-      if (bitmap == null && view.getWidth() != 0 && view.getHeight() != 0) {
-        bitmap = Bitmap.createBitmap(view.getWidth(), view.getHeight(), Config.ARGB_8888);
-        Canvas canvas = new Canvas(bitmap);
-        view.draw(canvas);
-      }
-
-      if (bitmap != null) {
-        revealPaint.setShader(new BitmapShader(bitmap, TileMode.CLAMP, TileMode.CLAMP));
+      int width = view.getWidth();
+      int height = view.getHeight();
+      if (width != 0 && height != 0) {
+        if (cacheBitmap != null
+            && (cacheBitmap.getWidth() != width || cacheBitmap.getHeight() != height)) {
+          releaseCircularRevealCache();
+        }
+        if (cacheBitmap == null) {
+          cacheBitmap = Bitmap.createBitmap(width, height, Config.ARGB_8888);
+          cacheShader = new BitmapShader(cacheBitmap, TileMode.CLAMP, TileMode.CLAMP);
+        }
+        if (cacheCanvas == null) {
+          cacheCanvas = new Canvas();
+        }
+        cacheBitmap.eraseColor(Color.TRANSPARENT);
+        cacheCanvas.setBitmap(cacheBitmap);
+        view.draw(cacheCanvas);
+        revealPaint.setShader(cacheShader);
       }
 
       buildingCircularRevealCache = false;
@@ -172,12 +266,22 @@ public class CircularRevealHelper {
   }
 
   public void destroyCircularRevealCache() {
-    if (STRATEGY == BITMAP_SHADER) {
+    if (getStrategy() == BITMAP_SHADER) {
       hasCircularRevealCache = false;
-      view.destroyDrawingCache();
       revealPaint.setShader(null);
+      // The snapshot is kept for the next circular reveal, until the view is detached.
       view.invalidate();
     }
+    resolvedStrategy = -1;
+  }
+
+  /** Releases the snapshot kept for the {@link #BITMAP_SHADER} strategy. */
+  private void releaseCircularRevealCache() {
+    cacheBitmap = null;
+    cacheShader = null;
+    if (cacheCanvas != null) {
+      cacheCanvas.setBitmap(null);
+    }
   }
 
   /**
@@ -238,12 +342,14 @@ public class CircularRevealHelper {
   }
 
   private void invalidateRevealInfo() {
-    if (STRATEGY == CLIP_PATH) {
-      revealPath.rewind();
-      if (revealInfo != null) {
-        revealPath.addCircle(
-            revealInfo.centerX, revealInfo.centerY, revealInfo.radius, Direction.CW);
+    revealPath.rewind();
+    if (revealInfo == null) {
+      if (!hasCircularRevealCache) {
+        // The circular reveal is over, pick the strategy again for the next one.
+        resolvedStrategy = -1;
       }
+    } else if (getStrategy() == CLIP_PATH) {
+      revealPath.addCircle(revealInfo.centerX, revealInfo.centerY, revealInfo.radius, Direction.CW);
     }
 
     view.invalidate();
@@ -261,7 +367,7 @@ public class CircularRevealHelper {
     }
 
     if (shouldDrawCircularReveal()) {
-      switch (STRATEGY) {
+      switch (getStrategy()) {
         case REVEAL_ANIMATOR:
           delegate.actualDraw(canvas);
           if (shouldDrawScrim()) {
@@ -287,7 +393,7 @@ public class CircularRevealHelper {
           }
           break;
         default:
-          throw new IllegalStateException("Unsupported strategy " + STRATEGY);
+          throw new IllegalStateException("Unsupported strategy " + getStrategy());
       }
     } else {
       delegate.actualDraw(canvas);
@@ -317,11 +423,11 @@ public class CircularRevealHelper {
 
   private boolean shouldDrawCircularReveal() {
     boolean invalidRevealInfo = revealInfo == null || revealInfo.isInvalid();
-    if (STRATEGY == BITMAP_SHADER) {
-      return !invalidRevealInfo && hasCircularRevealCache;
-    } else {
-      return !invalidRevealInfo;
+    if (invalidRevealInfo) {
+      // Don't resolve the strategy until a circular reveal actually starts.
+      return false;
     }
+    return getStrategy() != BITMAP_SHADER || hasCircularRevealCache;
   }
 
   private boolean shouldDrawScrim() {
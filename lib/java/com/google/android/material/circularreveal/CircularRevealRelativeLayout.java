@@ -20,11 +20,13 @@ import android.graphics.Canvas;
 import android.graphics.drawable.Drawable;
 import android.support.annotation.ColorInt;
 import android.support.annotation.Nullable;
+import com.google.android.material.circularreveal.CircularRevealHelper.Strategy;
 import android.util.AttributeSet;
 import android.widget.RelativeLayout;
 
 /** A CircularRevealWidget wrapper for {@link RelativeLayout}. */
-public class CircularRevealRelativeLayout extends RelativeLayout implements CircularRevealWidget {
+public class CircularRevealRelativeLayout extends RelativeLayout
+    implements CircularRevealStrategyWidget {
 
   private final CircularRevealHelper helper;
 
@@ -79,6 +81,17 @@ public class CircularRevealRelativeLayout extends RelativeLayout implements Circ
     helper.setCircularRevealOverlayDrawable(drawable);
   }
 
+  @Strategy
+  @Override
+  public int getCircularRevealStrategy() {
+    return helper.getStrategy();
+  }
+
+  @Override
+  public void setCircularRevealStrategy(@Strategy int strategy) {
+    helper.setStrategy(strategy);
+  }
+
   @Override
   public void draw(Canvas canvas) {
     if (helper != null) {
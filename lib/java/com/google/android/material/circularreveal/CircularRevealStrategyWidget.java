@@ -0,0 +1,45 @@
+/*
+ * Copyright 2018 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.circularreveal;
+
+import com.google.android.material.circularreveal.CircularRevealHelper.Strategy;
+
+/**
+ * A {@link CircularRevealWidget} whose circular reveal strategy can be chosen per instance.
+ *
+ * <p>Widgets which only implement {@link CircularRevealWidget} use {@link
+ * CircularRevealHelper#STRATEGY}.
+ */
+public interface CircularRevealStrategyWidget extends CircularRevealWidget {
+
+  /**
+   * Returns the strategy used to create the circular reveal effect. This never returns {@link
+   * CircularRevealHelper#AUTO}; in that mode the strategy picked for the current circular reveal is
+   * returned instead.
+   *
+   * <p>Implementations should call the corresponding method in {@link CircularRevealHelper}.
+   */
+  @Strategy
+  int getCircularRevealStrategy();
+
+  /**
+   * Sets the strategy used to create the circular reveal effect, overriding {@link
+   * CircularRevealHelper#STRATEGY}. Takes effect for the next circular reveal.
+   *
+   * <p>Implementations should call the corresponding method in {@link CircularRevealHelper}.
+   */
+  void setCircularRevealStrategy(@Strategy int strategy);
+}
@@ -21,14 +21,15 @@ import android.graphics.drawable.Drawable;
 import android.support.annotation.ColorInt;
 import android.support.annotation.Nullable;
 import com.google.android.material.circularreveal.CircularRevealHelper;
-import com.google.android.material.circularreveal.CircularRevealWidget;
+import com.google.android.material.circularreveal.CircularRevealHelper.Strategy;
+import com.google.android.material.circularreveal.CircularRevealStrategyWidget;
 import android.support.v7.widget.CardView;
 import android.util.AttributeSet;
 
 /**
  * A CircularRevealWidget wrapper for {@link CardView}.
  */
-public class CircularRevealCardView extends CardView implements CircularRevealWidget {
+public class CircularRevealCardView extends CardView implements CircularRevealStrategyWidget {
 
   private final CircularRevealHelper helper;
 
@@ -83,6 +84,17 @@ public class CircularRevealCardView extends CardView implements CircularRevealWi
     helper.setCircularRevealOverlayDrawable(drawable);
   }
 
+  @Strategy
+  @Override
+  public int getCircularRevealStrategy() {
+    return helper.getStrategy();
+  }
+
+  @Override
+  public void setCircularRevealStrategy(@Strategy int strategy) {
+    helper.setStrategy(strategy);
+  }
+
   @Override
   public void draw(Canvas canvas) {
     if (helper != null) {
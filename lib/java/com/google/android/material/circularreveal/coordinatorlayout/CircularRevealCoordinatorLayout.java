@@ -21,13 +21,14 @@ import android.graphics.drawable.Drawable;
 import android.support.annotation.ColorInt;
 import android.support.annotation.Nullable;
 import com.google.android.material.circularreveal.CircularRevealHelper;
-import com.google.android.material.circularreveal.CircularRevealWidget;
+import com.google.android.material.circularreveal.CircularRevealHelper.Strategy;
+import com.google.android.material.circularreveal.CircularRevealStrategyWidget;
 import android.support.design.widget.CoordinatorLayout;
 import android.util.AttributeSet;
 
 /** A CircularRevealWidget wrapper for {@link CoordinatorLayout}. */
 public class CircularRevealCoordinatorLayout extends CoordinatorLayout
-    implements CircularRevealWidget {
+    implements CircularRevealStrategyWidget {
 
   private final CircularRevealHelper helper;
 
@@ -82,6 +83,17 @@ public class CircularRevealCoordinatorLayout extends CoordinatorLayout
     helper.setCircularRevealOverlayDrawable(drawable);
   }
 
+  @Strategy
+  @Override
+  public int getCircularRevealStrategy() {
+    return helper.getStrategy();
+  }
+
+  @Override
+  public void setCircularRevealStrategy(@Strategy int strategy) {
+    helper.setStrategy(strategy);
+  }
+
   @Override
   public void draw(Canvas canvas) {
     if (helper != null) {
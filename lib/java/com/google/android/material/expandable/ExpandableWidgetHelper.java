@@ -74,6 +74,28 @@ public final class ExpandableWidgetHelper {
     }
   }
 
+  /**
+   * Call this from {@link View#onSaveInstanceState()} to save the state in {@link
+   * com.google.android.material.stateful.ExtendableSavedState#packedStates} rather than in a
+   * {@link Bundle}.
+   */
+  public int[] onSavePackedInstanceState() {
+    return new int[] {expanded ? 1 : 0, expandedComponentIdHint};
+  }
+
+  /**
+   * Call this from {@link View#onRestoreInstanceState(Parcelable)} with the state returned by
+   * {@link #onSavePackedInstanceState()}.
+   */
+  public void onRestorePackedInstanceState(int[] state) {
+    expanded = state[0] != 0;
+    expandedComponentIdHint = state[1];
+
+    if (expanded) {
+      dispatchExpandedStateChanged();
+    }
+  }
+
   /** Call this from {@link ExpandableTransformationWidget#setExpandedComponentIdHint(int)}. */
   public void setExpandedComponentIdHint(@IdRes int expandedComponentIdHint) {
     this.expandedComponentIdHint = expandedComponentIdHint;
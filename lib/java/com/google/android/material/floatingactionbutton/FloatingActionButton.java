@@ -94,7 +94,7 @@ public class FloatingActionButton extends VisibilityAwareImageButton
     implements TintableBackgroundView, TintableImageSourceView, ExpandableTransformationWidget {
 
   private static final String LOG_TAG = "FloatingActionButton";
-  private static final String EXPANDABLE_WIDGET_HELPER_KEY = "expandableWidgetHelper";
+  private static final int EXPANDABLE_WIDGET_HELPER_KEY = 0;
 
   /** Callback to be invoked when the visibility of a FloatingActionButton changes. */
   public abstract static class OnVisibilityChangedListener {
@@ -749,8 +749,8 @@ public class FloatingActionButton extends VisibilityAwareImageButton
     Parcelable superState = super.onSaveInstanceState();
     ExtendableSavedState state = new ExtendableSavedState(superState);
 
-    state.extendableStates.put(
-        EXPANDABLE_WIDGET_HELPER_KEY, expandableWidgetHelper.onSaveInstanceState());
+    state.packedStates.put(
+        EXPANDABLE_WIDGET_HELPER_KEY, expandableWidgetHelper.onSavePackedInstanceState());
 
     return state;
   }
@@ -765,8 +765,10 @@ public class FloatingActionButton extends VisibilityAwareImageButton
     ExtendableSavedState ess = (ExtendableSavedState) state;
     super.onRestoreInstanceState(ess.getSuperState());
 
-    expandableWidgetHelper.onRestoreInstanceState(
-        ess.extendableStates.get(EXPANDABLE_WIDGET_HELPER_KEY));
+    int[] expandableWidgetState = ess.packedStates.get(EXPANDABLE_WIDGET_HELPER_KEY);
+    if (expandableWidgetState != null) {
+      expandableWidgetHelper.onRestorePackedInstanceState(expandableWidgetState);
+    }
   }
 
   /**
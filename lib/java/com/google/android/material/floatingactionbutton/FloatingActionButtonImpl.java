@@ -40,10 +40,10 @@ import android.os.Build;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import com.google.android.material.animation.AnimationUtils;
-import com.google.android.material.animation.AnimatorSetCompat;
 import com.google.android.material.animation.ImageMatrixProperty;
 import com.google.android.material.animation.MatrixEvaluator;
 import com.google.android.material.animation.MotionSpec;
+import com.google.android.material.animation.MotionSpecRegistry;
 import com.google.android.material.internal.CircularBorderDrawable;
 import com.google.android.material.internal.StateListAnimator;
 import com.google.android.material.internal.VisibilityAwareImageButton;
@@ -104,6 +104,10 @@ class FloatingActionButtonImpl {
   private ArrayList<AnimatorListener> showListeners;
   private ArrayList<AnimatorListener> hideListeners;
 
+  /** The show and hide animator graphs, built on first use and reused afterwards. */
+  @Nullable private VisibilityAnimator showAnimator;
+  @Nullable private VisibilityAnimator hideAnimator;
+
   interface InternalVisibilityChangedListener {
     void onShown();
 
@@ -342,6 +346,9 @@ class FloatingActionButtonImpl {
       showListeners = new ArrayList<>();
     }
     showListeners.add(listener);
+    if (showAnimator != null) {
+      showAnimator.set.addListener(listener);
+    }
   }
 
   void removeOnShowAnimationListener(@NonNull AnimatorListener listener) {
@@ -350,6 +357,9 @@ class FloatingActionButtonImpl {
       return;
     }
     showListeners.remove(listener);
+    if (showAnimator != null) {
+      showAnimator.set.removeListener(listener);
+    }
   }
 
   public void addOnHideAnimationListener(@NonNull AnimatorListener listener) {
@@ -357,6 +367,9 @@ class FloatingActionButtonImpl {
       hideListeners = new ArrayList<>();
     }
     hideListeners.add(listener);
+    if (hideAnimator != null) {
+      hideAnimator.set.addListener(listener);
+    }
   }
 
   public void removeOnHideAnimationListener(@NonNull AnimatorListener listener) {
@@ -365,6 +378,9 @@ class FloatingActionButtonImpl {
       return;
     }
     hideListeners.remove(listener);
+    if (hideAnimator != null) {
+      hideAnimator.set.removeListener(listener);
+    }
   }
 
   void hide(@Nullable final InternalVisibilityChangedListener listener, final boolean fromUser) {
@@ -378,49 +394,15 @@ class FloatingActionButtonImpl {
     }
 
     if (shouldAnimateVisibilityChange()) {
-      AnimatorSet set =
-          createAnimator(
-              hideMotionSpec != null ? hideMotionSpec : getDefaultHideMotionSpec(),
-              HIDE_OPACITY,
-              HIDE_SCALE,
-              HIDE_ICON_SCALE);
-      set.addListener(
-          new AnimatorListenerAdapter() {
-            private boolean cancelled;
-
-            @Override
-            public void onAnimationStart(Animator animation) {
-              view.internalSetVisibility(View.VISIBLE, fromUser);
-
-              animState = ANIM_STATE_HIDING;
-              currentAnimator = animation;
-              cancelled = false;
-            }
-
-            @Override
-            public void onAnimationCancel(Animator animation) {
-              cancelled = true;
-            }
-
-            @Override
-            public void onAnimationEnd(Animator animation) {
-              animState = ANIM_STATE_NONE;
-              currentAnimator = null;
-
-              if (!cancelled) {
-                view.internalSetVisibility(fromUser ? View.GONE : View.INVISIBLE, fromUser);
-                if (listener != null) {
-                  listener.onHidden();
-                }
-              }
-            }
-          });
-      if (hideListeners != null) {
-        for (AnimatorListener l : hideListeners) {
-          set.addListener(l);
-        }
+      if (hideAnimator == null) {
+        hideAnimator =
+            new VisibilityAnimator(
+                HIDE_OPACITY, HIDE_SCALE, HIDE_ICON_SCALE, hideAnimatorListener, hideListeners);
       }
-      set.start();
+      hideAnimator.start(
+          hideMotionSpec != null ? hideMotionSpec : getDefaultHideMotionSpec(),
+          listener,
+          fromUser);
     } else {
       // If the view isn't laid out, or we're in the editor, don't run the animation
       view.internalSetVisibility(fromUser ? View.GONE : View.INVISIBLE, fromUser);
@@ -449,38 +431,15 @@ class FloatingActionButtonImpl {
         setImageMatrixScale(0f);
       }
 
-      AnimatorSet set =
-          createAnimator(
-              showMotionSpec != null ? showMotionSpec : getDefaultShowMotionSpec(),
-              SHOW_OPACITY,
-              SHOW_SCALE,
-              SHOW_ICON_SCALE);
-      set.addListener(
-          new AnimatorListenerAdapter() {
-            @Override
-            public void onAnimationStart(Animator animation) {
-              view.internalSetVisibility(View.VISIBLE, fromUser);
-
-              animState = ANIM_STATE_SHOWING;
-              currentAnimator = animation;
-            }
-
-            @Override
-            public void onAnimationEnd(Animator animation) {
-              animState = ANIM_STATE_NONE;
-              currentAnimator = null;
-
-              if (listener != null) {
-                listener.onShown();
-              }
-            }
-          });
-      if (showListeners != null) {
-        for (AnimatorListener l : showListeners) {
-          set.addListener(l);
-        }
+      if (showAnimator == null) {
+        showAnimator =
+            new VisibilityAnimator(
+                SHOW_OPACITY, SHOW_SCALE, SHOW_ICON_SCALE, showAnimatorListener, showListeners);
       }
-      set.start();
+      showAnimator.start(
+          showMotionSpec != null ? showMotionSpec : getDefaultShowMotionSpec(),
+          listener,
+          fromUser);
     } else {
       view.internalSetVisibility(View.VISIBLE, fromUser);
       view.setAlpha(1f);
@@ -496,7 +455,7 @@ class FloatingActionButtonImpl {
   private MotionSpec getDefaultShowMotionSpec() {
     if (defaultShowMotionSpec == null) {
       defaultShowMotionSpec =
-          MotionSpec.createFromResource(view.getContext(), R.animator.design_fab_show_motion_spec);
+          MotionSpecRegistry.get(view.getContext(), R.animator.design_fab_show_motion_spec);
     }
     return defaultShowMotionSpec;
   }
@@ -504,39 +463,165 @@ class FloatingActionButtonImpl {
   private MotionSpec getDefaultHideMotionSpec() {
     if (defaultHideMotionSpec == null) {
       defaultHideMotionSpec =
-          MotionSpec.createFromResource(view.getContext(), R.animator.design_fab_hide_motion_spec);
+          MotionSpecRegistry.get(view.getContext(), R.animator.design_fab_hide_motion_spec);
     }
     return defaultHideMotionSpec;
   }
 
-  @NonNull
-  private AnimatorSet createAnimator(
-      @NonNull MotionSpec spec, float opacity, float scale, float iconScale) {
-    List<Animator> animators = new ArrayList<>();
-    Animator animator;
+  private final AnimatorListenerAdapter hideAnimatorListener =
+      new AnimatorListenerAdapter() {
+        private boolean cancelled;
+
+        @Override
+        public void onAnimationStart(Animator animation) {
+          view.internalSetVisibility(View.VISIBLE, hideAnimator.fromUser);
+
+          animState = ANIM_STATE_HIDING;
+          currentAnimator = animation;
+          cancelled = false;
+        }
+
+        @Override
+        public void onAnimationCancel(Animator animation) {
+          cancelled = true;
+        }
+
+        @Override
+        public void onAnimationEnd(Animator animation) {
+          animState = ANIM_STATE_NONE;
+          currentAnimator = null;
+
+          InternalVisibilityChangedListener listener = hideAnimator.listener;
+          hideAnimator.listener = null;
+          if (!cancelled) {
+            boolean fromUser = hideAnimator.fromUser;
+            view.internalSetVisibility(fromUser ? View.GONE : View.INVISIBLE, fromUser);
+            if (listener != null) {
+              listener.onHidden();
+            }
+          }
+        }
+      };
+
+  private final AnimatorListenerAdapter showAnimatorListener =
+      new AnimatorListenerAdapter() {
+        @Override
+        public void onAnimationStart(Animator animation) {
+          view.internalSetVisibility(View.VISIBLE, showAnimator.fromUser);
+
+          animState = ANIM_STATE_SHOWING;
+          currentAnimator = animation;
+        }
+
+        @Override
+        public void onAnimationEnd(Animator animation) {
+          animState = ANIM_STATE_NONE;
+          currentAnimator = null;
 
-    animator = ObjectAnimator.ofFloat(view, View.ALPHA, opacity);
-    spec.getTiming("opacity").apply(animator);
-    animators.add(animator);
+          InternalVisibilityChangedListener listener = showAnimator.listener;
+          showAnimator.listener = null;
+          if (listener != null) {
+            listener.onShown();
+          }
+        }
+      };
 
-    animator = ObjectAnimator.ofFloat(view, View.SCALE_X, scale);
-    spec.getTiming("scale").apply(animator);
-    animators.add(animator);
+  /**
+   * An animator graph animating the FAB's opacity, scale and icon scale to fixed values. The graph
+   * is built once and its start values and timings are reconfigured before each run, so toggling
+   * the FAB's visibility doesn't rebuild it.
+   */
+  private final class VisibilityAnimator {
+    final AnimatorSet set = new AnimatorSet();
+
+    private final float opacity;
+    private final float scale;
+    private final float iconScale;
+
+    private final ValueAnimator durationFix;
+    private final ObjectAnimator opacityAnimator;
+    private final ObjectAnimator scaleXAnimator;
+    private final ObjectAnimator scaleYAnimator;
+    private final ObjectAnimator iconScaleAnimator;
+    private final Matrix startImageMatrix = new Matrix();
+    private final Matrix endImageMatrix = new Matrix();
+
+    @Nullable InternalVisibilityChangedListener listener;
+    boolean fromUser;
+
+    VisibilityAnimator(
+        float opacity,
+        float scale,
+        float iconScale,
+        AnimatorListener internalListener,
+        @Nullable List<AnimatorListener> listeners) {
+      this.opacity = opacity;
+      this.scale = scale;
+      this.iconScale = iconScale;
+
+      opacityAnimator = ObjectAnimator.ofFloat(view, View.ALPHA, opacity);
+      scaleXAnimator = ObjectAnimator.ofFloat(view, View.SCALE_X, scale);
+      scaleYAnimator = ObjectAnimator.ofFloat(view, View.SCALE_Y, scale);
+      iconScaleAnimator =
+          ObjectAnimator.ofObject(
+              view,
+              new ImageMatrixProperty(),
+              new MatrixEvaluator(),
+              startImageMatrix,
+              endImageMatrix);
+
+      // Same fix as AnimatorSetCompat.playTogether() for the pre-M bug where animators with a start
+      // delay are not played correctly in an AnimatorSet. The fix is kept to update its duration
+      // whenever the timings change.
+      durationFix = ValueAnimator.ofInt(0, 0);
+
+      List<Animator> animators = new ArrayList<>();
+      animators.add(durationFix);
+      animators.add(opacityAnimator);
+      animators.add(scaleXAnimator);
+      animators.add(scaleYAnimator);
+      animators.add(iconScaleAnimator);
+      set.playTogether(animators);
+
+      set.addListener(internalListener);
+      if (listeners != null) {
+        for (AnimatorListener l : listeners) {
+          set.addListener(l);
+        }
+      }
+    }
 
-    animator = ObjectAnimator.ofFloat(view, View.SCALE_Y, scale);
-    spec.getTiming("scale").apply(animator);
-    animators.add(animator);
+    void start(
+        @NonNull MotionSpec spec,
+        @Nullable InternalVisibilityChangedListener listener,
+        boolean fromUser) {
+      this.listener = listener;
+      this.fromUser = fromUser;
+
+      // Animate from the current values, which may have been left by a cancelled animation.
+      opacityAnimator.setFloatValues(view.getAlpha(), opacity);
+      scaleXAnimator.setFloatValues(view.getScaleX(), scale);
+      scaleYAnimator.setFloatValues(view.getScaleY(), scale);
+      startImageMatrix.set(view.getImageMatrix());
+      calculateImageMatrixFromScale(iconScale, endImageMatrix);
+      iconScaleAnimator.setObjectValues(startImageMatrix, endImageMatrix);
+
+      // The spec may be changed between runs, so the timings are applied every time.
+      spec.getTiming("opacity").apply(opacityAnimator);
+      spec.getTiming("scale").apply(scaleXAnimator);
+      spec.getTiming("scale").apply(scaleYAnimator);
+      spec.getTiming("iconScale").apply(iconScaleAnimator);
+      durationFix.setDuration(
+          Math.max(
+              Math.max(getTotalDuration(opacityAnimator), getTotalDuration(scaleXAnimator)),
+              getTotalDuration(iconScaleAnimator)));
 
-    calculateImageMatrixFromScale(iconScale, tmpMatrix);
-    animator =
-        ObjectAnimator.ofObject(
-            view, new ImageMatrixProperty(), new MatrixEvaluator(), new Matrix(tmpMatrix));
-    spec.getTiming("iconScale").apply(animator);
-    animators.add(animator);
+      set.start();
+    }
 
-    AnimatorSet set = new AnimatorSet();
-    AnimatorSetCompat.playTogether(set, animators);
-    return set;
+    private long getTotalDuration(Animator animator) {
+      return animator.getStartDelay() + animator.getDuration();
+    }
   }
 
   final Drawable getContentBackground() {
@@ -572,6 +657,9 @@ class FloatingActionButtonImpl {
       view.getViewTreeObserver().removeOnPreDrawListener(preDrawListener);
       preDrawListener = null;
     }
+    if (shadowDrawable != null) {
+      shadowDrawable.releaseShadowAtlas();
+    }
   }
 
   boolean requirePreDrawListener() {
@@ -91,8 +91,14 @@ public final class CollapsingTextHelper {
   private CharSequence textToDraw;
   private boolean isRtl;
 
+  private final EllipsizedText collapsedEllipsizedText = new EllipsizedText();
+  private final EllipsizedText expandedEllipsizedText = new EllipsizedText();
+
   private boolean useTexture;
   private Bitmap expandedTitleTexture;
+  // A previously cleared texture which is re-used if the next texture has the same size.
+  private Bitmap pooledTitleTexture;
+  private Canvas textureCanvas;
   private Paint texturePaint;
   private float textureAscent;
   private float textureDescent;
@@ -609,9 +615,11 @@ public final class CollapsingTextHelper {
 
     final float availableWidth;
     final float newTextSize;
+    final EllipsizedText ellipsizedText;
     boolean updateDrawText = false;
 
     if (isClose(textSize, collapsedTextSize)) {
+      ellipsizedText = collapsedEllipsizedText;
       newTextSize = collapsedTextSize;
       scale = 1f;
       if (currentTypeface != collapsedTypeface) {
@@ -620,6 +628,7 @@ public final class CollapsingTextHelper {
       }
       availableWidth = collapsedWidth;
     } else {
+      ellipsizedText = expandedEllipsizedText;
       newTextSize = expandedTextSize;
       if (currentTypeface != expandedTypeface) {
         currentTypeface = expandedTypeface;
@@ -661,12 +670,25 @@ public final class CollapsingTextHelper {
       // Use linear text scaling if we're scaling the canvas
       textPaint.setLinearText(scale != 1f);
 
-      // If we don't currently have text to draw, or the text size has changed, ellipsize...
-      final CharSequence title =
-          TextUtils.ellipsize(text, textPaint, availableWidth, TextUtils.TruncateAt.END);
-      if (!TextUtils.equals(title, textToDraw)) {
-        textToDraw = title;
-        isRtl = calculateIsRtl(textToDraw);
+      // If we don't currently have text to draw, or the text size has changed, ellipsize unless
+      // the same text was already laid out with the same parameters.
+      final int layoutDirection = ViewCompat.getLayoutDirection(view);
+      if (!ellipsizedText.matches(
+          text, availableWidth, currentTextSize, currentTypeface, layoutDirection)) {
+        final CharSequence title =
+            TextUtils.ellipsize(text, textPaint, availableWidth, TextUtils.TruncateAt.END);
+        ellipsizedText.set(
+            text,
+            availableWidth,
+            currentTextSize,
+            currentTypeface,
+            layoutDirection,
+            title,
+            calculateIsRtl(title));
+      }
+      if (!TextUtils.equals(ellipsizedText.ellipsized, textToDraw)) {
+        textToDraw = ellipsizedText.ellipsized;
+        isRtl = ellipsizedText.isRtl;
       }
     }
   }
@@ -687,10 +709,25 @@ public final class CollapsingTextHelper {
       return; // If the width or height are 0, return
     }
 
-    expandedTitleTexture = Bitmap.createBitmap(w, h, Bitmap.Config.ARGB_8888);
+    if (pooledTitleTexture != null
+        && pooledTitleTexture.getWidth() == w
+        && pooledTitleTexture.getHeight() == h) {
+      expandedTitleTexture = pooledTitleTexture;
+      expandedTitleTexture.eraseColor(Color.TRANSPARENT);
+    } else {
+      if (pooledTitleTexture != null) {
+        pooledTitleTexture.recycle();
+      }
+      expandedTitleTexture = Bitmap.createBitmap(w, h, Bitmap.Config.ARGB_8888);
+    }
+    pooledTitleTexture = null;
 
-    Canvas c = new Canvas(expandedTitleTexture);
-    c.drawText(textToDraw, 0, textToDraw.length(), 0, h - textPaint.descent(), textPaint);
+    if (textureCanvas == null) {
+      textureCanvas = new Canvas();
+    }
+    textureCanvas.setBitmap(expandedTitleTexture);
+    textureCanvas.drawText(
+        textToDraw, 0, textToDraw.length(), 0, h - textPaint.descent(), textPaint);
 
     if (texturePaint == null) {
       // Make sure we have a paint
@@ -727,7 +764,11 @@ public final class CollapsingTextHelper {
 
   private void clearTexture() {
     if (expandedTitleTexture != null) {
-      expandedTitleTexture.recycle();
+      // Keep the bitmap around so that it can be re-used by the next texture of the same size.
+      if (pooledTitleTexture != null) {
+        pooledTitleTexture.recycle();
+      }
+      pooledTitleTexture = expandedTitleTexture;
       expandedTitleTexture = null;
     }
   }
@@ -774,4 +815,48 @@ public final class CollapsingTextHelper {
   private static boolean rectEquals(Rect r, int left, int top, int right, int bottom) {
     return !(r.left != left || r.top != top || r.right != right || r.bottom != bottom);
   }
+
+  /** The result of ellipsizing the text for one set of layout parameters. */
+  private static final class EllipsizedText {
+    private CharSequence source;
+    private float availableWidth;
+    private float textSize;
+    private Typeface typeface;
+    private int layoutDirection;
+
+    private CharSequence ellipsized;
+    private boolean isRtl;
+
+    @SuppressWarnings("ReferenceEquality") // The text and typeface are compared by identity
+    boolean matches(
+        CharSequence source,
+        float availableWidth,
+        float textSize,
+        Typeface typeface,
+        int layoutDirection) {
+      return ellipsized != null
+          && this.source == source
+          && this.availableWidth == availableWidth
+          && this.textSize == textSize
+          && this.typeface == typeface
+          && this.layoutDirection == layoutDirection;
+    }
+
+    void set(
+        CharSequence source,
+        float availableWidth,
+        float textSize,
+        Typeface typeface,
+        int layoutDirection,
+        CharSequence ellipsized,
+        boolean isRtl) {
+      this.source = source;
+      this.availableWidth = availableWidth;
+      this.textSize = textSize;
+      this.typeface = typeface;
+      this.layoutDirection = layoutDirection;
+      this.ellipsized = ellipsized;
+      this.isRtl = isRtl;
+    }
+  }
 }
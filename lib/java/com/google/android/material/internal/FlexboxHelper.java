@@ -174,6 +174,29 @@ class FlexboxHelper {
         result, widthMeasureSpec, heightMeasureSpec, Integer.MAX_VALUE, 0, NO_POSITION, null);
   }
 
+  /**
+   * Calculate the flex lines from the flex item at {@code fromIndex}, appending them to {@code
+   * existingLines}. The existing lines must end right before {@code fromIndex} so that the lines
+   * calculated by a previous measurement can be reused as they are.
+   *
+   * @see #calculateFlexLines(FlexLinesResult, int, int, int, int, int, List)
+   */
+  void calculateHorizontalFlexLines(
+      FlexLinesResult result,
+      int widthMeasureSpec,
+      int heightMeasureSpec,
+      int fromIndex,
+      List<FlexLine> existingLines) {
+    calculateFlexLines(
+        result,
+        widthMeasureSpec,
+        heightMeasureSpec,
+        Integer.MAX_VALUE,
+        fromIndex,
+        NO_POSITION,
+        existingLines);
+  }
+
   /**
    * Calculates how many flex lines are needed in the flex container layout by measuring each child.
    * Expanding or shrinking the flex items depending on the flex grow and flex shrink attributes are
@@ -230,8 +253,14 @@ class FlexboxHelper {
 
     int largestSizeInCross = Integer.MIN_VALUE;
 
-    // The amount of cross size calculated in this method call.
+    // The amount of cross size calculated in this method call. When appending to existing lines,
+    // start from their cross size so that the children are measured against the remaining space.
     int sumCrossSize = 0;
+    if (existingLines != null && needsCalcAmount == Integer.MAX_VALUE) {
+      for (int i = 0, size = existingLines.size(); i < size; i++) {
+        sumCrossSize += existingLines.get(i).crossSize;
+      }
+    }
 
     // The index of the view in the flex line.
     int indexInFlexLine = 0;
@@ -746,8 +775,10 @@ class FlexboxHelper {
    *
    * @param widthMeasureSpec horizontal space requirements as imposed by the parent
    * @param heightMeasureSpec vertical space requirements as imposed by the parent
+   * @param fromIndex the index of the flex item from which the main size is determined. Flex
+   *     lines ending before this index are left as they are.
    */
-  private void determineMainSize(int widthMeasureSpec, int heightMeasureSpec, int fromIndex) {
+  void determineMainSize(int widthMeasureSpec, int heightMeasureSpec, int fromIndex) {
     ensureChildrenFrozen(flexContainer.getFlexItemCount());
     if (fromIndex >= flexContainer.getFlexItemCount()) {
       return;
@@ -763,8 +794,8 @@ class FlexboxHelper {
     }
     int paddingAlongMainAxis = flexContainer.getPaddingLeft() + flexContainer.getPaddingRight();
 
-    int flexLineIndex = 0;
     List<FlexLine> flexLines = flexContainer.getFlexLinesInternal();
+    int flexLineIndex = getFlexLineIndex(flexLines, fromIndex);
     for (int i = flexLineIndex, size = flexLines.size(); i < size; i++) {
       FlexLine flexLine = flexLines.get(i);
       if (flexLine.mainSize < mainSize) {
@@ -775,6 +806,22 @@ class FlexboxHelper {
     }
   }
 
+  /**
+   * Returns the index of the flex line which contains the flex item at {@code fromIndex}, or 0 if
+   * no flex line contains it.
+   */
+  private static int getFlexLineIndex(List<FlexLine> flexLines, int fromIndex) {
+    if (fromIndex <= 0) {
+      return 0;
+    }
+    for (int i = 0, size = flexLines.size(); i < size; i++) {
+      if (flexLines.get(i).lastIndex >= fromIndex) {
+        return i;
+      }
+    }
+    return 0;
+  }
+
   private void ensureChildrenFrozen(int size) {
     if (childrenFrozen == null) {
       childrenFrozen = new boolean[Math.max(INITIAL_CAPACITY, size)];
@@ -1070,11 +1117,21 @@ class FlexboxHelper {
   }
 
   void stretchViews() {
-    if (0 >= flexContainer.getFlexItemCount()) {
+    stretchViews(0);
+  }
+
+  /**
+   * Expand the views along the cross axis to the cross size of their flex lines, starting from the
+   * flex line which contains the flex item at {@code fromIndex}.
+   *
+   * @param fromIndex the index of the flex item from which the views are stretched
+   */
+  void stretchViews(int fromIndex) {
+    if (fromIndex >= flexContainer.getFlexItemCount()) {
       return;
     }
-    int flexLineIndex = 0;
     List<FlexLine> flexLines = flexContainer.getFlexLinesInternal();
+    int flexLineIndex = getFlexLineIndex(flexLines, fromIndex);
     for (int i = flexLineIndex, size = flexLines.size(); i < size; i++) {
       FlexLine flexLine = flexLines.get(i);
       for (int j = 0, itemCount = flexLine.itemCount; j < itemCount; j++) {
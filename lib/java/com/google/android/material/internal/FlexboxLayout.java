@@ -165,6 +165,23 @@ public class FlexboxLayout extends ViewGroup implements FlexContainer {
    */
   private FlexboxHelper.FlexLinesResult flexLinesResult = new FlexboxHelper.FlexLinesResult();
 
+  /**
+   * The reordered children and their visibilities as of the last measurement. Used to find the
+   * first flex line affected by a change so that the flex lines before it can be reused. {@code
+   * null} if all the flex lines need to be calculated on the next measurement.
+   */
+  @Nullable private View[] measuredChildren;
+
+  @Nullable private int[] measuredChildVisibilities;
+
+  private int lastWidthMeasureSpec;
+  private int lastHeightMeasureSpec;
+  private int lastChildState;
+  private int lastPaddingLeft;
+  private int lastPaddingTop;
+  private int lastPaddingRight;
+  private int lastPaddingBottom;
+
   public FlexboxLayout(Context context) {
     this(context, null);
   }
@@ -184,10 +201,71 @@ public class FlexboxLayout extends ViewGroup implements FlexContainer {
     }
     if (flexboxHelper.isOrderChangedFromLastMeasurement(orderCache)) {
       reorderedIndices = flexboxHelper.createReorderedIndices(orderCache);
+      invalidateFlexLines();
+    }
+
+    measureHorizontal(
+        widthMeasureSpec,
+        heightMeasureSpec,
+        getFirstChangedIndex(widthMeasureSpec, heightMeasureSpec));
+    saveMeasuredState(widthMeasureSpec, heightMeasureSpec);
+  }
+
+  /**
+   * Returns the reordered index of the first child which may be measured differently from the last
+   * measurement, the number of children if nothing has changed, or 0 if all the flex lines need to
+   * be calculated.
+   */
+  private int getFirstChangedIndex(int widthMeasureSpec, int heightMeasureSpec) {
+    int childCount = getChildCount();
+    if (measuredChildren == null
+        || measuredChildren.length != childCount
+        || widthMeasureSpec != lastWidthMeasureSpec
+        || heightMeasureSpec != lastHeightMeasureSpec
+        // The cross size of every flex line depends on the others if the height is exact.
+        || MeasureSpec.getMode(heightMeasureSpec) == MeasureSpec.EXACTLY
+        || getPaddingLeft() != lastPaddingLeft
+        || getPaddingTop() != lastPaddingTop
+        || getPaddingRight() != lastPaddingRight
+        || getPaddingBottom() != lastPaddingBottom) {
+      return 0;
+    }
+    for (int i = 0; i < childCount; i++) {
+      View child = getReorderedChildAt(i);
+      if (child != measuredChildren[i]
+          || child == null
+          || child.getVisibility() != measuredChildVisibilities[i]
+          || child.isLayoutRequested()) {
+        return i;
+      }
     }
+    return childCount;
+  }
+
+  private void saveMeasuredState(int widthMeasureSpec, int heightMeasureSpec) {
+    int childCount = getChildCount();
+    if (measuredChildren == null || measuredChildren.length != childCount) {
+      measuredChildren = new View[childCount];
+      measuredChildVisibilities = new int[childCount];
+    }
+    for (int i = 0; i < childCount; i++) {
+      View child = getReorderedChildAt(i);
+      measuredChildren[i] = child;
+      measuredChildVisibilities[i] = child != null ? child.getVisibility() : View.GONE;
+    }
+    lastWidthMeasureSpec = widthMeasureSpec;
+    lastHeightMeasureSpec = heightMeasureSpec;
+    lastChildState = flexLinesResult.childState;
+    lastPaddingLeft = getPaddingLeft();
+    lastPaddingTop = getPaddingTop();
+    lastPaddingRight = getPaddingRight();
+    lastPaddingBottom = getPaddingBottom();
+  }
 
-    // TODO: Only calculate the children views which are affected from the last measure.
-    measureHorizontal(widthMeasureSpec, heightMeasureSpec);
+  /** Forces all the flex lines to be calculated on the next measurement. */
+  private void invalidateFlexLines() {
+    measuredChildren = null;
+    measuredChildVisibilities = null;
   }
 
   @Override
@@ -233,32 +311,83 @@ public class FlexboxLayout extends ViewGroup implements FlexContainer {
     super.addView(child, index, params);
   }
 
+  @Override
+  public void onViewRemoved(View child) {
+    super.onViewRemoved(child);
+    // The child count changes, so all the flex lines are calculated on the next measurement anyway.
+    // Drop the measured children now so that the removed view isn't kept alive until then.
+    invalidateFlexLines();
+  }
+
   /**
    * Sub method for {@link #onMeasure(int, int)}, when the main axis direction is horizontal (either
    * left to right or right to left).
    *
    * @param widthMeasureSpec horizontal space requirements as imposed by the parent
    * @param heightMeasureSpec vertical space requirements as imposed by the parent
+   * @param changedIndex the reordered index of the first child which may be measured differently
+   *     from the last measurement. The flex lines ending before this index are reused.
    * @see #onMeasure(int, int)
    * @see #setFlexWrap(int)
    */
-  private void measureHorizontal(int widthMeasureSpec, int heightMeasureSpec) {
-    flexLines.clear();
+  private void measureHorizontal(int widthMeasureSpec, int heightMeasureSpec, int changedIndex) {
+    if (changedIndex > 0 && changedIndex >= getChildCount()) {
+      // Nothing has changed since the last measurement, the flex lines are still valid.
+      flexLinesResult.flexLines = flexLines;
+      flexLinesResult.childState = lastChildState;
+      setMeasuredDimensionForFlex(widthMeasureSpec, heightMeasureSpec, lastChildState);
+      return;
+    }
 
-    flexLinesResult.reset();
-    flexboxHelper.calculateHorizontalFlexLines(
-        flexLinesResult, widthMeasureSpec, heightMeasureSpec);
+    int fromIndex = 0;
+    int flexLineIndex = getFlexLineIndexForChild(changedIndex);
+    if (flexLineIndex > 0) {
+      fromIndex = flexLines.get(flexLineIndex).firstIndex;
+      flexLines.subList(flexLineIndex, flexLines.size()).clear();
+      flexLinesResult.reset();
+      flexboxHelper.calculateHorizontalFlexLines(
+          flexLinesResult, widthMeasureSpec, heightMeasureSpec, fromIndex, flexLines);
+      // The reused flex lines keep their child state, so merge it into the new one.
+      flexLinesResult.childState =
+          View.combineMeasuredStates(flexLinesResult.childState, lastChildState);
+    } else {
+      flexLines.clear();
+      flexLinesResult.reset();
+      flexboxHelper.calculateHorizontalFlexLines(
+          flexLinesResult, widthMeasureSpec, heightMeasureSpec);
+    }
     flexLines = flexLinesResult.flexLines;
 
-    flexboxHelper.determineMainSize(widthMeasureSpec, heightMeasureSpec);
+    // The main size of the flex items depends on the largest flex line unless the width is exact.
+    flexboxHelper.determineMainSize(
+        widthMeasureSpec,
+        heightMeasureSpec,
+        MeasureSpec.getMode(widthMeasureSpec) == MeasureSpec.EXACTLY ? fromIndex : 0);
 
     flexboxHelper.determineCrossSize(heightMeasureSpec, getPaddingTop() + getPaddingBottom());
     // Now cross size for each flex line is determined.
     // Expand the views if alignItems (or mAlignSelf in each child view) is set to stretch
-    flexboxHelper.stretchViews();
+    flexboxHelper.stretchViews(fromIndex);
     setMeasuredDimensionForFlex(widthMeasureSpec, heightMeasureSpec, flexLinesResult.childState);
   }
 
+  /**
+   * Returns the index of the flex line which contains the reordered child at {@code index}, or 0 if
+   * the child isn't part of the last calculated flex lines.
+   */
+  private int getFlexLineIndexForChild(int index) {
+    if (index <= 0) {
+      return 0;
+    }
+    for (int i = 0, size = flexLines.size(); i < size; i++) {
+      FlexLine flexLine = flexLines.get(i);
+      if (flexLine.lastIndex >= index) {
+        return flexLine.firstIndex <= index ? i : 0;
+      }
+    }
+    return 0;
+  }
+
   /**
    * Set this FlexboxLayouts' width and height depending on the calculated size of main axis and
    * cross axis.
@@ -598,6 +727,7 @@ public class FlexboxLayout extends ViewGroup implements FlexContainer {
   public void setFlexWrap(@FlexWrap int flexWrap) {
     if (this.flexWrap != flexWrap) {
       this.flexWrap = flexWrap;
+      invalidateFlexLines();
       requestLayout();
     }
   }
@@ -757,6 +887,7 @@ public class FlexboxLayout extends ViewGroup implements FlexContainer {
       dividerHorizontalHeight = 0;
     }
     setWillNotDrawFlag();
+    invalidateFlexLines();
     requestLayout();
   }
 
@@ -779,6 +910,7 @@ public class FlexboxLayout extends ViewGroup implements FlexContainer {
       dividerVerticalWidth = 0;
     }
     setWillNotDrawFlag();
+    invalidateFlexLines();
     requestLayout();
   }
 
@@ -808,6 +940,7 @@ public class FlexboxLayout extends ViewGroup implements FlexContainer {
   public void setShowDividerVertical(@DividerMode int dividerMode) {
     if (dividerMode != showDividerVertical) {
       showDividerVertical = dividerMode;
+      invalidateFlexLines();
       requestLayout();
     }
   }
@@ -823,6 +956,7 @@ public class FlexboxLayout extends ViewGroup implements FlexContainer {
   public void setShowDividerHorizontal(@DividerMode int dividerMode) {
     if (dividerMode != showDividerHorizontal) {
       showDividerHorizontal = dividerMode;
+      invalidateFlexLines();
       requestLayout();
     }
   }
@@ -33,12 +33,14 @@ import android.support.annotation.RestrictTo;
 import android.support.annotation.StyleRes;
 import android.support.v4.view.ViewCompat;
 import android.support.v4.view.WindowInsetsCompat;
+import android.support.v7.util.DiffUtil;
 import android.support.v7.view.menu.MenuBuilder;
 import android.support.v7.view.menu.MenuItemImpl;
 import android.support.v7.view.menu.MenuPresenter;
 import android.support.v7.view.menu.MenuView;
 import android.support.v7.view.menu.SubMenuBuilder;
 import android.support.v7.widget.RecyclerView;
+import android.text.TextUtils;
 import android.util.SparseArray;
 import android.view.LayoutInflater;
 import android.view.SubMenu;
@@ -73,6 +75,7 @@ public class NavigationMenuPresenter implements MenuPresenter {
   Drawable itemBackground;
   int itemHorizontalPadding;
   int itemIconPadding;
+  int actionViewStateSizeBudget = Integer.MAX_VALUE;
 
   /**
    * Padding to be inserted at the top of the list to avoid the first menu item from being placed
@@ -115,6 +118,13 @@ public class NavigationMenuPresenter implements MenuPresenter {
     }
   }
 
+  /** Rebinds every item, for changes which affect how all of them look. */
+  private void invalidateMenuView() {
+    if (adapter != null) {
+      adapter.invalidate();
+    }
+  }
+
   @Override
   public void setCallback(Callback cb) {
     callback = cb;
@@ -237,7 +247,7 @@ public class NavigationMenuPresenter implements MenuPresenter {
 
   public void setItemIconTintList(@Nullable ColorStateList tint) {
     iconTintList = tint;
-    updateMenuView(false);
+    invalidateMenuView();
   }
 
   @Nullable
@@ -247,13 +257,13 @@ public class NavigationMenuPresenter implements MenuPresenter {
 
   public void setItemTextColor(@Nullable ColorStateList textColor) {
     this.textColor = textColor;
-    updateMenuView(false);
+    invalidateMenuView();
   }
 
   public void setItemTextAppearance(@StyleRes int resId) {
     textAppearance = resId;
     textAppearanceSet = true;
-    updateMenuView(false);
+    invalidateMenuView();
   }
 
   @Nullable
@@ -263,7 +273,7 @@ public class NavigationMenuPresenter implements MenuPresenter {
 
   public void setItemBackground(@Nullable Drawable itemBackground) {
     this.itemBackground = itemBackground;
-    updateMenuView(false);
+    invalidateMenuView();
   }
 
   public int getItemHorizontalPadding() {
@@ -272,7 +282,7 @@ public class NavigationMenuPresenter implements MenuPresenter {
 
   public void setItemHorizontalPadding(int itemHorizontalPadding) {
     this.itemHorizontalPadding = itemHorizontalPadding;
-    updateMenuView(false);
+    invalidateMenuView();
   }
 
   public int getItemIconPadding() {
@@ -281,7 +291,20 @@ public class NavigationMenuPresenter implements MenuPresenter {
 
   public void setItemIconPadding(int itemIconPadding) {
     this.itemIconPadding = itemIconPadding;
-    updateMenuView(false);
+    invalidateMenuView();
+  }
+
+  public int getActionViewStateSizeBudget() {
+    return actionViewStateSizeBudget;
+  }
+
+  /**
+   * Sets the maximum number of bytes the states of the action views take in the saved state. The
+   * states are kept in menu order, up to the first one which doesn't fit. That state and all the
+   * following ones are dropped.
+   */
+  public void setActionViewStateSizeBudget(int actionViewStateSizeBudget) {
+    this.actionViewStateSizeBudget = actionViewStateSizeBudget;
   }
 
   public void setUpdateSuspended(boolean updateSuspended) {
@@ -369,6 +392,9 @@ public class NavigationMenuPresenter implements MenuPresenter {
     private static final int VIEW_TYPE_HEADER = 3;
 
     private final ArrayList<NavigationMenuItem> items = new ArrayList<>();
+    /** The items shown before the last {@link #update()}, only used to diff them. */
+    private final ArrayList<NavigationMenuItem> previousItems = new ArrayList<>();
+    private final ItemDiffCallback itemDiffCallback = new ItemDiffCallback();
     private MenuItemImpl checkedItem;
     private boolean updateSuspended;
 
@@ -469,7 +495,23 @@ public class NavigationMenuPresenter implements MenuPresenter {
       }
     }
 
+    /**
+     * Rebuilds the items from the menu and only notifies the rows which were added, removed or
+     * changed, so that checking an item doesn't rebind the whole menu.
+     */
     public void update() {
+      if (updateSuspended) {
+        return;
+      }
+      previousItems.clear();
+      previousItems.addAll(items);
+      prepareMenuItems();
+      DiffUtil.calculateDiff(itemDiffCallback, false).dispatchUpdatesTo(this);
+      previousItems.clear();
+    }
+
+    /** Rebuilds the items from the menu and rebinds all of them. */
+    public void invalidate() {
       prepareMenuItems();
       notifyDataSetChanged();
     }
@@ -576,6 +618,7 @@ public class NavigationMenuPresenter implements MenuPresenter {
       }
       // Store the states of the action views.
       SparseArray<ParcelableSparseArray> actionViewStates = new SparseArray<>();
+      int remainingBudget = actionViewStateSizeBudget;
       for (int i = 0, size = items.size(); i < size; i++) {
         NavigationMenuItem navigationMenuItem = items.get(i);
         if (navigationMenuItem instanceof NavigationMenuTextItem) {
@@ -584,6 +627,16 @@ public class NavigationMenuPresenter implements MenuPresenter {
           if (actionView != null) {
             ParcelableSparseArray container = new ParcelableSparseArray();
             actionView.saveHierarchyState(container);
+            if (remainingBudget != Integer.MAX_VALUE) {
+              // The action view states are not essential, drop the first one which doesn't fit
+              // and all the following ones. The container keeps the parcel it was measured with,
+              // so that it isn't parceled again when the saved state is written.
+              int containerSize = container.getParceledSize();
+              if (containerSize > remainingBudget) {
+                break;
+              }
+              remainingBudget -= containerSize;
+            }
             actionViewStates.put(item.getItemId(), container);
           }
         }
@@ -638,25 +691,107 @@ public class NavigationMenuPresenter implements MenuPresenter {
     public void setUpdateSuspended(boolean updateSuspended) {
       this.updateSuspended = updateSuspended;
     }
+
+    /** Compares {@link #previousItems} with {@link #items}. */
+    private class ItemDiffCallback extends DiffUtil.Callback {
+
+      @Override
+      public int getOldListSize() {
+        return previousItems.size();
+      }
+
+      @Override
+      public int getNewListSize() {
+        return items.size();
+      }
+
+      @Override
+      public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+        NavigationMenuItem oldItem = previousItems.get(oldItemPosition);
+        NavigationMenuItem newItem = items.get(newItemPosition);
+        if (oldItem instanceof NavigationMenuTextItem
+            && newItem instanceof NavigationMenuTextItem) {
+          // Menu items can share the same ID (e.g. Menu.NONE), so they are matched by identity.
+          return ((NavigationMenuTextItem) oldItem).getMenuItem()
+              == ((NavigationMenuTextItem) newItem).getMenuItem();
+        }
+        return oldItem.getClass() == newItem.getClass();
+      }
+
+      @Override
+      public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+        NavigationMenuItem oldItem = previousItems.get(oldItemPosition);
+        NavigationMenuItem newItem = items.get(newItemPosition);
+        if (oldItem instanceof NavigationMenuTextItem) {
+          return ((NavigationMenuTextItem) oldItem)
+              .hasSameContents((NavigationMenuTextItem) newItem);
+        } else if (oldItem instanceof NavigationMenuSeparatorItem) {
+          NavigationMenuSeparatorItem oldSeparator = (NavigationMenuSeparatorItem) oldItem;
+          NavigationMenuSeparatorItem newSeparator = (NavigationMenuSeparatorItem) newItem;
+          return oldSeparator.getPaddingTop() == newSeparator.getPaddingTop()
+              && oldSeparator.getPaddingBottom() == newSeparator.getPaddingBottom();
+        }
+        return true;
+      }
+    }
   }
 
   /** Unified data model for all sorts of navigation menu items. */
   private interface NavigationMenuItem {}
 
-  /** Normal or subheader items. */
+  /**
+   * Normal or subheader items. Keeps a snapshot of the state the item is bound with, since the
+   * menu item itself is updated in place.
+   */
   private static class NavigationMenuTextItem implements NavigationMenuItem {
 
     private final MenuItemImpl menuItem;
 
     boolean needsEmptyIcon;
 
+    private final CharSequence title;
+    private final Drawable icon;
+    private final View actionView;
+    private final CharSequence contentDescription;
+    private final CharSequence tooltipText;
+    private final boolean visible;
+    private final boolean checkable;
+    private final boolean checked;
+    private final boolean enabled;
+    private final boolean hasSubMenu;
+
     NavigationMenuTextItem(MenuItemImpl item) {
       menuItem = item;
+      title = item.getTitle();
+      icon = item.getIcon();
+      actionView = item.getActionView();
+      contentDescription = item.getContentDescription();
+      tooltipText = item.getTooltipText();
+      visible = item.isVisible();
+      checkable = item.isCheckable();
+      checked = item.isChecked();
+      enabled = item.isEnabled();
+      hasSubMenu = item.hasSubMenu();
     }
 
     public MenuItemImpl getMenuItem() {
       return menuItem;
     }
+
+    /** Returns whether both items are bound to views the same way. */
+    boolean hasSameContents(NavigationMenuTextItem other) {
+      return needsEmptyIcon == other.needsEmptyIcon
+          && visible == other.visible
+          && checkable == other.checkable
+          && checked == other.checked
+          && enabled == other.enabled
+          && hasSubMenu == other.hasSubMenu
+          && icon == other.icon
+          && actionView == other.actionView
+          && TextUtils.equals(title, other.title)
+          && TextUtils.equals(contentDescription, other.contentDescription)
+          && TextUtils.equals(tooltipText, other.tooltipText);
+    }
   }
 
   /** Separator items. */
@@ -24,6 +24,7 @@ import android.support.v7.view.menu.MenuBuilder;
 import android.support.v7.view.menu.MenuView;
 import android.support.v7.widget.LinearLayoutManager;
 import android.support.v7.widget.RecyclerView;
+import android.support.v7.widget.SimpleItemAnimator;
 import android.util.AttributeSet;
 
 /** @hide */
@@ -41,6 +42,8 @@ public class NavigationMenuView extends RecyclerView implements MenuView {
   public NavigationMenuView(Context context, AttributeSet attrs, int defStyleAttr) {
     super(context, attrs, defStyleAttr);
     setLayoutManager(new LinearLayoutManager(context, LinearLayoutManager.VERTICAL, false));
+    // Changed items, e.g. the checked one, are rebound in place rather than cross-faded.
+    ((SimpleItemAnimator) getItemAnimator()).setSupportsChangeAnimations(false);
   }
 
   @Override
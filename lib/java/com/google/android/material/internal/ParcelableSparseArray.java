@@ -18,15 +18,32 @@ package com.google.android.material.internal;
 
 import static android.support.annotation.RestrictTo.Scope.LIBRARY_GROUP;
 
+import android.annotation.TargetApi;
+import android.os.BadParcelableException;
+import android.os.Build.VERSION_CODES;
 import android.os.Parcel;
 import android.os.Parcelable;
+import android.support.annotation.Nullable;
 import android.support.annotation.RestrictTo;
 import android.util.SparseArray;
+import java.util.ArrayList;
+import java.util.List;
 
-/** @hide */
+/**
+ * A {@link SparseArray} of {@link Parcelable}s, typically used to save a view hierarchy state.
+ *
+ * <p>Unlike {@link Parcel#writeParcelableArray(Parcelable[], int)}, the class name of each value is
+ * only written once per array, and the values refer to it by index. View hierarchy states are
+ * mostly made of a few saved state classes, so this avoids repeating their names.
+ *
+ * @hide
+ */
 @RestrictTo(LIBRARY_GROUP)
 public class ParcelableSparseArray extends SparseArray<Parcelable> implements Parcelable {
 
+  /** The parcel written by {@link #getParceledSize()}, until this array is modified. */
+  @Nullable private Parcel measuredParcel;
+
   public ParcelableSparseArray() {
     super();
   }
@@ -36,9 +53,41 @@ public class ParcelableSparseArray extends SparseArray<Parcelable> implements Pa
     int size = source.readInt();
     int[] keys = new int[size];
     source.readIntArray(keys);
-    Parcelable[] values = source.readParcelableArray(loader);
+
+    int classCount = source.readInt();
+    Parcelable.Creator<?>[] creators = new Parcelable.Creator<?>[classCount];
+    for (int i = 0; i < classCount; ++i) {
+      creators[i] = getCreator(source.readString(), loader);
+    }
+
     for (int i = 0; i < size; ++i) {
-      put(keys[i], values[i]);
+      int classIndex = source.readInt();
+      Parcelable value = null;
+      if (classIndex >= 0) {
+        Parcelable.Creator<?> creator = creators[classIndex];
+        value =
+            (Parcelable)
+                (creator instanceof ClassLoaderCreator
+                    ? ((ClassLoaderCreator<?>) creator).createFromParcel(source, loader)
+                    : creator.createFromParcel(source));
+      }
+      put(keys[i], value);
+    }
+  }
+
+  private static Parcelable.Creator<?> getCreator(String className, @Nullable ClassLoader loader) {
+    if (loader == null) {
+      loader = ParcelableSparseArray.class.getClassLoader();
+    }
+    try {
+      Class<?> parcelableClass = Class.forName(className, false, loader);
+      Object creator = parcelableClass.getField("CREATOR").get(null);
+      if (!(creator instanceof Parcelable.Creator)) {
+        throw new BadParcelableException("Parcelable protocol requires a CREATOR: " + className);
+      }
+      return (Parcelable.Creator<?>) creator;
+    } catch (ClassNotFoundException | NoSuchFieldException | IllegalAccessException e) {
+      throw new BadParcelableException(e);
     }
   }
 
@@ -47,18 +96,121 @@ public class ParcelableSparseArray extends SparseArray<Parcelable> implements Pa
     return 0;
   }
 
+  @Override
+  public void put(int key, Parcelable value) {
+    clearMeasuredParcel();
+    super.put(key, value);
+  }
+
+  @Override
+  public void append(int key, Parcelable value) {
+    clearMeasuredParcel();
+    super.append(key, value);
+  }
+
+  @Override
+  public void delete(int key) {
+    clearMeasuredParcel();
+    super.delete(key);
+  }
+
+  @Override
+  public void removeAt(int index) {
+    clearMeasuredParcel();
+    super.removeAt(index);
+  }
+
+  @Override
+  @TargetApi(VERSION_CODES.KITKAT)
+  public void removeAtRange(int index, int size) {
+    // Only callable where the platform defines it
+    clearMeasuredParcel();
+    super.removeAtRange(index, size);
+  }
+
+  @Override
+  public void setValueAt(int index, Parcelable value) {
+    clearMeasuredParcel();
+    super.setValueAt(index, value);
+  }
+
+  @Override
+  public void clear() {
+    clearMeasuredParcel();
+    super.clear();
+  }
+
+  @Override
+  public ParcelableSparseArray clone() {
+    ParcelableSparseArray clone = (ParcelableSparseArray) super.clone();
+    // The measured parcel is recycled by the array which owns it
+    clone.measuredParcel = null;
+    return clone;
+  }
+
   @Override
   public void writeToParcel(Parcel parcel, int flags) {
+    if (measuredParcel != null && flags == 0) {
+      // Already parceled to measure it, copy the bytes rather than parceling the values again
+      parcel.appendFrom(measuredParcel, 0, measuredParcel.dataSize());
+      return;
+    }
+    writeValuesToParcel(parcel, flags);
+  }
+
+  private void writeValuesToParcel(Parcel parcel, int flags) {
     int size = size();
     int[] keys = new int[size];
-    Parcelable[] values = new Parcelable[size];
+    int[] classIndices = new int[size];
+    List<String> classNames = new ArrayList<>();
     for (int i = 0; i < size; ++i) {
       keys[i] = keyAt(i);
-      values[i] = valueAt(i);
+      Parcelable value = valueAt(i);
+      if (value == null) {
+        classIndices[i] = -1;
+        continue;
+      }
+      String className = value.getClass().getName();
+      int classIndex = classNames.indexOf(className);
+      if (classIndex < 0) {
+        classIndex = classNames.size();
+        classNames.add(className);
+      }
+      classIndices[i] = classIndex;
     }
+
     parcel.writeInt(size);
     parcel.writeIntArray(keys);
-    parcel.writeParcelableArray(values, flags);
+    parcel.writeInt(classNames.size());
+    for (int i = 0, count = classNames.size(); i < count; ++i) {
+      parcel.writeString(classNames.get(i));
+    }
+    for (int i = 0; i < size; ++i) {
+      parcel.writeInt(classIndices[i]);
+      if (classIndices[i] >= 0) {
+        valueAt(i).writeToParcel(parcel, flags);
+      }
+    }
+  }
+
+  /**
+   * Returns the number of bytes this array takes once written to a {@link Parcel}. The written
+   * parcel is kept until this array is modified, so that {@link #writeToParcel(Parcel, int)} can
+   * copy it instead of parceling the values again. The values must not be modified meanwhile.
+   */
+  public int getParceledSize() {
+    if (measuredParcel == null) {
+      measuredParcel = Parcel.obtain();
+      writeValuesToParcel(measuredParcel, 0);
+    }
+    return measuredParcel.dataSize();
+  }
+
+  private void clearMeasuredParcel() {
+    if (measuredParcel != null) {
+      measuredParcel.recycle();
+      measuredParcel = null;
+    }
   }
 
   public static final Creator<ParcelableSparseArray> CREATOR =
@@ -21,13 +21,18 @@ import com.google.android.material.R;
 import static android.support.annotation.RestrictTo.Scope.LIBRARY_GROUP;
 
 import android.content.Context;
+import android.content.res.Resources;
 import android.content.res.TypedArray;
 import android.support.annotation.AttrRes;
+import android.support.annotation.Nullable;
 import android.support.annotation.RestrictTo;
 import android.support.annotation.StyleRes;
 import android.support.annotation.StyleableRes;
+import com.google.android.material.resources.WeakThemeMap;
 import android.support.v7.widget.TintTypedArray;
 import android.util.AttributeSet;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Utility methods to check Theme compatibility with components.
@@ -43,6 +48,15 @@ public final class ThemeEnforcement {
   private static final int[] MATERIAL_CHECK_ATTRS = {R.attr.colorSecondary};
   private static final String MATERIAL_THEME_NAME = "Theme.MaterialComponents";
 
+  private static final int FLAG_ENFORCE_MATERIAL_THEME = 1;
+  private static final int FLAG_MISSING_TEXT_APPEARANCE = 1 << 1;
+
+  /**
+   * Caches the theme checks and the enforcement flags of the component styles per theme instance,
+   * so that inflating many components with the same theme only looks them up once.
+   */
+  private static final WeakThemeMap<ThemeInfo> themeInfos = new WeakThemeMap<>();
+
   private ThemeEnforcement() {}
 
   /**
@@ -83,11 +97,9 @@ public final class ThemeEnforcement {
       int defStyleRes,
       boolean enforceTextAppearance) {
 
-    // First, check for a compatible theme.
-    checkCompatibleTheme(context, set, defStyleAttr, defStyleRes);
-
-    // Then, check that a textAppearance is set if enforceTextAppearance is true
-    checkTextAppearance(context, set, defStyleAttr, defStyleRes);
+    // First, check for a compatible theme and that a textAppearance is set if
+    // enforceTextAppearance is true.
+    checkEnforcementFlags(context, set, defStyleAttr, defStyleRes);
 
     // Then, safely retrieve the styled attribute information.
     return context.obtainStyledAttributes(set, attrs, defStyleAttr, defStyleRes);
@@ -114,50 +126,101 @@ public final class ThemeEnforcement {
       @StyleableRes int[] attrs,
       @AttrRes int defStyleAttr,
       @StyleRes int defStyleRes) {
-    // First, check for a compatible theme.
-    checkCompatibleTheme(context, set, defStyleAttr, defStyleRes);
-
-    // Then, check that a textAppearance is set if enforceTextAppearance is true
-    checkTextAppearance(context, set, defStyleAttr, defStyleRes);
+    // First, check for a compatible theme and that a textAppearance is set if
+    // enforceTextAppearance is true.
+    checkEnforcementFlags(context, set, defStyleAttr, defStyleRes);
 
     // Then, safely retrieve the styled attribute information.
     return TintTypedArray.obtainStyledAttributes(context, set, attrs, defStyleAttr, defStyleRes);
   }
 
-  private static void checkCompatibleTheme(
+  private static void checkEnforcementFlags(
       Context context, AttributeSet set, @AttrRes int defStyleAttr, @StyleRes int defStyleRes) {
-    TypedArray a =
-        context.obtainStyledAttributes(
-            set, R.styleable.ThemeEnforcement, defStyleAttr, defStyleRes);
-    boolean enforceMaterialTheme =
-        a.getBoolean(R.styleable.ThemeEnforcement_enforceMaterialTheme, false);
-    a.recycle();
+    int flags = getEnforcementFlags(context, set, defStyleAttr, defStyleRes);
 
-    if (enforceMaterialTheme) {
+    if ((flags & FLAG_ENFORCE_MATERIAL_THEME) != 0) {
       checkMaterialTheme(context);
     }
     checkAppCompatTheme(context);
+
+    if ((flags & FLAG_MISSING_TEXT_APPEARANCE) != 0) {
+      throw new IllegalArgumentException(
+          "This component requires that you specify a valid android:textAppearance attribute.");
+    }
   }
 
-  private static void checkTextAppearance(
+  /**
+   * Reads the enforcement flags of the component in a single pass. The flags only depend on the
+   * theme and the component's style unless they are set directly in the layout, so in that case
+   * they are cached per theme.
+   */
+  private static int getEnforcementFlags(
       Context context, AttributeSet set, @AttrRes int defStyleAttr, @StyleRes int defStyleRes) {
+    ThemeInfo themeInfo = null;
+    int styleAttribute = 0;
+    if (!hasEnforcementAttributes(set)) {
+      themeInfo = getThemeInfo(context);
+      styleAttribute = set != null ? set.getStyleAttribute() : 0;
+    }
+    if (themeInfo != null) {
+      synchronized (themeInfos) {
+        Integer flags = themeInfo.getEnforcementFlags(defStyleAttr, defStyleRes, styleAttribute);
+        if (flags != null) {
+          return flags;
+        }
+      }
+    }
+
     TypedArray a =
         context.obtainStyledAttributes(
             set, R.styleable.ThemeEnforcement, defStyleAttr, defStyleRes);
-    boolean enforceTextAppearance =
-        a.getBoolean(R.styleable.ThemeEnforcement_enforceTextAppearance, false);
+    int flags = 0;
+    if (a.getBoolean(R.styleable.ThemeEnforcement_enforceMaterialTheme, false)) {
+      flags |= FLAG_ENFORCE_MATERIAL_THEME;
+    }
+    if (a.getBoolean(R.styleable.ThemeEnforcement_enforceTextAppearance, false)
+        && a.getResourceId(R.styleable.ThemeEnforcement_android_textAppearance, -1) == -1) {
+      flags |= FLAG_MISSING_TEXT_APPEARANCE;
+    }
+    a.recycle();
 
-    if (enforceTextAppearance) {
-      int textAppearanceResId =
-          a.getResourceId(R.styleable.ThemeEnforcement_android_textAppearance, -1);
-      a.recycle();
+    if (themeInfo != null) {
+      synchronized (themeInfos) {
+        themeInfo.putEnforcementFlags(defStyleAttr, defStyleRes, styleAttribute, flags);
+      }
+    }
+    return flags;
+  }
 
-      if (textAppearanceResId == -1) {
-        throw new IllegalArgumentException(
-            "This component requires that you specify a valid android:textAppearance attribute.");
+  /** Returns whether any of the enforcement attributes is set directly in the layout. */
+  private static boolean hasEnforcementAttributes(@Nullable AttributeSet set) {
+    if (set == null) {
+      return false;
+    }
+    for (int i = 0, count = set.getAttributeCount(); i < count; i++) {
+      int nameResource = set.getAttributeNameResource(i);
+      if (nameResource == R.attr.enforceMaterialTheme
+          || nameResource == R.attr.enforceTextAppearance
+          || nameResource == android.R.attr.textAppearance) {
+        return true;
       }
-    } else {
-      a.recycle();
+    }
+    return false;
+  }
+
+  @Nullable
+  private static ThemeInfo getThemeInfo(Context context) {
+    Resources.Theme theme = context.getTheme();
+    if (theme == null) {
+      return null;
+    }
+    synchronized (themeInfos) {
+      ThemeInfo themeInfo = themeInfos.get(theme);
+      if (themeInfo == null) {
+        themeInfo = new ThemeInfo();
+        themeInfos.put(theme, themeInfo);
+      }
+      return themeInfo;
     }
   }
 
@@ -178,10 +241,25 @@ public final class ThemeEnforcement {
   }
 
   private static boolean isTheme(Context context, int[] themeAttributes) {
+    ThemeInfo themeInfo = getThemeInfo(context);
+    if (themeInfo != null) {
+      synchronized (themeInfos) {
+        Boolean isTheme = themeInfo.isTheme.get(themeAttributes);
+        if (isTheme != null) {
+          return isTheme;
+        }
+      }
+    }
+
     TypedArray a = context.obtainStyledAttributes(themeAttributes);
     final boolean success = a.hasValue(0);
     a.recycle();
 
+    if (themeInfo != null) {
+      synchronized (themeInfos) {
+        themeInfo.isTheme.put(themeAttributes, success);
+      }
+    }
     return success;
   }
 
@@ -193,4 +271,61 @@ public final class ThemeEnforcement {
               + " (or a descendant).");
     }
   }
+
+  /** The cached checks for a theme. Guarded by {@link #themeInfos}. */
+  private static final class ThemeInfo {
+    /** Whether the theme defines the check attributes, keyed by the check attributes array. */
+    final Map<int[], Boolean> isTheme = new HashMap<>();
+
+    private final Map<StyleKey, Integer> enforcementFlags = new HashMap<>();
+    private final StyleKey lookupKey = new StyleKey();
+
+    @Nullable
+    Integer getEnforcementFlags(int defStyleAttr, int defStyleRes, int styleAttribute) {
+      lookupKey.set(defStyleAttr, defStyleRes, styleAttribute);
+      return enforcementFlags.get(lookupKey);
+    }
+
+    void putEnforcementFlags(int defStyleAttr, int defStyleRes, int styleAttribute, int flags) {
+      StyleKey key = new StyleKey();
+      key.set(defStyleAttr, defStyleRes, styleAttribute);
+      enforcementFlags.put(key, flags);
+    }
+  }
+
+  private static final class StyleKey {
+    int defStyleAttr;
+    int defStyleRes;
+    int styleAttribute;
+
+    void set(int defStyleAttr, int defStyleRes, int styleAttribute) {
+      this.defStyleAttr = defStyleAttr;
+      this.defStyleRes = defStyleRes;
+      this.styleAttribute = styleAttribute;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+
+      StyleKey that = (StyleKey) o;
+
+      return defStyleAttr == that.defStyleAttr
+          && defStyleRes == that.defStyleRes
+          && styleAttribute == that.styleAttribute;
+    }
+
+    @Override
+    public int hashCode() {
+      int result = defStyleAttr;
+      result = 31 * result + defStyleRes;
+      result = 31 * result + styleAttribute;
+      return result;
+    }
+  }
 }
@@ -454,6 +454,28 @@ public class NavigationView extends ScrimInsetsFrameLayout {
     presenter.setItemIconPadding(getResources().getDimensionPixelSize(paddingResource));
   }
 
+  /**
+   * Returns the maximum number of bytes the states of the menu items' action views take in the
+   * saved state of this view.
+   *
+   * @see #setActionViewStateSizeBudget(int)
+   */
+  public int getActionViewStateSizeBudget() {
+    return presenter.getActionViewStateSizeBudget();
+  }
+
+  /**
+   * Sets the maximum number of bytes the states of the menu items' action views take in the saved
+   * state of this view. The states are saved in menu order, up to the first one which doesn't fit.
+   * That state and all the following ones are not saved. The checked item is always saved.
+   * Defaults to {@link Integer#MAX_VALUE}, which saves all the states without measuring them.
+   *
+   * @param budget The maximum size in bytes.
+   */
+  public void setActionViewStateSizeBudget(int budget) {
+    presenter.setActionViewStateSizeBudget(budget);
+  }
+
   /**
    * Sets the currently checked item in this navigation menu.
    *
@@ -20,17 +20,28 @@ import static android.support.annotation.RestrictTo.Scope.LIBRARY_GROUP;
 
 import android.content.Context;
 import android.content.res.ColorStateList;
+import android.content.res.Resources;
 import android.content.res.TypedArray;
 import android.graphics.drawable.Drawable;
+import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.support.annotation.RestrictTo;
+import android.support.annotation.StyleRes;
 import android.support.annotation.StyleableRes;
 import android.support.v7.content.res.AppCompatResources;
+import android.util.SparseArray;
 
 /** Utility methods to resolve resources for components. */
 @RestrictTo(LIBRARY_GROUP)
 public class MaterialResources {
 
+  /**
+   * Parsed TextAppearances keyed by the theme instance they were resolved with, since their colors
+   * can reference theme attributes and their sizes depend on the theme's configuration.
+   */
+  private static final WeakThemeMap<SparseArray<TextAppearance>> textAppearances =
+      new WeakThemeMap<>();
+
   private MaterialResources() {}
 
   /**
@@ -84,12 +95,38 @@ public class MaterialResources {
     if (attributes.hasValue(index)) {
       int resourceId = attributes.getResourceId(index, 0);
       if (resourceId != 0) {
-        return new TextAppearance(context, resourceId);
+        return getTextAppearance(context, resourceId);
       }
     }
     return null;
   }
 
+  /**
+   * Returns the TextAppearance for the given style resource. TextAppearances are cached per theme
+   * instance, so components using the same style share the parsed attributes and the resolved font.
+   * Themes created for another configuration don't share them, even when they are equal.
+   */
+  @NonNull
+  public static TextAppearance getTextAppearance(Context context, @StyleRes int id) {
+    Resources.Theme theme = context.getTheme();
+    if (theme == null) {
+      return new TextAppearance(context, id);
+    }
+    synchronized (textAppearances) {
+      SparseArray<TextAppearance> themeTextAppearances = textAppearances.get(theme);
+      if (themeTextAppearances == null) {
+        themeTextAppearances = new SparseArray<>();
+        textAppearances.put(theme, themeTextAppearances);
+      }
+      TextAppearance textAppearance = themeTextAppearances.get(id);
+      if (textAppearance == null) {
+        textAppearance = new TextAppearance(context, id);
+        themeTextAppearances.put(id, textAppearance);
+      }
+      return textAppearance;
+    }
+  }
+
   /**
    * Returns the @StyleableRes index that contains value in the attributes array. If both indices
    * contain values, the first given index takes precedence and is returned.
@@ -31,8 +31,11 @@ import android.support.annotation.RestrictTo;
 import android.support.annotation.RestrictTo.Scope;
 import android.support.annotation.StyleRes;
 import android.support.v4.content.res.ResourcesCompat;
+import android.support.v4.content.res.ResourcesCompat.FontCallback;
 import android.text.TextPaint;
 import android.util.Log;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Utility class that contains the data from parsing a TextAppearance style resource.
@@ -67,6 +70,9 @@ public class TextAppearance {
   private boolean fontResolved = false;
   @Nullable private Typeface font;
 
+  /** Callbacks waiting for the font resource to be loaded asynchronously, null if not loading. */
+  @Nullable private List<FontCallback> pendingFontCallbacks;
+
   /** Parses the given TextAppearance style resource. */
   public TextAppearance(Context context, @StyleRes int id) {
     TypedArray a = context.obtainStyledAttributes(id, R.styleable.TextAppearance);
@@ -108,7 +114,8 @@ public class TextAppearance {
    */
   @NonNull
   public Typeface getFont(Context context) {
-    if (fontResolved) {
+    if (fontResolved || pendingFontCallbacks != null) {
+      // While the font resource is loading asynchronously, the fallback font is returned.
       return font;
     }
 
@@ -126,6 +133,80 @@ public class TextAppearance {
       }
     }
 
+    createFallbackFont();
+
+    fontResolved = true;
+    return font;
+  }
+
+  /**
+   * Resolves the font like {@link #getFont(Context)} without blocking on loading the font resource.
+   * Returns the font if it is already resolved, otherwise a fallback font resolved from the
+   * fontFamily name and typeface. The callback is notified on the main thread if the font resource
+   * is then loaded.
+   */
+  @NonNull
+  public Typeface getFontAsync(Context context, @NonNull FontCallback callback) {
+    if (fontResolved) {
+      return font;
+    }
+    if (pendingFontCallbacks != null) {
+      pendingFontCallbacks.add(callback);
+      return font;
+    }
+
+    createFallbackFont();
+    if (context.isRestricted() || fontFamilyResourceId == 0) {
+      fontResolved = true;
+      return font;
+    }
+
+    pendingFontCallbacks = new ArrayList<>();
+    pendingFontCallbacks.add(callback);
+    try {
+      ResourcesCompat.getFont(
+          context,
+          fontFamilyResourceId,
+          new FontCallback() {
+            @Override
+            public void onFontRetrieved(@NonNull Typeface typeface) {
+              font = Typeface.create(typeface, textStyle);
+              List<FontCallback> callbacks = onFontLoadFinished();
+              for (int i = 0; callbacks != null && i < callbacks.size(); i++) {
+                callbacks.get(i).onFontRetrieved(font);
+              }
+            }
+
+            @Override
+            public void onFontRetrievalFailed(int reason) {
+              // Keep the fallback font.
+              List<FontCallback> callbacks = onFontLoadFinished();
+              for (int i = 0; callbacks != null && i < callbacks.size(); i++) {
+                callbacks.get(i).onFontRetrievalFailed(reason);
+              }
+            }
+          },
+          /* handler= */ null);
+    } catch (UnsupportedOperationException | Resources.NotFoundException e) {
+      // Expected if it is not a font resource.
+      onFontLoadFinished();
+    } catch (Exception e) {
+      Log.d(TAG, "Error loading font " + fontFamily, e);
+      onFontLoadFinished();
+    }
+    return font;
+  }
+
+  @Nullable
+  private List<FontCallback> onFontLoadFinished() {
+    List<FontCallback> callbacks = pendingFontCallbacks;
+    pendingFontCallbacks = null;
+    fontResolved = true;
+    return callbacks;
+  }
+
+  /** Resolves the font from the fontFamily name, or the typeface if that fails. */
+  private void createFallbackFont() {
     // 2. Try resolving fontFamily as a string name.
     if (font == null) {
       font = Typeface.create(fontFamily, textStyle);
@@ -151,9 +232,6 @@ public class TextAppearance {
         font = Typeface.create(font, textStyle);
       }
     }
-
-    fontResolved = true;
-    return font;
   }
 
   /**
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2018 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.android.material.resources;
+
+import static android.support.annotation.RestrictTo.Scope.LIBRARY_GROUP;
+
+import android.content.res.Resources;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.RestrictTo;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A map of values keyed by weakly referenced {@link Resources.Theme}s, compared by identity.
+ *
+ * <p>Unlike a {@link java.util.WeakHashMap}, this doesn't use {@link Resources.Theme#equals}. From
+ * API 24, it only compares the styles applied to the themes, so the themes of an activity recreated
+ * for a new configuration are equal to the old ones, and {@link Resources.Theme#applyStyle} changes
+ * the hash code of a theme that is already in the map.
+ *
+ * <p>There are only a few live themes at a time, so they are looked up linearly. The entries of
+ * the themes which were garbage collected are removed while looking up. This class isn't thread
+ * safe.
+ *
+ * @hide
+ */
+@RestrictTo(LIBRARY_GROUP)
+public final class WeakThemeMap<V> {
+
+  private final List<WeakReference<Resources.Theme>> themes = new ArrayList<>();
+  private final List<V> values = new ArrayList<>();
+
+  /** Returns the value for the given theme instance, or null if there is none. */
+  @Nullable
+  public V get(@NonNull Resources.Theme theme) {
+    int index = indexOf(theme);
+    return index >= 0 ? values.get(index) : null;
+  }
+
+  /** Sets the value for the given theme instance. */
+  public void put(@NonNull Resources.Theme theme, @NonNull V value) {
+    int index = indexOf(theme);
+    if (index >= 0) {
+      values.set(index, value);
+    } else {
+      themes.add(new WeakReference<>(theme));
+      values.add(value);
+    }
+  }
+
+  /** Returns the number of themes in this map which haven't been garbage collected yet. */
+  public int size() {
+    indexOf(null);
+    return themes.size();
+  }
+
+  private int indexOf(@Nullable Resources.Theme theme) {
+    for (int i = themes.size() - 1; i >= 0; i--) {
+      Resources.Theme entryTheme = themes.get(i).get();
+      if (entryTheme == null) {
+        themes.remove(i);
+        values.remove(i);
+      } else if (entryTheme == theme) {
+        return i;
+      }
+    }
+    return -1;
+  }
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright 2018 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.android.material.shadow;
+
+import android.graphics.Bitmap;
+import android.graphics.Bitmap.Config;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.support.annotation.Nullable;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A shadow rendered once into a bitmap and shared by all the {@link ShadowDrawableWrapper}s with
+ * the same corner radius, shadow size and colors.
+ *
+ * <p>The bitmap holds the shadow of a content rect which is just large enough to contain the four
+ * corners, plus a single row and column through its center. Since the edge shadows don't change
+ * along the edge, the shadow of any larger content rect is drawn by stretching that row and column,
+ * like a nine-patch.
+ *
+ * <p>Atlases are reference counted. Unreferenced atlases are kept around for a while, so that
+ * switching between the resting and pressed elevations of a view doesn't render them again.
+ */
+final class ShadowAtlas {
+
+  /** Renders the shadow of the given content rect into the canvas. */
+  interface Renderer {
+    void drawShadow(Canvas canvas, RectF contentBounds);
+  }
+
+  private static final int MAX_UNUSED_ATLASES = 4;
+
+  private static final Map<Key, ShadowAtlas> atlases = new LinkedHashMap<>(16, 0.75f, true);
+
+  private static int unusedAtlasCount;
+
+  final Key key;
+  private final Bitmap bitmap;
+  /** The content rect the shadow was rendered for, in bitmap coordinates. */
+  private final RectF contentBounds;
+
+  private final int leftInset;
+  private final int topInset;
+  private final int rightInset;
+  private final int bottomInset;
+
+  private final Rect src = new Rect();
+  private final RectF dst = new RectF();
+
+  private int refCount;
+
+  private ShadowAtlas(Key key, Renderer renderer) {
+    this.key = key;
+
+    // The corners are drawn around the points inset by the corner radius from the content edges.
+    // The bottom edge shadow is pushed shadowSize into the content, so make sure it doesn't reach
+    // the stretched row.
+    int cornerSize = Math.round(key.cornerRadius);
+    int bottomCornerSize = Math.max(cornerSize, (int) Math.ceil(key.shadowSize));
+    int shadowExtent = (int) Math.ceil(key.shadowSize);
+
+    leftInset = shadowExtent + cornerSize;
+    topInset = shadowExtent + cornerSize;
+    rightInset = shadowExtent + cornerSize;
+    bottomInset = shadowExtent + bottomCornerSize;
+
+    int width = leftInset + 1 + rightInset;
+    int height = topInset + 1 + bottomInset;
+    bitmap = Bitmap.createBitmap(width, height, Config.ARGB_8888);
+    contentBounds =
+        new RectF(shadowExtent, shadowExtent, width - shadowExtent, height - shadowExtent);
+    renderer.drawShadow(new Canvas(bitmap), contentBounds);
+  }
+
+  /**
+   * Returns the atlas for the given key, rendering it with the renderer if needed. Callers must
+   * {@link #release()} the atlas when they are done with it.
+   */
+  static ShadowAtlas acquire(Key key, Renderer renderer) {
+    synchronized (atlases) {
+      ShadowAtlas atlas = atlases.get(key);
+      if (atlas == null) {
+        atlas = new ShadowAtlas(key, renderer);
+        atlases.put(key, atlas);
+      } else if (atlas.refCount == 0) {
+        unusedAtlasCount--;
+      }
+      atlas.refCount++;
+      return atlas;
+    }
+  }
+
+  /** Releases a reference obtained from {@link #acquire(Key, Renderer)}. */
+  void release() {
+    synchronized (atlases) {
+      if (refCount <= 0) {
+        return;
+      }
+      refCount--;
+      if (refCount == 0) {
+        unusedAtlasCount++;
+        trimUnusedAtlases();
+      }
+    }
+  }
+
+  private static void trimUnusedAtlases() {
+    // Iterates from the least recently acquired atlas.
+    Iterator<ShadowAtlas> iterator = atlases.values().iterator();
+    while (unusedAtlasCount > MAX_UNUSED_ATLASES && iterator.hasNext()) {
+      ShadowAtlas atlas = iterator.next();
+      if (atlas.refCount == 0) {
+        iterator.remove();
+        unusedAtlasCount--;
+        atlas.bitmap.recycle();
+      }
+    }
+  }
+
+  /** Returns whether the shadow of the content rect can be drawn by stretching this atlas. */
+  boolean canDraw(RectF contentBounds) {
+    return contentBounds.width() >= this.contentBounds.width() - 1
+        && contentBounds.height() >= this.contentBounds.height() - 1;
+  }
+
+  /**
+   * Draws the shadow of the content rect, which must be at least as large as the content rect of
+   * this atlas without its center row and column.
+   */
+  void draw(Canvas canvas, RectF contentBounds, @Nullable Paint paint) {
+    int width = bitmap.getWidth();
+    int height = bitmap.getHeight();
+    float left = contentBounds.left - this.contentBounds.left;
+    float top = contentBounds.top - this.contentBounds.top;
+    float right = contentBounds.right + (width - this.contentBounds.right);
+    float bottom = contentBounds.bottom + (height - this.contentBounds.bottom);
+
+    // Top row, stretched middle row and bottom row.
+    drawRow(canvas, paint, 0, topInset, left, top, right, top + topInset);
+    drawRow(
+        canvas, paint, topInset, topInset + 1, left, top + topInset, right, bottom - bottomInset);
+    drawRow(canvas, paint, height - bottomInset, height, left, bottom - bottomInset, right, bottom);
+  }
+
+  private void drawRow(
+      Canvas canvas,
+      @Nullable Paint paint,
+      int srcTop,
+      int srcBottom,
+      float left,
+      float top,
+      float right,
+      float bottom) {
+    if (bottom <= top) {
+      return;
+    }
+    int width = bitmap.getWidth();
+    drawPatch(canvas, paint, 0, srcTop, leftInset, srcBottom, left, top, left + leftInset, bottom);
+    drawPatch(
+        canvas,
+        paint,
+        leftInset,
+        srcTop,
+        leftInset + 1,
+        srcBottom,
+        left + leftInset,
+        top,
+        right - rightInset,
+        bottom);
+    drawPatch(
+        canvas,
+        paint,
+        width - rightInset,
+        srcTop,
+        width,
+        srcBottom,
+        right - rightInset,
+        top,
+        right,
+        bottom);
+  }
+
+  private void drawPatch(
+      Canvas canvas,
+      @Nullable Paint paint,
+      int srcLeft,
+      int srcTop,
+      int srcRight,
+      int srcBottom,
+      float left,
+      float top,
+      float right,
+      float bottom) {
+    if (right <= left) {
+      return;
+    }
+    src.set(srcLeft, srcTop, srcRight, srcBottom);
+    dst.set(left, top, right, bottom);
+    canvas.drawBitmap(bitmap, src, dst, paint);
+  }
+
+  /** Identifies the shadows which look the same. */
+  static final class Key {
+    final float cornerRadius;
+    final float shadowSize;
+    final float rawShadowSize;
+    final int startColor;
+    final int middleColor;
+    final int endColor;
+
+    Key(
+        float cornerRadius,
+        float shadowSize,
+        float rawShadowSize,
+        int startColor,
+        int middleColor,
+        int endColor) {
+      this.cornerRadius = cornerRadius;
+      this.shadowSize = shadowSize;
+      this.rawShadowSize = rawShadowSize;
+      this.startColor = startColor;
+      this.middleColor = middleColor;
+      this.endColor = endColor;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+
+      Key that = (Key) o;
+
+      if (Float.compare(that.cornerRadius, cornerRadius) != 0) {
+        return false;
+      }
+      if (Float.compare(that.shadowSize, shadowSize) != 0) {
+        return false;
+      }
+      if (Float.compare(that.rawShadowSize, rawShadowSize) != 0) {
+        return false;
+      }
+      return startColor == that.startColor
+          && middleColor == that.middleColor
+          && endColor == that.endColor;
+    }
+
+    @Override
+    public int hashCode() {
+      int result = Float.floatToIntBits(cornerRadius);
+      result = 31 * result + Float.floatToIntBits(shadowSize);
+      result = 31 * result + Float.floatToIntBits(rawShadowSize);
+      result = 31 * result + startColor;
+      result = 31 * result + middleColor;
+      result = 31 * result + endColor;
+      return result;
+    }
+  }
+}
@@ -29,6 +29,7 @@ import android.graphics.Rect;
 import android.graphics.RectF;
 import android.graphics.Shader;
 import android.graphics.drawable.Drawable;
+import android.support.annotation.Nullable;
 import android.support.v4.content.ContextCompat;
 import android.support.v7.graphics.drawable.DrawableWrapper;
 
@@ -78,6 +79,32 @@ public class ShadowDrawableWrapper extends DrawableWrapper {
   /** If shadow size is set to a value above max shadow, we print a warning */
   private boolean printedShadowClipWarning = false;
 
+  /** Whether the shaders and path for {@link #drawShadowComponents} are up to date. */
+  private boolean shadowCornersBuilt;
+
+  /** The shared rendering of the shadow, if the current key has been drawn more than once. */
+  @Nullable private ShadowAtlas shadowAtlas;
+
+  @Nullable private ShadowAtlas.Key shadowAtlasKey;
+  private boolean shadowAtlasKeyDrawn;
+
+  private final Paint shadowAtlasPaint = new Paint(Paint.FILTER_BITMAP_FLAG);
+
+  private final ShadowAtlas.Renderer shadowAtlasRenderer =
+      new ShadowAtlas.Renderer() {
+        @Override
+        public void drawShadow(Canvas canvas, RectF contentBounds) {
+          int cornerAlpha = cornerShadowPaint.getAlpha();
+          int edgeAlpha = edgeShadowPaint.getAlpha();
+          cornerShadowPaint.setAlpha(255);
+          edgeShadowPaint.setAlpha(255);
+          ensureShadowCorners();
+          drawShadowComponents(canvas, contentBounds);
+          cornerShadowPaint.setAlpha(cornerAlpha);
+          edgeShadowPaint.setAlpha(edgeAlpha);
+        }
+      };
+
   public ShadowDrawableWrapper(
       Context context, Drawable content, float radius, float shadowSize, float maxShadowSize) {
     super(content);
@@ -111,6 +138,7 @@ public class ShadowDrawableWrapper extends DrawableWrapper {
     super.setAlpha(alpha);
     cornerShadowPaint.setAlpha(alpha);
     edgeShadowPaint.setAlpha(alpha);
+    shadowAtlasPaint.setAlpha(alpha);
   }
 
   @Override
@@ -214,10 +242,53 @@ public class ShadowDrawableWrapper extends DrawableWrapper {
     }
   }
 
+  /**
+   * Releases the shadow bitmap shared with the other wrappers. It is acquired again the next time
+   * this drawable is drawn.
+   */
+  public void releaseShadowAtlas() {
+    if (shadowAtlas != null) {
+      shadowAtlas.release();
+      shadowAtlas = null;
+    }
+  }
+
   private void drawShadow(Canvas canvas) {
     final int rotateSaved = canvas.save();
     canvas.rotate(rotation, contentBounds.centerX(), contentBounds.centerY());
 
+    updateShadowAtlas();
+    if (shadowAtlas != null && shadowAtlas.canDraw(contentBounds)) {
+      shadowAtlas.draw(canvas, contentBounds, shadowAtlasPaint);
+    } else {
+      ensureShadowCorners();
+      drawShadowComponents(canvas, contentBounds);
+    }
+
+    canvas.restoreToCount(rotateSaved);
+  }
+
+  /**
+   * Switches to the atlas of the current shadow once it has been drawn twice in a row, so that
+   * animating the shadow size doesn't render an atlas per frame.
+   */
+  private void updateShadowAtlas() {
+    if (shadowAtlas != null && shadowAtlas.key.equals(shadowAtlasKey)) {
+      return;
+    }
+    releaseShadowAtlas();
+    if (shadowAtlasKeyDrawn) {
+      shadowAtlas = ShadowAtlas.acquire(shadowAtlasKey, shadowAtlasRenderer);
+      // The atlas now holds the shaders' output.
+      cornerShadowPaint.setShader(null);
+      edgeShadowPaint.setShader(null);
+      cornerShadowPath = null;
+      shadowCornersBuilt = false;
+    }
+    shadowAtlasKeyDrawn = true;
+  }
+
+  private void drawShadowComponents(Canvas canvas, RectF contentBounds) {
     final float edgeShadowTop = -cornerRadius - shadowSize;
     final float shadowOffset = cornerRadius;
     final boolean drawHorizontalEdges = contentBounds.width() - 2 * shadowOffset > 0;
@@ -298,8 +369,13 @@ public class ShadowDrawableWrapper extends DrawableWrapper {
           edgeShadowPaint);
     }
     canvas.restoreToCount(saved);
+  }
 
-    canvas.restoreToCount(rotateSaved);
+  private void ensureShadowCorners() {
+    if (!shadowCornersBuilt) {
+      buildShadowCorners();
+      shadowCornersBuilt = true;
+    }
   }
 
   private void buildShadowCorners() {
@@ -368,7 +444,20 @@ public class ShadowDrawableWrapper extends DrawableWrapper {
             (int) contentBounds.right,
             (int) contentBounds.bottom);
 
-    buildShadowCorners();
+    // The shaders are only built if the shadow can't be drawn from an atlas.
+    shadowCornersBuilt = false;
+    ShadowAtlas.Key key =
+        new ShadowAtlas.Key(
+            cornerRadius,
+            shadowSize,
+            rawShadowSize,
+            shadowStartColor,
+            shadowMiddleColor,
+            shadowEndColor);
+    if (!key.equals(shadowAtlasKey)) {
+      shadowAtlasKey = key;
+      shadowAtlasKeyDrawn = false;
+    }
   }
 
   public float getCornerRadius() {
@@ -45,4 +45,23 @@ public class CutCornerTreatment extends CornerTreatment {
         (float) (Math.sin(angle) * size * interpolation),
         (float) (Math.cos(angle) * size * interpolation));
   }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+
+    CutCornerTreatment that = (CutCornerTreatment) o;
+
+    return Float.compare(that.size, size) == 0;
+  }
+
+  @Override
+  public int hashCode() {
+    return Float.floatToIntBits(size);
+  }
 }
@@ -17,6 +17,8 @@
 package com.google.android.material.shape;
 
 import android.content.res.ColorStateList;
+import android.graphics.Bitmap;
+import android.graphics.BlurMaskFilter;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.ColorFilter;
@@ -33,10 +35,14 @@ import android.graphics.Region;
 import android.graphics.Region.Op;
 import android.graphics.drawable.Drawable;
 import android.support.annotation.ColorInt;
+import android.support.annotation.IntDef;
 import android.support.annotation.IntRange;
 import android.support.annotation.Nullable;
+import android.support.annotation.VisibleForTesting;
 import com.google.android.material.internal.Experimental;
 import android.support.v4.graphics.drawable.TintAwareDrawable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
 
 /**
  * Base drawable class for Material Shapes that handles shadows, elevation, scale and color for a
@@ -45,7 +51,23 @@ import android.support.v4.graphics.drawable.TintAwareDrawable;
 @Experimental("The shapes API is currently experimental and subject to change")
 public class MaterialShapeDrawable extends Drawable implements TintAwareDrawable {
 
+  /** Shadows are drawn with {@link Paint#setShadowLayer} every time the drawable is drawn. */
+  public static final int SHADOW_MODE_LAYER = 0;
+
+  /**
+   * Shadows are blurred once into a cached bitmap which is then blitted on every draw. The bitmap
+   * is only re-rendered when the shape, its size, the shadow elevation or the shadow radius change,
+   * which avoids the per-frame blur and keeps drawing hardware accelerated.
+   */
+  public static final int SHADOW_MODE_CACHED_BITMAP = 1;
+
+  /** Determines how shadows are rendered when they are enabled. */
+  @IntDef({SHADOW_MODE_LAYER, SHADOW_MODE_CACHED_BITMAP})
+  @Retention(RetentionPolicy.SOURCE)
+  public @interface ShadowMode {}
+
   private final Paint paint = new Paint();
+  private final Paint shadowPaint = new Paint(Paint.FILTER_BITMAP_FLAG);
   // Inter-method state.
   private final Matrix[] cornerTransforms = new Matrix[4];
   private final Matrix[] edgeTransforms = new Matrix[4];
@@ -59,6 +81,24 @@ public class MaterialShapeDrawable extends Drawable implements TintAwareDrawable
   private final Region scratchRegion = new Region();
   private final float[] scratch = new float[2];
   private final float[] scratch2 = new float[2];
+  // Cached path geometry. The path is only regenerated when the size, interpolation, scale or
+  // treatments differ from the ones it was last built with, or after invalidatePath().
+  private final Object[] cachedTreatments = new Object[8];
+  private boolean pathDirty = true;
+  private int cachedPathWidth;
+  private int cachedPathHeight;
+  private float cachedPathInterpolation;
+  private float cachedPathScale;
+  private Path currentPath = path;
+  // Cached shadow, used in SHADOW_MODE_CACHED_BITMAP.
+  @ShadowMode private int shadowMode = SHADOW_MODE_LAYER;
+  @Nullable private Bitmap shadowBitmap;
+  private final Canvas shadowCanvas = new Canvas();
+  private final Paint shadowBlurPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+  private int shadowBlurRadius;
+  private boolean shadowBitmapDirty = true;
+  private int cachedShadowRadius;
+  @VisibleForTesting int shadowBitmapRenderCount;
   @Nullable private ShapePathModel shapedViewModel = null;
   private boolean shadowEnabled = false;
   private boolean useTintColorForShadow = false;
@@ -117,6 +157,16 @@ public class MaterialShapeDrawable extends Drawable implements TintAwareDrawable
    */
   public void setShapedViewModel(ShapePathModel shapedViewModel) {
     this.shapedViewModel = shapedViewModel;
+    invalidatePath();
+  }
+
+  /**
+   * Marks the cached path as stale so that it is regenerated the next time it is needed. Call this
+   * after mutating the state of a {@link CornerTreatment} or {@link EdgeTreatment} in place, since
+   * such changes cannot be detected by this drawable.
+   */
+  public void invalidatePath() {
+    pathDirty = true;
     invalidateSelf();
   }
 
@@ -171,8 +221,7 @@ public class MaterialShapeDrawable extends Drawable implements TintAwareDrawable
   public Region getTransparentRegion() {
     Rect bounds = getBounds();
     transparentRegion.set(bounds);
-    getPath(bounds.width(), bounds.height(), path);
-    scratchRegion.setPath(path, transparentRegion);
+    scratchRegion.setPath(getCachedPath(bounds.width(), bounds.height()), transparentRegion);
     transparentRegion.op(scratchRegion, Op.DIFFERENCE);
     return transparentRegion;
   }
@@ -269,6 +318,34 @@ public class MaterialShapeDrawable extends Drawable implements TintAwareDrawable
     invalidateSelf();
   }
 
+  /**
+   * Get the mode used to render shadows.
+   *
+   * @return the shadow mode, one of {@link #SHADOW_MODE_LAYER} or {@link
+   *     #SHADOW_MODE_CACHED_BITMAP}.
+   */
+  @ShadowMode
+  public int getShadowMode() {
+    return shadowMode;
+  }
+
+  /**
+   * Set the mode used to render shadows. {@link #SHADOW_MODE_CACHED_BITMAP} is best suited for
+   * shapes that are mostly static, since every change to the shape re-renders the cached shadow.
+   *
+   * @param shadowMode the desired shadow mode.
+   */
+  public void setShadowMode(@ShadowMode int shadowMode) {
+    if (this.shadowMode != shadowMode) {
+      this.shadowMode = shadowMode;
+      if (shadowMode == SHADOW_MODE_LAYER) {
+        shadowBitmap = null;
+      }
+      shadowBitmapDirty = true;
+      invalidateSelf();
+    }
+  }
+
   /**
    * Get the scale of the rendered path. A value of 1 renders it at 100% size.
    *
@@ -354,12 +431,20 @@ public class MaterialShapeDrawable extends Drawable implements TintAwareDrawable
     paint.setAlpha(modulateAlpha(prevAlpha, alpha));
     paint.setStrokeWidth(strokeWidth);
     paint.setStyle(paintStyle);
+    boolean drawCachedShadow = shadowMode == SHADOW_MODE_CACHED_BITMAP && shapedViewModel != null;
     if (shadowElevation > 0 && shadowEnabled) {
-      paint.setShadowLayer(shadowRadius, 0, shadowElevation, shadowColor);
+      if (drawCachedShadow) {
+        paint.clearShadowLayer();
+      } else {
+        paint.setShadowLayer(shadowRadius, 0, shadowElevation, shadowColor);
+      }
     }
     if (shapedViewModel != null) {
-      getPath(canvas.getWidth(), canvas.getHeight(), path);
-      canvas.drawPath(path, paint);
+      Path shapePath = getCachedPath(canvas.getWidth(), canvas.getHeight());
+      if (drawCachedShadow && shadowElevation > 0 && shadowEnabled) {
+        drawCachedShadow(canvas, shapePath);
+      }
+      canvas.drawPath(shapePath, paint);
     } else {
       canvas.drawRect(0, 0, canvas.getWidth(), canvas.getHeight(), paint);
     }
@@ -541,6 +626,10 @@ public class MaterialShapeDrawable extends Drawable implements TintAwareDrawable
 
   private void getPath(int width, int height, Path path) {
     getPathForSize(width, height, path);
+    scalePath(width, height, path);
+  }
+
+  private void scalePath(int width, int height, Path path) {
     if (scale == 1f) {
       return;
     }
@@ -549,6 +638,125 @@ public class MaterialShapeDrawable extends Drawable implements TintAwareDrawable
     path.transform(matrix);
   }
 
+  /**
+   * Returns the path for the current model at the given size, regenerating it only if any of its
+   * inputs changed since it was last built.
+   */
+  private Path getCachedPath(int width, int height) {
+    if (pathDirty
+        || width != cachedPathWidth
+        || height != cachedPathHeight
+        || interpolation != cachedPathInterpolation
+        || scale != cachedPathScale
+        || !treatmentsMatchCache()) {
+      currentPath = buildPath(width, height);
+      cachedPathWidth = width;
+      cachedPathHeight = height;
+      cachedPathInterpolation = interpolation;
+      cachedPathScale = scale;
+      cacheTreatments();
+      pathDirty = false;
+      shadowBitmapDirty = true;
+    }
+    return currentPath;
+  }
+
+  /**
+   * Draws the shadow of the given path from the cached bitmap, re-rendering the bitmap only if the
+   * path or the shadow radius changed since it was last rendered. The elevation and color are
+   * applied when blitting, so they never require a re-render.
+   */
+  private void drawCachedShadow(Canvas canvas, Path shapePath) {
+    int width = canvas.getWidth() + shadowRadius * 2;
+    int height = canvas.getHeight() + shadowRadius * 2;
+    if (width <= 0 || height <= 0) {
+      return;
+    }
+    if (shadowBitmapDirty || shadowRadius != cachedShadowRadius || shadowBitmap == null) {
+      renderShadowBitmap(shapePath, width, height);
+    }
+    shadowPaint.setColor(shadowColor);
+    shadowPaint.setAlpha(modulateAlpha(Color.alpha(shadowColor), alpha));
+    canvas.drawBitmap(shadowBitmap, -shadowRadius, shadowElevation - shadowRadius, shadowPaint);
+  }
+
+  private void renderShadowBitmap(Path shapePath, int width, int height) {
+    if (shadowBitmap == null
+        || shadowBitmap.getWidth() != width
+        || shadowBitmap.getHeight() != height) {
+      shadowBitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ALPHA_8);
+    } else {
+      shadowBitmap.eraseColor(Color.TRANSPARENT);
+    }
+
+    if (shadowRadius != shadowBlurRadius) {
+      // Interpolation animations re-render every frame, only the radius needs a new mask filter
+      shadowBlurPaint.setMaskFilter(
+          shadowRadius > 0 ? new BlurMaskFilter(shadowRadius, BlurMaskFilter.Blur.NORMAL) : null);
+      shadowBlurRadius = shadowRadius;
+    }
+    shadowCanvas.setBitmap(shadowBitmap);
+    int count = shadowCanvas.save();
+    shadowCanvas.translate(shadowRadius, shadowRadius);
+    shadowCanvas.drawPath(shapePath, shadowBlurPaint);
+    shadowCanvas.restoreToCount(count);
+
+    cachedShadowRadius = shadowRadius;
+    shadowBitmapDirty = false;
+    shadowBitmapRenderCount++;
+  }
+
+  /**
+   * Generates the path for the current model. Paths of immutable models are shared with other
+   * drawables through {@link ShapePathCache} and are only copied when they need to be scaled.
+   * Intermediate interpolations are transient animation frames, so they are never shared.
+   */
+  private Path buildPath(int width, int height) {
+    if (shapedViewModel == null
+        || !shapedViewModel.isImmutable()
+        || (interpolation != 0f && interpolation != 1f)) {
+      getPath(width, height, path);
+      return path;
+    }
+    ShapePathCache cache = ShapePathCache.getInstance();
+    Path sharedPath = cache.get(shapedViewModel, width, height, interpolation);
+    if (sharedPath == null) {
+      sharedPath = new Path();
+      getPathForSize(width, height, sharedPath);
+      cache.put(shapedViewModel, width, height, interpolation, sharedPath);
+    }
+    if (scale == 1f) {
+      return sharedPath;
+    }
+    path.set(sharedPath);
+    scalePath(width, height, path);
+    return path;
+  }
+
+  private boolean treatmentsMatchCache() {
+    if (shapedViewModel == null) {
+      // The path is empty without a model; setShapedViewModel() invalidates it on change.
+      return true;
+    }
+    for (int index = 0; index < 4; index++) {
+      if (cachedTreatments[index] != getCornerTreatmentForIndex(index)
+          || cachedTreatments[index + 4] != getEdgeTreatmentForIndex(index)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void cacheTreatments() {
+    if (shapedViewModel == null) {
+      return;
+    }
+    for (int index = 0; index < 4; index++) {
+      cachedTreatments[index] = getCornerTreatmentForIndex(index);
+      cachedTreatments[index + 4] = getEdgeTreatmentForIndex(index);
+    }
+  }
+
   private void updateTintFilter() {
     if (tintList == null || tintMode == null) {
       tintFilter = null;
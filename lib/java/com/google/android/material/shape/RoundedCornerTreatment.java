@@ -39,4 +39,23 @@ public class RoundedCornerTreatment extends CornerTreatment {
     shapePath.reset(0, radius * interpolation);
     shapePath.addArc(0, 0, 2 * radius * interpolation, 2 * radius * interpolation, angle + 180, 90);
   }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+
+    RoundedCornerTreatment that = (RoundedCornerTreatment) o;
+
+    return Float.compare(that.radius, radius) == 0;
+  }
+
+  @Override
+  public int hashCode() {
+    return Float.floatToIntBits(radius);
+  }
 }
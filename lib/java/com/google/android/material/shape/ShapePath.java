@@ -20,22 +20,43 @@ import android.graphics.Matrix;
 import android.graphics.Path;
 import android.graphics.RectF;
 import com.google.android.material.internal.Experimental;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
 /**
  * Represents the descriptive path of a shape. Path segments are stored in sequence so that
  * transformations can be applied to them when the {@link android.graphics.Path} is produced by the
  * {@link MaterialShapeDrawable}.
+ *
+ * <p>Segments are recorded as opcodes with their arguments packed into a float array. Both buffers
+ * are retained across calls to {@link #reset(float, float)}, so a ShapePath which is regenerated
+ * every frame does not allocate once its buffers have grown to fit the shape.
  */
 @Experimental("The shapes API is currently experimental and subject to change")
 public class ShapePath {
+  private static final int OP_LINE = 0;
+  private static final int OP_QUAD = 1;
+  private static final int OP_ARC = 2;
+
+  private static final int LINE_ARG_COUNT = 2;
+  private static final int QUAD_ARG_COUNT = 4;
+  private static final int ARC_ARG_COUNT = 6;
+
+  private static final int INITIAL_OPERATION_CAPACITY = 8;
+
   public float startX;
   public float startY;
   public float endX;
   public float endY;
 
-  private final List<PathOperation> operations = new ArrayList<>();
+  private int[] operations = new int[INITIAL_OPERATION_CAPACITY];
+  private float[] arguments = new float[INITIAL_OPERATION_CAPACITY * ARC_ARG_COUNT];
+  private int operationCount;
+  private int argumentCount;
+
+  // Pre-allocated objects that are re-used every time the operations are applied to a path.
+  private final Matrix inverse = new Matrix();
+  private final RectF rectF = new RectF();
+  private final float[] points = new float[QUAD_ARG_COUNT];
 
   public ShapePath() {
     reset(0, 0);
@@ -50,7 +71,8 @@ public class ShapePath {
     this.startY = startY;
     this.endX = startX;
     this.endY = startY;
-    this.operations.clear();
+    this.operationCount = 0;
+    this.argumentCount = 0;
   }
 
   /**
@@ -60,10 +82,9 @@ public class ShapePath {
    * @param y the y to which the line should be drawn.
    */
   public void lineTo(float x, float y) {
-    PathLineOperation operation = new PathLineOperation();
-    operation.x = x;
-    operation.y = y;
-    operations.add(operation);
+    int index = addOperation(OP_LINE, LINE_ARG_COUNT);
+    arguments[index] = x;
+    arguments[index + 1] = y;
 
     endX = x;
     endY = y;
@@ -78,12 +99,11 @@ public class ShapePath {
    * @param toY the end y of the arc.
    */
   public void quadToPoint(float controlX, float controlY, float toX, float toY) {
-    PathQuadOperation operation = new PathQuadOperation();
-    operation.controlX = controlX;
-    operation.controlY = controlY;
-    operation.endX = toX;
-    operation.endY = toY;
-    operations.add(operation);
+    int index = addOperation(OP_QUAD, QUAD_ARG_COUNT);
+    arguments[index] = controlX;
+    arguments[index + 1] = controlY;
+    arguments[index + 2] = toX;
+    arguments[index + 3] = toY;
 
     endX = toX;
     endY = toY;
@@ -101,10 +121,13 @@ public class ShapePath {
    */
   public void addArc(float left, float top, float right, float bottom, float startAngle,
       float sweepAngle) {
-    PathArcOperation operation = new PathArcOperation(left, top, right, bottom);
-    operation.startAngle = startAngle;
-    operation.sweepAngle = sweepAngle;
-    operations.add(operation);
+    int index = addOperation(OP_ARC, ARC_ARG_COUNT);
+    arguments[index] = left;
+    arguments[index + 1] = top;
+    arguments[index + 2] = right;
+    arguments[index + 3] = bottom;
+    arguments[index + 4] = startAngle;
+    arguments[index + 5] = sweepAngle;
 
     endX = (left + right) * 0.5f
         + (right - left) / 2 * (float) Math.cos(Math.toRadians(startAngle + sweepAngle));
@@ -119,77 +142,50 @@ public class ShapePath {
    * @param path the path to which this ShapePath is applied
    */
   public void applyToPath(Matrix transform, Path path) {
-    for (int i = 0, size = operations.size(); i < size; i++) {
-      PathOperation operation = operations.get(i);
-      operation.applyToPath(transform, path);
+    int index = 0;
+    for (int i = 0; i < operationCount; i++) {
+      switch (operations[i]) {
+        case OP_LINE:
+          // Lines and quads are affine invariant, so their points can be mapped directly.
+          transform.mapPoints(points, 0, arguments, index, 1);
+          path.lineTo(points[0], points[1]);
+          index += LINE_ARG_COUNT;
+          break;
+        case OP_QUAD:
+          transform.mapPoints(points, 0, arguments, index, 2);
+          path.quadTo(points[0], points[1], points[2], points[3]);
+          index += QUAD_ARG_COUNT;
+          break;
+        case OP_ARC:
+          // The arc's oval may be rotated by the transform, so it is appended in local space.
+          transform.invert(inverse);
+          path.transform(inverse);
+          rectF.set(arguments[index], arguments[index + 1], arguments[index + 2],
+              arguments[index + 3]);
+          path.arcTo(rectF, arguments[index + 4], arguments[index + 5], false);
+          path.transform(transform);
+          index += ARC_ARG_COUNT;
+          break;
+        default:
+          throw new IllegalStateException("Unknown path operation: " + operations[i]);
+      }
     }
   }
 
-  /** Interface for a path operation to be appended to the operations list. */
-  public abstract static class PathOperation {
-    protected final Matrix matrix = new Matrix();
-
-    public abstract void applyToPath(Matrix transform, Path path);
-  }
-
-  /** Straight line operation. */
-  public static class PathLineOperation extends PathOperation {
-    private float x;
-    private float y;
-
-    @Override
-    public void applyToPath(Matrix transform, Path path) {
-      Matrix inverse = matrix;
-      transform.invert(inverse);
-      path.transform(inverse);
-      path.lineTo(x, y);
-      path.transform(transform);
-    }
-  }
-
-  /** Path quad operation. */
-  public static class PathQuadOperation extends PathOperation {
-    public float controlX;
-    public float controlY;
-    public float endX;
-    public float endY;
-
-    @Override
-    public void applyToPath(Matrix transform, Path path) {
-      Matrix inverse = matrix;
-      transform.invert(inverse);
-      path.transform(inverse);
-      path.quadTo(controlX, controlY, endX, endY);
-      path.transform(transform);
-    }
-  }
-
-  /** Path arc operation. */
-  public static class PathArcOperation extends PathOperation {
-    private static final RectF rectF = new RectF();
-
-    public float left;
-    public float top;
-    public float right;
-    public float bottom;
-    public float startAngle;
-    public float sweepAngle;
-
-    public PathArcOperation(float left, float top, float right, float bottom) {
-      this.left = left;
-      this.top = top;
-      this.right = right;
-      this.bottom = bottom;
+  /**
+   * Records an operation, growing the buffers if needed, and returns the index at which its
+   * arguments should be written.
+   */
+  private int addOperation(int operation, int argumentsNeeded) {
+    if (operationCount == operations.length) {
+      operations = Arrays.copyOf(operations, operationCount * 2);
     }
-
-    @Override
-    public void applyToPath(Matrix transform, Path path) {
-      Matrix inverse = matrix;
-      transform.invert(inverse);
-      path.transform(inverse);
-      rectF.set(left, top, right, bottom);
-      path.arcTo(rectF, startAngle, sweepAngle, false);
-      path.transform(transform);
+    if (argumentCount + argumentsNeeded > arguments.length) {
+      arguments = Arrays.copyOf(arguments, (argumentCount + argumentsNeeded) * 2);
     }
+    operations[operationCount++] = operation;
+    int index = argumentCount;
+    argumentCount += argumentsNeeded;
+    return index;
   }
 }
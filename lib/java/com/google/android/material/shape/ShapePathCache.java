@@ -0,0 +1,103 @@
+/*
+ * Copyright 2018 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.android.material.shape;
+
+import android.graphics.Path;
+import android.support.annotation.Nullable;
+import android.support.v4.util.LruCache;
+
+/**
+ * Process-wide LRU cache of generated paths for immutable {@link ShapePathModel} instances, keyed by
+ * model, size and interpolation. Paths returned by this cache are shared between drawables and
+ * must not be modified.
+ */
+final class ShapePathCache {
+
+  private static final int MAX_SIZE = 64;
+
+  private static final ShapePathCache INSTANCE = new ShapePathCache();
+
+  private final LruCache<Key, Path> paths = new LruCache<>(MAX_SIZE);
+  // Pre-allocated key used for lookups so that cache hits do not allocate.
+  private final Key lookupKey = new Key();
+
+  static ShapePathCache getInstance() {
+    return INSTANCE;
+  }
+
+  private ShapePathCache() {}
+
+  /** Returns the shared path for the given parameters, or null if it has not been cached. */
+  @Nullable
+  synchronized Path get(ShapePathModel model, int width, int height, float interpolation) {
+    lookupKey.set(model, width, height, interpolation);
+    Path path = paths.get(lookupKey);
+    lookupKey.set(null, 0, 0, 0f);
+    return path;
+  }
+
+  /** Caches a generated path, which must not be modified afterwards, for the given parameters. */
+  synchronized void put(
+      ShapePathModel model, int width, int height, float interpolation, Path path) {
+    if (!model.isImmutable()) {
+      throw new IllegalArgumentException("Only immutable models can be cached");
+    }
+    Key key = new Key();
+    key.set(model, width, height, interpolation);
+    paths.put(key, path);
+  }
+
+  private static final class Key {
+    private ShapePathModel model;
+    private int width;
+    private int height;
+    private float interpolation;
+
+    void set(ShapePathModel model, int width, int height, float interpolation) {
+      this.model = model;
+      this.width = width;
+      this.height = height;
+      this.interpolation = interpolation;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+
+      Key that = (Key) o;
+
+      return width == that.width
+          && height == that.height
+          && Float.compare(that.interpolation, interpolation) == 0
+          && model.equals(that.model);
+    }
+
+    @Override
+    public int hashCode() {
+      int result = model.hashCode();
+      result = 31 * result + width;
+      result = 31 * result + height;
+      result = 31 * result + Float.floatToIntBits(interpolation);
+      return result;
+    }
+  }
+}
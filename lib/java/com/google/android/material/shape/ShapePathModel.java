@@ -21,6 +21,12 @@ import com.google.android.material.internal.Experimental;
 /**
  * This class models the edges and corners of a shape, which are used by {@link
  * MaterialShapeDrawable} to generate and render the shape for a view's background.
+ *
+ * <p>Models created through {@link Builder} are immutable and compare by value. Models created
+ * through the constructor can be modified, so they compare by identity and stay usable as keys in
+ * hash based collections when they are modified later. Drawables showing equal immutable models at
+ * the same size share a single generated path through {@link ShapePathCache}, so immutable models
+ * should only be built from treatments which are themselves immutable.
  */
 @Experimental("The shapes API is currently experimental and subject to change")
 public class ShapePathModel {
@@ -35,9 +41,11 @@ public class ShapePathModel {
   private EdgeTreatment rightEdge;
   private EdgeTreatment bottomEdge;
   private EdgeTreatment leftEdge;
+  private final boolean immutable;
 
   /** Construct a default path generator with default edge and corner treatments. */
   public ShapePathModel() {
+    immutable = false;
     topLeftCorner = DEFAULT_CORNER_TREATMENT;
     topRightCorner = DEFAULT_CORNER_TREATMENT;
     bottomRightCorner = DEFAULT_CORNER_TREATMENT;
@@ -48,12 +56,32 @@ public class ShapePathModel {
     leftEdge = DEFAULT_EDGE_TREATMENT;
   }
 
+  private ShapePathModel(Builder builder) {
+    immutable = true;
+    topLeftCorner = builder.topLeftCorner;
+    topRightCorner = builder.topRightCorner;
+    bottomRightCorner = builder.bottomRightCorner;
+    bottomLeftCorner = builder.bottomLeftCorner;
+    topEdge = builder.topEdge;
+    rightEdge = builder.rightEdge;
+    bottomEdge = builder.bottomEdge;
+    leftEdge = builder.leftEdge;
+  }
+
+  /**
+   * Returns whether this model was created by a {@link Builder} and can therefore not be modified.
+   */
+  public boolean isImmutable() {
+    return immutable;
+  }
+
   /**
    * Set all corner treatments.
    *
    * @param cornerTreatment the corner treatment to use in all four corners.
    */
   public void setAllCorners(CornerTreatment cornerTreatment) {
+    checkMutable();
     topLeftCorner = cornerTreatment;
     topRightCorner = cornerTreatment;
     bottomRightCorner = cornerTreatment;
@@ -66,6 +94,7 @@ public class ShapePathModel {
    * @param edgeTreatment the edge treatment to use for all four edges.
    */
   public void setAllEdges(EdgeTreatment edgeTreatment) {
+    checkMutable();
     leftEdge = edgeTreatment;
     topEdge = edgeTreatment;
     rightEdge = edgeTreatment;
@@ -85,6 +114,7 @@ public class ShapePathModel {
       CornerTreatment topRightCorner,
       CornerTreatment bottomRightCorner,
       CornerTreatment bottomLeftCorner) {
+    checkMutable();
     this.topLeftCorner = topLeftCorner;
     this.topRightCorner = topRightCorner;
     this.bottomRightCorner = bottomRightCorner;
@@ -104,6 +134,7 @@ public class ShapePathModel {
       EdgeTreatment topEdge,
       EdgeTreatment rightEdge,
       EdgeTreatment bottomEdge) {
+    checkMutable();
     this.leftEdge = leftEdge;
     this.topEdge = topEdge;
     this.rightEdge = rightEdge;
@@ -125,6 +156,7 @@ public class ShapePathModel {
    * @param topLeftCorner the desired treatment.
    */
   public void setTopLeftCorner(CornerTreatment topLeftCorner) {
+    checkMutable();
     this.topLeftCorner = topLeftCorner;
   }
 
@@ -143,6 +175,7 @@ public class ShapePathModel {
    * @param topRightCorner the desired treatment.
    */
   public void setTopRightCorner(CornerTreatment topRightCorner) {
+    checkMutable();
     this.topRightCorner = topRightCorner;
   }
 
@@ -161,6 +194,7 @@ public class ShapePathModel {
    * @param bottomRightCorner the desired treatment.
    */
   public void setBottomRightCorner(CornerTreatment bottomRightCorner) {
+    checkMutable();
     this.bottomRightCorner = bottomRightCorner;
   }
 
@@ -179,6 +213,7 @@ public class ShapePathModel {
    * @param bottomLeftCorner the desired treatment.
    */
   public void setBottomLeftCorner(CornerTreatment bottomLeftCorner) {
+    checkMutable();
     this.bottomLeftCorner = bottomLeftCorner;
   }
 
@@ -197,6 +232,7 @@ public class ShapePathModel {
    * @param topEdge the desired treatment.
    */
   public void setTopEdge(EdgeTreatment topEdge) {
+    checkMutable();
     this.topEdge = topEdge;
   }
 
@@ -215,6 +251,7 @@ public class ShapePathModel {
    * @param rightEdge the desired treatment.
    */
   public void setRightEdge(EdgeTreatment rightEdge) {
+    checkMutable();
     this.rightEdge = rightEdge;
   }
 
@@ -233,6 +270,7 @@ public class ShapePathModel {
    * @param bottomEdge the desired treatment.
    */
   public void setBottomEdge(EdgeTreatment bottomEdge) {
+    checkMutable();
     this.bottomEdge = bottomEdge;
   }
 
@@ -251,6 +289,156 @@ public class ShapePathModel {
    * @param leftEdge the desired treatment.
    */
   public void setLeftEdge(EdgeTreatment leftEdge) {
+    checkMutable();
     this.leftEdge = leftEdge;
   }
+
+  private void checkMutable() {
+    if (immutable) {
+      throw new UnsupportedOperationException("This ShapePathModel was built immutable");
+    }
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+
+    ShapePathModel that = (ShapePathModel) o;
+
+    if (!immutable || !that.immutable) {
+      // Mutable models are only equal to themselves.
+      return false;
+    }
+    return topLeftCorner.equals(that.topLeftCorner)
+        && topRightCorner.equals(that.topRightCorner)
+        && bottomRightCorner.equals(that.bottomRightCorner)
+        && bottomLeftCorner.equals(that.bottomLeftCorner)
+        && topEdge.equals(that.topEdge)
+        && rightEdge.equals(that.rightEdge)
+        && bottomEdge.equals(that.bottomEdge)
+        && leftEdge.equals(that.leftEdge);
+  }
+
+  @Override
+  public int hashCode() {
+    if (!immutable) {
+      return System.identityHashCode(this);
+    }
+    int result = topLeftCorner.hashCode();
+    result = 31 * result + topRightCorner.hashCode();
+    result = 31 * result + bottomRightCorner.hashCode();
+    result = 31 * result + bottomLeftCorner.hashCode();
+    result = 31 * result + topEdge.hashCode();
+    result = 31 * result + rightEdge.hashCode();
+    result = 31 * result + bottomEdge.hashCode();
+    result = 31 * result + leftEdge.hashCode();
+    return result;
+  }
+
+  /** Builder for immutable {@link ShapePathModel} instances. */
+  public static final class Builder {
+    private CornerTreatment topLeftCorner = DEFAULT_CORNER_TREATMENT;
+    private CornerTreatment topRightCorner = DEFAULT_CORNER_TREATMENT;
+    private CornerTreatment bottomRightCorner = DEFAULT_CORNER_TREATMENT;
+    private CornerTreatment bottomLeftCorner = DEFAULT_CORNER_TREATMENT;
+    private EdgeTreatment topEdge = DEFAULT_EDGE_TREATMENT;
+    private EdgeTreatment rightEdge = DEFAULT_EDGE_TREATMENT;
+    private EdgeTreatment bottomEdge = DEFAULT_EDGE_TREATMENT;
+    private EdgeTreatment leftEdge = DEFAULT_EDGE_TREATMENT;
+
+    /** Creates a builder with default edge and corner treatments. */
+    public Builder() {}
+
+    /**
+     * Creates a builder initialized with the treatments of an existing model.
+     *
+     * @param model the model to copy the treatments from.
+     */
+    public Builder(ShapePathModel model) {
+      topLeftCorner = model.topLeftCorner;
+      topRightCorner = model.topRightCorner;
+      bottomRightCorner = model.bottomRightCorner;
+      bottomLeftCorner = model.bottomLeftCorner;
+      topEdge = model.topEdge;
+      rightEdge = model.rightEdge;
+      bottomEdge = model.bottomEdge;
+      leftEdge = model.leftEdge;
+    }
+
+    /** Sets the corner treatment to use in all four corners. */
+    public Builder setAllCorners(CornerTreatment cornerTreatment) {
+      topLeftCorner = cornerTreatment;
+      topRightCorner = cornerTreatment;
+      bottomRightCorner = cornerTreatment;
+      bottomLeftCorner = cornerTreatment;
+      return this;
+    }
+
+    /** Sets the edge treatment to use for all four edges. */
+    public Builder setAllEdges(EdgeTreatment edgeTreatment) {
+      topEdge = edgeTreatment;
+      rightEdge = edgeTreatment;
+      bottomEdge = edgeTreatment;
+      leftEdge = edgeTreatment;
+      return this;
+    }
+
+    /** Sets the corner treatment for the top-left corner. */
+    public Builder setTopLeftCorner(CornerTreatment topLeftCorner) {
+      this.topLeftCorner = topLeftCorner;
+      return this;
+    }
+
+    /** Sets the corner treatment for the top-right corner. */
+    public Builder setTopRightCorner(CornerTreatment topRightCorner) {
+      this.topRightCorner = topRightCorner;
+      return this;
+    }
+
+    /** Sets the corner treatment for the bottom-right corner. */
+    public Builder setBottomRightCorner(CornerTreatment bottomRightCorner) {
+      this.bottomRightCorner = bottomRightCorner;
+      return this;
+    }
+
+    /** Sets the corner treatment for the bottom-left corner. */
+    public Builder setBottomLeftCorner(CornerTreatment bottomLeftCorner) {
+      this.bottomLeftCorner = bottomLeftCorner;
+      return this;
+    }
+
+    /** Sets the edge treatment for the top edge. */
+    public Builder setTopEdge(EdgeTreatment topEdge) {
+      this.topEdge = topEdge;
+      return this;
+    }
+
+    /** Sets the edge treatment for the right edge. */
+    public Builder setRightEdge(EdgeTreatment rightEdge) {
+      this.rightEdge = rightEdge;
+      return this;
+    }
+
+    /** Sets the edge treatment for the bottom edge. */
+    public Builder setBottomEdge(EdgeTreatment bottomEdge) {
+      this.bottomEdge = bottomEdge;
+      return this;
+    }
+
+    /** Sets the edge treatment for the left edge. */
+    public Builder setLeftEdge(EdgeTreatment leftEdge) {
+      this.leftEdge = leftEdge;
+      return this;
+    }
+
+    /** Returns a new immutable {@link ShapePathModel} with the treatments of this builder. */
+    public ShapePathModel build() {
+      return new ShapePathModel(this);
+    }
+  }
 }
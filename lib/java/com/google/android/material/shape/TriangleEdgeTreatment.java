@@ -49,4 +49,28 @@ public class TriangleEdgeTreatment extends EdgeTreatment {
     shapePath.lineTo(length / 2 + (size * interpolation), 0);
     shapePath.lineTo(length, 0);
   }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+
+    TriangleEdgeTreatment that = (TriangleEdgeTreatment) o;
+
+    if (Float.compare(that.size, size) != 0) {
+      return false;
+    }
+    return inside == that.inside;
+  }
+
+  @Override
+  public int hashCode() {
+    int result = Float.floatToIntBits(size);
+    result = 31 * result + (inside ? 1 : 0);
+    return result;
+  }
 }
@@ -36,6 +36,7 @@ import android.support.annotation.IntDef;
 import android.support.annotation.IntRange;
 import android.support.annotation.LayoutRes;
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 import android.support.annotation.RestrictTo;
 import com.google.android.material.behavior.SwipeDismissBehavior;
 import com.google.android.material.internal.ThemeEnforcement;
@@ -156,6 +157,36 @@ public abstract class BaseTransientBottomBar<B extends BaseTransientBottomBar<B>
    */
   public static final int LENGTH_LONG = 0;
 
+  /** @hide */
+  @RestrictTo(LIBRARY_GROUP)
+  @IntDef(
+      flag = true,
+      value = {QUEUE_COALESCE_NONE, QUEUE_COALESCE_DEDUPLICATE, QUEUE_COALESCE_DROP_OLDEST})
+  @Retention(RetentionPolicy.SOURCE)
+  public @interface QueueCoalescingMode {}
+
+  /**
+   * Don't coalesce queued transient bottom bars. Bars shown while the queue is full are dropped.
+   *
+   * @see #setQueueCoalescingMode(int)
+   */
+  public static final int QUEUE_COALESCE_NONE = 0;
+
+  /**
+   * Replace a queued transient bottom bar showing the same message with the one being shown.
+   *
+   * @see #setQueueCoalescingMode(int)
+   */
+  public static final int QUEUE_COALESCE_DEDUPLICATE = 1;
+
+  /**
+   * Drop the oldest queued transient bottom bar with the lowest priority when the queue is full,
+   * instead of the one being shown.
+   *
+   * @see #setQueueCoalescingMode(int)
+   */
+  public static final int QUEUE_COALESCE_DROP_OLDEST = 1 << 1;
+
   static final int ANIMATION_DURATION = 250;
   static final int ANIMATION_FADE_DURATION = 180;
 
@@ -196,6 +227,7 @@ public abstract class BaseTransientBottomBar<B extends BaseTransientBottomBar<B>
   protected final SnackbarBaseLayout view;
   private final com.google.android.material.snackbar.ContentViewCallback contentViewCallback;
   private int duration;
+  private int priority;
 
   private List<BaseCallback<B>> callbacks;
 
@@ -305,6 +337,72 @@ public abstract class BaseTransientBottomBar<B extends BaseTransientBottomBar<B>
     return duration;
   }
 
+  /**
+   * Set the priority of this {@link BaseTransientBottomBar}. Queued bars with a higher priority are
+   * shown before the ones with a lower priority, bars with the same priority are shown in order. A
+   * bar with a lower priority than the displayed one waits for it to be dismissed instead of
+   * replacing it. The default priority is 0.
+   *
+   * @param priority the priority, which is read when the bar is {@link #show() shown}.
+   */
+  @NonNull
+  public B setPriority(int priority) {
+    this.priority = priority;
+    return (B) this;
+  }
+
+  /**
+   * Return the priority.
+   *
+   * @see #setPriority(int)
+   */
+  public int getPriority() {
+    return priority;
+  }
+
+  /**
+   * Set the maximum number of transient bottom bars waiting to be shown while another one is
+   * displayed. The default is 1, which means that a bar shown while another one is already waiting
+   * replaces it.
+   *
+   * @param maxQueueSize the maximum number of queued bars, at least 1.
+   * @see #setQueueCoalescingMode(int)
+   */
+  public static void setMaxQueueSize(@IntRange(from = 1) int maxQueueSize) {
+    SnackbarManager.getInstance().setMaxQueueSize(maxQueueSize);
+  }
+
+  /**
+   * Return the maximum number of queued transient bottom bars.
+   *
+   * @see #setMaxQueueSize(int)
+   */
+  public static int getMaxQueueSize() {
+    return SnackbarManager.getInstance().getMaxQueueSize();
+  }
+
+  /**
+   * Set how transient bottom bars waiting to be shown are coalesced. The default is {@link
+   * #QUEUE_COALESCE_DROP_OLDEST}.
+   *
+   * @param coalescingMode a combination of {@link #QUEUE_COALESCE_DEDUPLICATE} and {@link
+   *     #QUEUE_COALESCE_DROP_OLDEST}, or {@link #QUEUE_COALESCE_NONE}.
+   * @see #setMaxQueueSize(int)
+   */
+  public static void setQueueCoalescingMode(@QueueCoalescingMode int coalescingMode) {
+    SnackbarManager.getInstance().setCoalescingMode(coalescingMode);
+  }
+
+  /**
+   * Return how queued transient bottom bars are coalesced.
+   *
+   * @see #setQueueCoalescingMode(int)
+   */
+  @QueueCoalescingMode
+  public static int getQueueCoalescingMode() {
+    return SnackbarManager.getInstance().getCoalescingMode();
+  }
+
   /**
    * Set the {@link BaseTransientBottomBar.Behavior} to be used in this
    * {@link BaseTransientBottomBar}.
@@ -337,9 +435,21 @@ public abstract class BaseTransientBottomBar<B extends BaseTransientBottomBar<B>
     return view;
   }
 
-  /** Show the {@link BaseTransientBottomBar}. */
+  /**
+   * Show the {@link BaseTransientBottomBar}. This may be called from any thread, bars shown from
+   * other threads are queued on the main thread.
+   */
   public void show() {
-    SnackbarManager.getInstance().show(duration, managerCallback);
+    SnackbarManager.getInstance().show(duration, priority, getCoalescingKey(), managerCallback);
+  }
+
+  /**
+   * Returns a key identifying the message of this bar when {@link #QUEUE_COALESCE_DEDUPLICATE} is
+   * set, or null if it can't be deduplicated.
+   */
+  @Nullable
+  Object getCoalescingKey() {
+    return null;
   }
 
   /** Dismiss the {@link BaseTransientBottomBar}. */
@@ -240,6 +240,14 @@ public final class Snackbar extends BaseTransientBottomBar<Snackbar> {
     return fallback;
   }
 
+  @Nullable
+  @Override
+  Object getCoalescingKey() {
+    final SnackbarContentLayout contentLayout = (SnackbarContentLayout) view.getChildAt(0);
+    final CharSequence text = contentLayout.getMessageView().getText();
+    return text != null ? text.toString() : null;
+  }
+
   /**
    * Update the text in this {@link Snackbar}.
    *
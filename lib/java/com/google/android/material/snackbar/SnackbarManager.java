@@ -19,22 +19,31 @@ package com.google.android.material.snackbar;
 import android.os.Handler;
 import android.os.Looper;
 import android.os.Message;
+import android.support.annotation.Nullable;
+import com.google.android.material.snackbar.BaseTransientBottomBar.QueueCoalescingMode;
 import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
 
-/** Manages {@link Snackbar}s. */
+/**
+ * Manages {@link Snackbar}s.
+ *
+ * <p>Snackbars waiting to be shown are kept in a bounded queue, ordered by priority and then by the
+ * order in which they were shown. A Snackbar only replaces the displayed one if its priority is the
+ * same or higher. {@link #show(int, int, Object, Callback)} may be called from any thread; calls
+ * from other threads are posted to the main thread without taking the lock.
+ */
 class SnackbarManager {
 
   static final int MSG_TIMEOUT = 0;
+  static final int MSG_SHOW = 1;
 
   private static final int SHORT_DURATION_MS = 1500;
   private static final int LONG_DURATION_MS = 2750;
 
-  private static SnackbarManager snackbarManager;
+  private static final SnackbarManager snackbarManager = new SnackbarManager();
 
   static SnackbarManager getInstance() {
-    if (snackbarManager == null) {
-      snackbarManager = new SnackbarManager();
-    }
     return snackbarManager;
   }
 
@@ -42,7 +51,11 @@ class SnackbarManager {
   private final Handler handler;
 
   private SnackbarRecord currentSnackbar;
-  private SnackbarRecord nextSnackbar;
+  private final List<SnackbarRecord> queuedSnackbars = new ArrayList<>();
+
+  private int maxQueueSize = 1;
+  @QueueCoalescingMode
+  private int coalescingMode = BaseTransientBottomBar.QUEUE_COALESCE_DROP_OLDEST;
 
   private SnackbarManager() {
     lock = new Object();
@@ -56,6 +69,9 @@ class SnackbarManager {
                   case MSG_TIMEOUT:
                     handleTimeout((SnackbarRecord) message.obj);
                     return true;
+                  case MSG_SHOW:
+                    handleShow((SnackbarRecord) message.obj);
+                    return true;
                 }
                 return false;
               }
@@ -68,23 +84,96 @@ class SnackbarManager {
     void dismiss(int event);
   }
 
+  /**
+   * Sets the maximum number of Snackbars waiting to be shown. Snackbars shown beyond that are
+   * coalesced according to {@link #setCoalescingMode(int)}.
+   */
+  void setMaxQueueSize(int maxQueueSize) {
+    if (maxQueueSize < 1) {
+      throw new IllegalArgumentException("maxQueueSize must be at least 1: " + maxQueueSize);
+    }
+    synchronized (lock) {
+      this.maxQueueSize = maxQueueSize;
+    }
+  }
+
+  int getMaxQueueSize() {
+    synchronized (lock) {
+      return maxQueueSize;
+    }
+  }
+
+  void setCoalescingMode(@QueueCoalescingMode int coalescingMode) {
+    synchronized (lock) {
+      this.coalescingMode = coalescingMode;
+    }
+  }
+
+  @QueueCoalescingMode
+  int getCoalescingMode() {
+    synchronized (lock) {
+      return coalescingMode;
+    }
+  }
+
   public void show(int duration, Callback callback) {
+    show(duration, 0, null, callback);
+  }
+
+  /**
+   * Queues the Snackbar to be shown.
+   *
+   * @param duration the duration of the Snackbar
+   * @param priority Snackbars with a higher priority are shown before the ones with a lower
+   *     priority
+   * @param coalescingKey if not null, identifies the Snackbars showing the same message
+   * @param callback the callback of the Snackbar
+   */
+  public void show(
+      int duration, int priority, @Nullable Object coalescingKey, Callback callback) {
+    SnackbarRecord record = new SnackbarRecord(duration, priority, coalescingKey, callback);
+    if (Looper.myLooper() == Looper.getMainLooper()) {
+      handleShow(record);
+    } else {
+      handler.sendMessage(Message.obtain(handler, MSG_SHOW, record));
+    }
+  }
+
+  private void handleShow(SnackbarRecord record) {
+    final Callback callback = record.callback.get();
+    if (callback == null) {
+      return;
+    }
     synchronized (lock) {
       if (isCurrentSnackbarLocked(callback)) {
         // Means that the callback is already in the queue. We'll just update the duration
-        currentSnackbar.duration = duration;
+        currentSnackbar.duration = record.duration;
 
         // If this is the Snackbar currently being shown, call re-schedule it's
         // timeout
         handler.removeCallbacksAndMessages(currentSnackbar);
         scheduleTimeoutLocked(currentSnackbar);
         return;
-      } else if (isNextSnackbarLocked(callback)) {
-        // We'll just update the duration
-        nextSnackbar.duration = duration;
-      } else {
-        // Else, we need to create a new record and queue it
-        nextSnackbar = new SnackbarRecord(duration, callback);
+      }
+
+      int queuedIndex = indexOfQueuedSnackbarLocked(callback);
+      if (queuedIndex >= 0) {
+        // We'll just update the duration and the position in the queue
+        SnackbarRecord queued = queuedSnackbars.remove(queuedIndex);
+        queued.duration = record.duration;
+        queued.priority = record.priority;
+        queued.coalescingKey = record.coalescingKey;
+        insertLocked(queued);
+      } else if (!enqueueLocked(record)) {
+        // The queue is full and the Snackbar has been dropped
+        return;
+      }
+
+      if (currentSnackbar != null
+          && record.priority < currentSnackbar.priority
+          && currentSnackbar.callback.get() != null) {
+        // A Snackbar with a lower priority waits for the current one to be dismissed
+        return;
       }
 
       if (currentSnackbar != null
@@ -104,8 +193,11 @@ class SnackbarManager {
     synchronized (lock) {
       if (isCurrentSnackbarLocked(callback)) {
         cancelSnackbarLocked(currentSnackbar, event);
-      } else if (isNextSnackbarLocked(callback)) {
-        cancelSnackbarLocked(nextSnackbar, event);
+        return;
+      }
+      int queuedIndex = indexOfQueuedSnackbarLocked(callback);
+      if (queuedIndex >= 0) {
+        cancelSnackbarLocked(queuedSnackbars.remove(queuedIndex), event);
       }
     }
   }
@@ -119,9 +211,7 @@ class SnackbarManager {
       if (isCurrentSnackbarLocked(callback)) {
         // If the callback is from a Snackbar currently show, remove it and show a new one
         currentSnackbar = null;
-        if (nextSnackbar != null) {
-          showNextSnackbarLocked();
-        }
+        showNextSnackbarLocked();
       }
     }
   }
@@ -164,18 +254,23 @@ class SnackbarManager {
 
   public boolean isCurrentOrNext(Callback callback) {
     synchronized (lock) {
-      return isCurrentSnackbarLocked(callback) || isNextSnackbarLocked(callback);
+      return isCurrentSnackbarLocked(callback) || indexOfQueuedSnackbarLocked(callback) >= 0;
     }
   }
 
   private static class SnackbarRecord {
     final WeakReference<Callback> callback;
     int duration;
+    int priority;
+    @Nullable Object coalescingKey;
     boolean paused;
 
-    SnackbarRecord(int duration, Callback callback) {
+    SnackbarRecord(
+        int duration, int priority, @Nullable Object coalescingKey, Callback callback) {
       this.callback = new WeakReference<>(callback);
       this.duration = duration;
+      this.priority = priority;
+      this.coalescingKey = coalescingKey;
     }
 
     boolean isSnackbar(Callback callback) {
@@ -184,20 +279,76 @@ class SnackbarManager {
   }
 
   private void showNextSnackbarLocked() {
-    if (nextSnackbar != null) {
-      currentSnackbar = nextSnackbar;
-      nextSnackbar = null;
+    while (!queuedSnackbars.isEmpty()) {
+      currentSnackbar = queuedSnackbars.remove(0);
 
       final Callback callback = currentSnackbar.callback.get();
       if (callback != null) {
         callback.show();
-      } else {
-        // The callback doesn't exist any more, clear out the Snackbar
-        currentSnackbar = null;
+        return;
       }
+      // The callback doesn't exist any more, clear out the Snackbar and try the next one
+      currentSnackbar = null;
     }
   }
 
+  /**
+   * Adds the record to the queue, coalescing it with the queued records according to the
+   * coalescing mode. Returns false if the record has been dropped instead.
+   */
+  private boolean enqueueLocked(SnackbarRecord record) {
+    if ((coalescingMode & BaseTransientBottomBar.QUEUE_COALESCE_DEDUPLICATE) != 0
+        && record.coalescingKey != null) {
+      for (int i = 0; i < queuedSnackbars.size(); i++) {
+        SnackbarRecord queued = queuedSnackbars.get(i);
+        if (record.coalescingKey.equals(queued.coalescingKey)) {
+          // The same message is already waiting, replace it with the most recent one
+          queuedSnackbars.remove(i);
+          cancelSnackbarLocked(queued, Snackbar.Callback.DISMISS_EVENT_CONSECUTIVE);
+          break;
+        }
+      }
+    }
+
+    while (queuedSnackbars.size() >= maxQueueSize) {
+      int lastIndex = queuedSnackbars.size() - 1;
+      int lowestPriority = queuedSnackbars.get(lastIndex).priority;
+      if ((coalescingMode & BaseTransientBottomBar.QUEUE_COALESCE_DROP_OLDEST) == 0
+          || record.priority < lowestPriority) {
+        cancelSnackbarLocked(record, Snackbar.Callback.DISMISS_EVENT_CONSECUTIVE);
+        return false;
+      }
+      // Drop the oldest of the records with the lowest priority
+      int oldestIndex = lastIndex;
+      while (oldestIndex > 0 && queuedSnackbars.get(oldestIndex - 1).priority == lowestPriority) {
+        oldestIndex--;
+      }
+      cancelSnackbarLocked(
+          queuedSnackbars.remove(oldestIndex), Snackbar.Callback.DISMISS_EVENT_CONSECUTIVE);
+    }
+
+    insertLocked(record);
+    return true;
+  }
+
+  /** Inserts the record after all the queued records with the same or a higher priority. */
+  private void insertLocked(SnackbarRecord record) {
+    int index = queuedSnackbars.size();
+    while (index > 0 && queuedSnackbars.get(index - 1).priority < record.priority) {
+      index--;
+    }
+    queuedSnackbars.add(index, record);
+  }
+
+  private int indexOfQueuedSnackbarLocked(Callback callback) {
+    for (int i = 0, size = queuedSnackbars.size(); i < size; i++) {
+      if (queuedSnackbars.get(i).isSnackbar(callback)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
   private boolean cancelSnackbarLocked(SnackbarRecord record, int event) {
     final Callback callback = record.callback.get();
     if (callback != null) {
@@ -213,10 +364,6 @@ class SnackbarManager {
     return currentSnackbar != null && currentSnackbar.isSnackbar(callback);
   }
 
-  private boolean isNextSnackbarLocked(Callback callback) {
-    return nextSnackbar != null && nextSnackbar.isSnackbar(callback);
-  }
-
   private void scheduleTimeoutLocked(SnackbarRecord r) {
     if (r.duration == Snackbar.LENGTH_INDEFINITE) {
       // If we're set to indefinite, we don't want to set a timeout
@@ -235,7 +382,7 @@ class SnackbarManager {
 
   void handleTimeout(SnackbarRecord record) {
     synchronized (lock) {
-      if (currentSnackbar == record || nextSnackbar == record) {
+      if (currentSnackbar == record || queuedSnackbars.contains(record)) {
         cancelSnackbarLocked(record, Snackbar.Callback.DISMISS_EVENT_TIMEOUT);
       }
     }
@@ -21,6 +21,7 @@ import android.os.Parcel;
 import android.os.Parcelable;
 import android.support.v4.util.SimpleArrayMap;
 import android.support.v4.view.AbsSavedState;
+import android.util.SparseArray;
 
 /**
  * SavedState for widgets that want to save and restore their own state in {@link
@@ -30,14 +31,22 @@ import android.support.v4.view.AbsSavedState;
  * <p>Widgets with only composed or delegated state can directly instantiate this class and write to
  * {@link #extendableStates}. Widgets with additional state should subclass ExtendableSavedState
  * rather than trying to force the additional state into {@link #extendableStates}.
+ *
+ * <p>Components whose state is only made of a few primitives can write it to {@link #packedStates}
+ * instead, which is parceled as raw ints keyed by ints, without the key strings, type tags and
+ * headers of a {@link Bundle}.
  */
 public class ExtendableSavedState extends AbsSavedState {
 
   public final SimpleArrayMap<String, Bundle> extendableStates;
 
+  /** Packed states of the components, keyed by int constants chosen by the widget. */
+  public final SparseArray<int[]> packedStates;
+
   public ExtendableSavedState(Parcelable superState) {
     super(superState);
     extendableStates = new SimpleArrayMap<>();
+    packedStates = new SparseArray<>();
   }
 
   private ExtendableSavedState(Parcel in, ClassLoader loader) {
@@ -55,6 +64,13 @@ public class ExtendableSavedState extends AbsSavedState {
     for (int i = 0; i < size; i++) {
       extendableStates.put(keys[i], states[i]);
     }
+
+    int packedSize = in.readInt();
+    packedStates = new SparseArray<>(packedSize);
+    for (int i = 0; i < packedSize; i++) {
+      int key = in.readInt();
+      packedStates.put(key, in.createIntArray());
+    }
   }
 
   @Override
@@ -74,6 +90,13 @@ public class ExtendableSavedState extends AbsSavedState {
 
     out.writeStringArray(keys);
     out.writeTypedArray(states, 0);
+
+    int packedSize = packedStates.size();
+    out.writeInt(packedSize);
+    for (int i = 0; i < packedSize; i++) {
+      out.writeInt(packedStates.keyAt(i));
+      out.writeIntArray(packedStates.valueAt(i));
+    }
   }
 
   @Override
@@ -82,6 +105,8 @@ public class ExtendableSavedState extends AbsSavedState {
         + Integer.toHexString(System.identityHashCode(this))
         + " states="
         + extendableStates
+        + " packedStates="
+        + packedStates
         + "}";
   }
 
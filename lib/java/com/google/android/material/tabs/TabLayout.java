@@ -73,7 +73,9 @@ import android.support.v7.app.ActionBar;
 import android.support.v7.content.res.AppCompatResources;
 import android.support.v7.widget.TooltipCompat;
 import android.text.Layout;
+import android.text.TextPaint;
 import android.text.TextUtils;
+import android.text.method.TransformationMethod;
 import android.util.AttributeSet;
 import android.util.TypedValue;
 import android.view.Gravity;
@@ -93,6 +95,7 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.concurrent.Executor;
 
 /**
  * TabLayout provides a horizontal layout to display tabs.
@@ -390,6 +393,22 @@ public class TabLayout extends HorizontalScrollView {
 
   // Pool we use as a simple RecyclerBin
   private final Pools.Pool<TabView> tabViewPool = new Pools.SimplePool<>(12);
+  // Placeholders of virtualized tabs, re-used as tabs scroll in and out of the window
+  private final Pools.Pool<View> tabPlaceholderPool = new Pools.SimplePool<>(12);
+
+  @Nullable private Executor textPrelayoutExecutor;
+  // Incremented for every population so that stale off-thread measurements are discarded.
+  private int textPrelayoutGeneration;
+  @Nullable private TextView textPrelayoutTemplate;
+
+  private boolean tabViewVirtualizationEnabled;
+  private final Runnable updateVirtualizedTabViewsRunnable =
+      new Runnable() {
+        @Override
+        public void run() {
+          updateVirtualizedTabViews();
+        }
+      };
 
   public TabLayout(Context context) {
     this(context, null);
@@ -1289,12 +1308,58 @@ public class TabLayout extends HorizontalScrollView {
         0, slidingTabIndicator.getWidth() - getWidth() - getPaddingLeft() - getPaddingRight());
   }
 
+  /**
+   * Sets an {@link Executor} used to measure tab titles off the main thread when the tabs are
+   * populated from a {@link PagerAdapter} in {@link #MODE_SCROLLABLE}.
+   *
+   * <p>When set, the titles are read from the adapter on the main thread, measured on the executor
+   * to decide between the single and multi-line text size, and then applied to the tabs in a single
+   * pass on the main thread. Until that happens the tabs still reflect the previous adapter
+   * contents. Passing null measures the tabs synchronously during layout, which is the default.
+   *
+   * @param executor the executor to measure tab titles on, or null
+   */
+  public void setTextPrelayoutExecutor(@Nullable Executor executor) {
+    textPrelayoutExecutor = executor;
+  }
+
+  /**
+   * Sets whether {@link TabView}s are only bound for the tabs around the visible part of a {@link
+   * #MODE_SCROLLABLE} layout. Tabs outside of that window are represented by lightweight
+   * placeholders sized from a cached width, and their views are returned to the view pool until
+   * they scroll back into range. Tabs with an icon or a custom view always keep their view.
+   *
+   * <p>This has no effect in {@link #MODE_FIXED}, where every tab is always visible.
+   *
+   * @param enabled true to only bind the views of tabs around the visible window
+   */
+  public void setTabViewVirtualizationEnabled(boolean enabled) {
+    if (tabViewVirtualizationEnabled != enabled) {
+      tabViewVirtualizationEnabled = enabled;
+      updateVirtualizedTabViews();
+    }
+  }
+
+  /**
+   * Returns whether tab views are only bound around the visible window.
+   *
+   * @see #setTabViewVirtualizationEnabled(boolean)
+   */
+  public boolean isTabViewVirtualizationEnabled() {
+    return tabViewVirtualizationEnabled;
+  }
+
   void setPagerAdapter(@Nullable final PagerAdapter adapter, final boolean addObserver) {
     if (pagerAdapter != null && pagerAdapterObserver != null) {
       // If we already have a PagerAdapter, unregister our observer
       pagerAdapter.unregisterDataSetObserver(pagerAdapterObserver);
     }
 
+    if (pagerAdapter != adapter) {
+      // Tabs are only re-used for content changes of the same adapter
+      removeAllTabs();
+    }
+
     pagerAdapter = adapter;
 
     if (addObserver && adapter != null) {
@@ -1310,24 +1375,123 @@ public class TabLayout extends HorizontalScrollView {
   }
 
   void populateFromPagerAdapter() {
-    removeAllTabs();
+    final int generation = ++textPrelayoutGeneration;
+    if (pagerAdapter == null) {
+      removeAllTabs();
+      return;
+    }
+
+    final int adapterCount = pagerAdapter.getCount();
+    final CharSequence[] titles = new CharSequence[adapterCount];
+    for (int i = 0; i < adapterCount; i++) {
+      titles[i] = pagerAdapter.getPageTitle(i);
+    }
+
+    final int availableTextWidth = tabMaxWidth - tabPaddingStart - tabPaddingEnd;
+    if (textPrelayoutExecutor == null
+        || mode != MODE_SCROLLABLE
+        || tabMaxWidth == Integer.MAX_VALUE
+        || availableTextWidth <= 0) {
+      // Nothing to measure against yet, so the tabs measure themselves during layout
+      updateTabsFromTitles(titles, null);
+      return;
+    }
 
-    if (pagerAdapter != null) {
-      final int adapterCount = pagerAdapter.getCount();
-      for (int i = 0; i < adapterCount; i++) {
-        addTab(newTab().setText(pagerAdapter.getPageTitle(i)), false);
+    final TextView template = getTextPrelayoutTemplate();
+    final TextPaint paint = new TextPaint(template.getPaint());
+    paint.setTextSize(tabTextSize);
+    // Transformation methods may read from the view, so they only run on the main thread. The
+    // executor only measures the transformed titles with its own copy of the paint.
+    final TransformationMethod transformation = template.getTransformationMethod();
+    final String[] measuredTitles = new String[adapterCount];
+    for (int i = 0; i < adapterCount; i++) {
+      CharSequence title = titles[i];
+      if (title != null && transformation != null) {
+        title = transformation.getTransformation(title, template);
+      }
+      measuredTitles[i] = title != null ? title.toString() : null;
+    }
+    final float singleLineSize = tabTextSize;
+    final float multiLineSize = tabTextMultiLineSize;
+    textPrelayoutExecutor.execute(
+        new Runnable() {
+          @Override
+          public void run() {
+            final float[] textSizes = new float[measuredTitles.length];
+            for (int i = 0; i < measuredTitles.length; i++) {
+              final String title = measuredTitles[i];
+              final float width = title != null ? paint.measureText(title) : 0;
+              textSizes[i] = width > availableTextWidth ? multiLineSize : singleLineSize;
+            }
+            post(
+                new Runnable() {
+                  @Override
+                  public void run() {
+                    if (generation == textPrelayoutGeneration) {
+                      updateTabsFromTitles(titles, textSizes);
+                    }
+                  }
+                });
+          }
+        });
+  }
+
+  /**
+   * Updates the tabs to show the given titles, re-using the existing tabs and only adding or
+   * removing tabs for the difference in count.
+   */
+  private void updateTabsFromTitles(CharSequence[] titles, @Nullable float[] textSizes) {
+    final int count = titles.length;
+    for (int i = tabs.size() - 1; i >= count; i--) {
+      removeTabViewAt(i);
+      final Tab removedTab = tabs.remove(i);
+      if (removedTab == selectedTab) {
+        selectedTab = null;
       }
+      removedTab.reset();
+      releaseFromTabPool(removedTab);
+    }
 
-      // Make sure we reflect the currently set ViewPager item
-      if (viewPager != null && adapterCount > 0) {
-        final int curItem = viewPager.getCurrentItem();
-        if (curItem != getSelectedTabPosition() && curItem < getTabCount()) {
-          selectTab(getTabAt(curItem));
+    for (int i = 0; i < count; i++) {
+      if (i < tabs.size()) {
+        final Tab tab = tabs.get(i);
+        if (!TextUtils.equals(tab.getText(), titles[i])) {
+          // Drop what was derived from the previous title
+          tab.virtualizedWidth = INVALID_WIDTH;
+          if (tab.view != null && TextUtils.isEmpty(tab.contentDesc)) {
+            tab.view.setContentDescription(titles[i]);
+          }
+          tab.setText(titles[i]);
         }
+      } else {
+        addTab(newTab().setText(titles[i]), false);
+      }
+      if (textSizes != null && tabs.get(i).view != null) {
+        tabs.get(i).view.applyPrecomputedTextSize(textSizes[i]);
+      }
+    }
+
+    // Make sure we reflect the currently set ViewPager item
+    if (viewPager != null && count > 0) {
+      final int curItem = viewPager.getCurrentItem();
+      if (curItem != getSelectedTabPosition() && curItem < getTabCount()) {
+        selectTab(getTabAt(curItem));
       }
     }
   }
 
+  /** Returns a detached text view styled like the tab labels, used to measure tab titles. */
+  private TextView getTextPrelayoutTemplate() {
+    if (textPrelayoutTemplate == null) {
+      textPrelayoutTemplate =
+          (TextView)
+              LayoutInflater.from(getContext())
+                  .inflate(R.layout.design_layout_tab_text, slidingTabIndicator, false);
+      TextViewCompat.setTextAppearance(textPrelayoutTemplate, tabTextAppearance);
+    }
+    return textPrelayoutTemplate;
+  }
+
   private void updateAllTabs() {
     for (int i = 0, z = tabs.size(); i < z; i++) {
       tabs.get(i).updateView();
@@ -1361,8 +1525,148 @@ public class TabLayout extends HorizontalScrollView {
   }
 
   private void addTabView(Tab tab) {
+    final int position = tab.getPosition();
+    if (canVirtualizeTab(tab) && !isInVirtualizationWindow(position)) {
+      final TabView tabView = tab.view;
+      tab.view = null;
+      tabView.reset();
+      tabViewPool.release(tabView);
+      slidingTabIndicator.addView(createTabPlaceholder(tab), position);
+      return;
+    }
     final TabView tabView = tab.view;
-    slidingTabIndicator.addView(tabView, tab.getPosition(), createLayoutParamsForTabs());
+    slidingTabIndicator.addView(tabView, position, createLayoutParamsForTabs());
+  }
+
+  private boolean isTabViewVirtualizationActive() {
+    return tabViewVirtualizationEnabled && mode == MODE_SCROLLABLE;
+  }
+
+  private boolean canVirtualizeTab(Tab tab) {
+    // The selected tab keeps its view so that its selected state and the indicator stay in sync
+    return isTabViewVirtualizationActive()
+        && tab != selectedTab
+        && tab.getCustomView() == null
+        && tab.getIcon() == null;
+  }
+
+  /**
+   * Returns whether the slot at the given position intersects the visible part of this layout
+   * extended by half its width on each side.
+   */
+  private boolean isInVirtualizationWindow(int position) {
+    final int viewportWidth =
+        getWidth() > 0 ? getWidth() : getResources().getDisplayMetrics().widthPixels;
+    final int margin = viewportWidth / 2;
+    final int windowLeft = getScrollX() - slidingTabIndicator.getLeft() - margin;
+    final int windowRight = windowLeft + viewportWidth + margin * 2;
+
+    final View child = slidingTabIndicator.getChildAt(position);
+    if (child != null && ViewCompat.isLaidOut(slidingTabIndicator) && child.getWidth() > 0) {
+      return child.getRight() >= windowLeft && child.getLeft() <= windowRight;
+    }
+    if (ViewCompat.getLayoutDirection(this) == ViewCompat.LAYOUT_DIRECTION_RTL) {
+      // Without a layout the start edge position is unknown, so bind until the next layout
+      return true;
+    }
+    // Not laid out yet, so estimate the position from the widths of the preceding tabs
+    int left = 0;
+    for (int i = 0; i < position && left <= windowRight; i++) {
+      final View previous = slidingTabIndicator.getChildAt(i);
+      left += previous != null && previous.getWidth() > 0
+          ? previous.getWidth()
+          : getVirtualizedTabWidth(tabs.get(i));
+    }
+    return left <= windowRight;
+  }
+
+  /**
+   * Binds a {@link TabView} to every tab in the virtualization window, and returns the views of the
+   * tabs outside of it to the pool. Binds every tab if virtualization is not active.
+   */
+  void updateVirtualizedTabViews() {
+    for (int i = 0, count = tabs.size(); i < count; i++) {
+      final Tab tab = tabs.get(i);
+      final boolean virtualize = canVirtualizeTab(tab) && !isInVirtualizationWindow(i);
+      if (virtualize && tab.view != null) {
+        final TabView tabView = tab.view;
+        tab.virtualizedWidth = tabView.getWidth() > 0 ? tabView.getWidth() : INVALID_WIDTH;
+        tab.view = null;
+        slidingTabIndicator.removeViewAt(i);
+        tabView.reset();
+        tabViewPool.release(tabView);
+        slidingTabIndicator.addView(createTabPlaceholder(tab), i);
+      } else if (!virtualize && tab.view == null) {
+        final View placeholder = slidingTabIndicator.getChildAt(i);
+        slidingTabIndicator.removeViewAt(i);
+        releaseTabPlaceholder(placeholder);
+        final TabView tabView = createTabView(tab);
+        // Views from the pool have been reset, so restore the selected state
+        final boolean selected = tab.isSelected();
+        tabView.setSelected(selected);
+        tabView.setActivated(selected);
+        tab.view = tabView;
+        slidingTabIndicator.addView(tabView, i, createLayoutParamsForTabs());
+      }
+    }
+  }
+
+  /** Called when the content of a tab which is represented by a placeholder changed. */
+  void onVirtualizedTabChanged(Tab tab) {
+    tab.virtualizedWidth = INVALID_WIDTH;
+    final int position = tab.getPosition();
+    if (position == Tab.INVALID_POSITION) {
+      return;
+    }
+    if (!canVirtualizeTab(tab)) {
+      updateVirtualizedTabViews();
+      return;
+    }
+    final View placeholder = slidingTabIndicator.getChildAt(position);
+    if (placeholder != null && !(placeholder instanceof TabView)) {
+      placeholder.getLayoutParams().width = getVirtualizedTabWidth(tab);
+      placeholder.requestLayout();
+    }
+  }
+
+  private View createTabPlaceholder(Tab tab) {
+    View placeholder = tabPlaceholderPool.acquire();
+    if (placeholder == null) {
+      placeholder = new View(getContext());
+      placeholder.setLayoutParams(
+          new LinearLayout.LayoutParams(getVirtualizedTabWidth(tab), LayoutParams.MATCH_PARENT));
+    } else {
+      placeholder.getLayoutParams().width = getVirtualizedTabWidth(tab);
+    }
+    return placeholder;
+  }
+
+  private void releaseTabPlaceholder(@Nullable View placeholder) {
+    if (placeholder != null && !(placeholder instanceof TabView)) {
+      placeholder.setSelected(false);
+      placeholder.setActivated(false);
+      tabPlaceholderPool.release(placeholder);
+    }
+  }
+
+  /**
+   * Returns the width of the tab's last bound view, or an estimate from its label if it has not
+   * been bound at the current text.
+   */
+  private int getVirtualizedTabWidth(Tab tab) {
+    if (tab.virtualizedWidth == INVALID_WIDTH) {
+      final TextView template = getTextPrelayoutTemplate();
+      CharSequence text = tab.getText();
+      final TransformationMethod transformation = template.getTransformationMethod();
+      if (text != null && transformation != null) {
+        text = transformation.getTransformation(text, template);
+      }
+      final float textWidth =
+          text != null ? template.getPaint().measureText(text, 0, text.length()) : 0;
+      final int width = (int) Math.ceil(textWidth) + tabPaddingStart + tabPaddingEnd;
+      tab.virtualizedWidth = Math.max(getTabMinWidth(), Math.min(width, tabMaxWidth));
+    }
+    return tab.virtualizedWidth;
   }
 
   @Override
@@ -1428,6 +1732,24 @@ public class TabLayout extends HorizontalScrollView {
     super.onDraw(canvas);
   }
 
+  @Override
+  protected void onScrollChanged(int l, int t, int oldl, int oldt) {
+    super.onScrollChanged(l, t, oldl, oldt);
+    if (isTabViewVirtualizationActive()) {
+      updateVirtualizedTabViews();
+    }
+  }
+
+  @Override
+  protected void onLayout(boolean changed, int l, int t, int r, int b) {
+    super.onLayout(changed, l, t, r, b);
+    if (isTabViewVirtualizationActive()) {
+      // Binding views requests a new layout, so wait until this one has finished
+      removeCallbacks(updateVirtualizedTabViewsRunnable);
+      post(updateVirtualizedTabViewsRunnable);
+    }
+  }
+
   @Override
   protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
     // If we have a MeasureSpec which allows us to decide our height, try and use the default
@@ -1492,11 +1814,14 @@ public class TabLayout extends HorizontalScrollView {
   }
 
   private void removeTabViewAt(int position) {
-    final TabView view = (TabView) slidingTabIndicator.getChildAt(position);
+    final View child = slidingTabIndicator.getChildAt(position);
     slidingTabIndicator.removeViewAt(position);
-    if (view != null) {
+    if (child instanceof TabView) {
+      final TabView view = (TabView) child;
       view.reset();
       tabViewPool.release(view);
+    } else {
+      releaseTabPlaceholder(child);
     }
     requestLayout();
   }
@@ -1589,6 +1914,10 @@ public class TabLayout extends HorizontalScrollView {
       // Setting selectedTab before dispatching 'tab unselected' events, so that currentTab's state
       // will be interpreted as unselected
       selectedTab = tab;
+      if (tab != null && tab.view == null && isTabViewVirtualizationActive()) {
+        // The selected tab is never virtualized, bind its view now
+        updateVirtualizedTabViews();
+      }
       if (currentTab != null) {
         dispatchTabUnselected(currentTab);
       }
@@ -1659,8 +1988,13 @@ public class TabLayout extends HorizontalScrollView {
   }
 
   void updateTabViews(final boolean requestLayout) {
+    updateVirtualizedTabViews();
     for (int i = 0; i < slidingTabIndicator.getChildCount(); i++) {
       View child = slidingTabIndicator.getChildAt(i);
+      if (!(child instanceof TabView)) {
+        // Placeholders of virtualized tabs keep their cached width
+        continue;
+      }
       child.setMinimumWidth(getTabMinWidth());
       updateTabViewLayoutParams((LinearLayout.LayoutParams) child.getLayoutParams());
       if (requestLayout) {
@@ -1689,6 +2023,8 @@ public class TabLayout extends HorizontalScrollView {
     private CharSequence contentDesc;
     private int position = INVALID_POSITION;
     private View customView;
+    // Width of the placeholder shown while this tab's view is virtualized.
+    int virtualizedWidth = INVALID_WIDTH;
 
     //TODO: make package private after the widget migration is finished
     public TabLayout parent;
@@ -1761,7 +2097,8 @@ public class TabLayout extends HorizontalScrollView {
      */
     @NonNull
     public Tab setCustomView(@LayoutRes int resId) {
-      final LayoutInflater inflater = LayoutInflater.from(view.getContext());
+      final LayoutInflater inflater =
+          LayoutInflater.from(view != null ? view.getContext() : parent.getContext());
       return setCustomView(inflater.inflate(resId, view, false));
     }
 
@@ -1835,7 +2172,7 @@ public class TabLayout extends HorizontalScrollView {
      */
     @NonNull
     public Tab setText(@Nullable CharSequence text) {
-      if (TextUtils.isEmpty(contentDesc) && !TextUtils.isEmpty(text)) {
+      if (view != null && TextUtils.isEmpty(contentDesc) && !TextUtils.isEmpty(text)) {
         // If no content description has been set, use the text as the content description of the
         // TabView. If the text is null, don't update the content description.
         view.setContentDescription(text);
@@ -1921,12 +2258,18 @@ public class TabLayout extends HorizontalScrollView {
     public CharSequence getContentDescription() {
       // This returns the view's content description instead of contentDesc because if the title
       // is used as a replacement for the content description, contentDesc will be empty.
-      return (view == null) ? null : view.getContentDescription();
+      if (view == null) {
+        // The view of a virtualized tab is bound to match the text when needed
+        return (parent == null) ? null : (TextUtils.isEmpty(contentDesc) ? text : contentDesc);
+      }
+      return view.getContentDescription();
     }
 
     void updateView() {
       if (view != null) {
         view.update();
+      } else if (parent != null) {
+        parent.onVirtualizedTabChanged(this);
       }
     }
 
@@ -1939,6 +2282,7 @@ public class TabLayout extends HorizontalScrollView {
       contentDesc = null;
       position = INVALID_POSITION;
       customView = null;
+      virtualizedWidth = INVALID_WIDTH;
     }
   }
 
@@ -2162,6 +2506,21 @@ public class TabLayout extends HorizontalScrollView {
       }
     }
 
+    /**
+     * Applies a text size which was decided ahead of measurement, so that the label does not need
+     * to be measured a second time to pick between the single and multi-line size.
+     */
+    void applyPrecomputedTextSize(float textSize) {
+      if (customView != null
+          || textView == null
+          || (iconView != null && iconView.getVisibility() == VISIBLE)) {
+        return;
+      }
+      if (textView.getTextSize() != textSize) {
+        textView.setTextSize(TypedValue.COMPLEX_UNIT_PX, textSize);
+      }
+    }
+
     void setTab(@Nullable final Tab tab) {
       if (tab != this.tab) {
         this.tab = tab;
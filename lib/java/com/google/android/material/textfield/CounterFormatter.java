@@ -0,0 +1,125 @@
+/*
+ * Copyright 2018 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.android.material.textfield;
+
+import android.support.annotation.Nullable;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+/**
+ * Formats the character counter of a {@link TextInputLayout} into a reused buffer.
+ *
+ * <p>The counter patterns only contain {@code %1$d} and {@code %2$d} placeholders, so they are
+ * parsed once and formatted without a {@link java.util.Formatter}, an argument array or boxed
+ * integers. Patterns using anything else fall back to {@link String#format}.
+ */
+final class CounterFormatter {
+
+  private final String pattern;
+  private final Locale locale;
+  private final char zeroDigit;
+
+  /** The literal parts of the pattern, surrounding the placeholders. */
+  @Nullable private final String[] literals;
+  /** The argument index of each placeholder, 0 for the first argument. */
+  @Nullable private final int[] argumentIndices;
+
+  private final StringBuilder buffer = new StringBuilder();
+
+  CounterFormatter(String pattern, Locale locale) {
+    this.pattern = pattern;
+    this.locale = locale;
+    this.zeroDigit = DecimalFormatSymbols.getInstance(locale).getZeroDigit();
+
+    int placeholderCount = 0;
+    for (int i = pattern.indexOf('%'); i >= 0; i = pattern.indexOf('%', i + 1)) {
+      placeholderCount++;
+    }
+
+    String[] literals = new String[placeholderCount + 1];
+    int[] argumentIndices = new int[placeholderCount];
+    int start = 0;
+    for (int i = 0; i < placeholderCount; i++) {
+      int placeholder = pattern.indexOf('%', start);
+      int argumentIndex = parsePlaceholder(pattern, placeholder);
+      if (argumentIndex < 0) {
+        literals = null;
+        argumentIndices = null;
+        break;
+      }
+      literals[i] = pattern.substring(start, placeholder);
+      argumentIndices[i] = argumentIndex;
+      start = placeholder + 4;
+    }
+    if (literals != null) {
+      literals[placeholderCount] = pattern.substring(start);
+    }
+    this.literals = literals;
+    this.argumentIndices = argumentIndices;
+  }
+
+  /** Returns the index of the {@code %n$d} placeholder at the given offset, or -1. */
+  private static int parsePlaceholder(String pattern, int offset) {
+    if (offset + 4 > pattern.length()
+        || pattern.charAt(offset + 2) != '$'
+        || pattern.charAt(offset + 3) != 'd') {
+      return -1;
+    }
+    char index = pattern.charAt(offset + 1);
+    if (index == '1') {
+      return 0;
+    } else if (index == '2') {
+      return 1;
+    }
+    return -1;
+  }
+
+  Locale getLocale() {
+    return locale;
+  }
+
+  /**
+   * Formats the pattern with the given arguments. The returned buffer is reused by the next call,
+   * so callers that keep the result must copy it.
+   */
+  CharSequence format(int first, int second) {
+    buffer.setLength(0);
+    if (literals == null || argumentIndices == null) {
+      buffer.append(String.format(locale, pattern, first, second));
+      return buffer;
+    }
+    for (int i = 0; i < argumentIndices.length; i++) {
+      buffer.append(literals[i]);
+      appendNumber(argumentIndices[i] == 0 ? first : second);
+    }
+    buffer.append(literals[argumentIndices.length]);
+    return buffer;
+  }
+
+  private void appendNumber(int value) {
+    if (value < 0) {
+      // Never the case for the counter, leave it to the platform.
+      buffer.append(String.format(locale, "%d", value));
+      return;
+    }
+    int start = buffer.length();
+    do {
+      buffer.insert(start, (char) (zeroDigit + value % 10));
+      value /= 10;
+    } while (value > 0);
+  }
+}
@@ -57,6 +57,7 @@ import com.google.android.material.internal.ThemeEnforcement;
 import com.google.android.material.internal.ViewUtils;
 import android.support.v4.content.ContextCompat;
 import android.support.v4.graphics.drawable.DrawableCompat;
+import android.support.v4.os.ConfigurationCompat;
 import android.support.v4.view.AbsSavedState;
 import android.support.v4.view.AccessibilityDelegateCompat;
 import android.support.v4.view.GravityCompat;
@@ -86,6 +87,7 @@ import android.widget.LinearLayout;
 import android.widget.TextView;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
+import java.util.Locale;
 
 /**
  * Layout which wraps an {@link android.widget.EditText} (or descendant) to show a floating label
@@ -151,6 +153,11 @@ public class TextInputLayout extends LinearLayout {
   private int counterMaxLength;
   private boolean counterOverflowed;
   private TextView counterView;
+  /** The length shown by the counter, or -1 if the counter has to be updated. */
+  private int counterLength = -1;
+  private int counterLengthMaxLength;
+  @Nullable private CounterFormatter counterFormatter;
+  @Nullable private CounterFormatter counterDescriptionFormatter;
   private final int counterOverflowTextAppearance;
   private final int counterTextAppearance;
 
@@ -217,6 +224,7 @@ public class TextInputLayout extends LinearLayout {
   @ColorInt private int focusedStrokeColor;
 
   @ColorInt private final int disabledColor;
+  private final ColorStateList disabledColorStateList;
 
   // Only used for testing
   private boolean hintExpanded;
@@ -308,6 +316,7 @@ public class TextInputLayout extends LinearLayout {
     defaultStrokeColor =
         ContextCompat.getColor(context, R.color.mtrl_textinput_default_box_stroke_color);
     disabledColor = ContextCompat.getColor(context, R.color.mtrl_textinput_disabled_color);
+    disabledColorStateList = ColorStateList.valueOf(disabledColor);
     hoveredStrokeColor =
         ContextCompat.getColor(context, R.color.mtrl_textinput_hovered_box_stroke_color);
 
@@ -750,23 +759,27 @@ public class TextInputLayout extends LinearLayout {
     final boolean hasFocus = editText != null && editText.hasFocus();
     final boolean errorShouldBeShown = indicatorViewController.errorShouldBeShown();
 
-    // Set the expanded and collapsed labels to the default text color.
-    if (defaultHintTextColor != null) {
-      collapsingTextHelper.setCollapsedTextColor(defaultHintTextColor);
-      collapsingTextHelper.setExpandedTextColor(defaultHintTextColor);
-    }
-
-    // Set the collapsed and expanded label text colors based on the current state.
+    // Pick the collapsed and expanded label text colors based on the current state, then set them
+    // once. The helper ignores colors it already has, so an unchanged state doesn't recalculate it.
+    ColorStateList collapsedTextColor = defaultHintTextColor;
+    ColorStateList expandedTextColor = defaultHintTextColor;
     if (!isEnabled) {
-      collapsingTextHelper.setCollapsedTextColor(ColorStateList.valueOf(disabledColor));
-      collapsingTextHelper.setExpandedTextColor(ColorStateList.valueOf(disabledColor));
+      collapsedTextColor = disabledColorStateList;
+      expandedTextColor = disabledColorStateList;
     } else if (errorShouldBeShown) {
-      collapsingTextHelper.setCollapsedTextColor(indicatorViewController.getErrorViewTextColors());
+      collapsedTextColor = indicatorViewController.getErrorViewTextColors();
     } else if (counterOverflowed && counterView != null) {
-      collapsingTextHelper.setCollapsedTextColor(counterView.getTextColors());
+      collapsedTextColor = counterView.getTextColors();
     } else if (hasFocus && focusedTextColor != null) {
-      collapsingTextHelper.setCollapsedTextColor(focusedTextColor);
-    } // If none of these states apply, leave the expanded and collapsed colors as they are.
+      collapsedTextColor = focusedTextColor;
+    }
+    // If none of these states apply and there's no default color, leave the colors as they are.
+    if (collapsedTextColor != null) {
+      collapsingTextHelper.setCollapsedTextColor(collapsedTextColor);
+    }
+    if (expandedTextColor != null) {
+      collapsingTextHelper.setExpandedTextColor(expandedTextColor);
+    }
 
     if (hasText || (isEnabled() && (hasFocus || errorShouldBeShown))) {
       // We should be showing the label so do so if it isn't already
@@ -1070,6 +1083,7 @@ public class TextInputLayout extends LinearLayout {
         counterView.setMaxLines(1);
         setTextAppearanceCompatWithErrorFallback(counterView, counterTextAppearance);
         indicatorViewController.addIndicator(counterView, COUNTER_INDEX);
+        counterLength = -1;
         if (editText == null) {
           updateCounter(0);
         } else {
@@ -1153,6 +1167,13 @@ public class TextInputLayout extends LinearLayout {
   }
 
   void updateCounter(int length) {
+    if (length == counterLength && counterMaxLength == counterLengthMaxLength) {
+      // The counter already shows this length, e.g. a character was replaced.
+      return;
+    }
+    counterLength = length;
+    counterLengthMaxLength = counterMaxLength;
+
     boolean wasCounterOverflowed = counterOverflowed;
     if (counterMaxLength == INVALID_MAX_LENGTH) {
       counterView.setText(String.valueOf(length));
@@ -1177,11 +1198,16 @@ public class TextInputLayout extends LinearLayout {
               counterView, ViewCompat.ACCESSIBILITY_LIVE_REGION_POLITE);
         }
       }
-      counterView.setText(
-          getContext().getString(R.string.character_counter_pattern, length, counterMaxLength));
+      counterFormatter =
+          getCounterFormatter(counterFormatter, R.string.character_counter_pattern);
+      // TextView copies the text, the buffer only saves the Formatter, varargs and boxing.
+      counterView.setText(counterFormatter.format(length, counterMaxLength));
+      counterDescriptionFormatter =
+          getCounterFormatter(
+              counterDescriptionFormatter, R.string.character_counter_content_description);
+      // The view keeps the content description, so it can't be the reused buffer.
       counterView.setContentDescription(
-          getContext()
-              .getString(R.string.character_counter_content_description, length, counterMaxLength));
+          counterDescriptionFormatter.format(length, counterMaxLength).toString());
     }
     if (editText != null && wasCounterOverflowed != counterOverflowed) {
       updateLabelState(false);
@@ -1189,6 +1215,16 @@ public class TextInputLayout extends LinearLayout {
     }
   }
 
+  /** Returns the formatter for the pattern, reusing the given one if the locale didn't change. */
+  private CounterFormatter getCounterFormatter(
+      @Nullable CounterFormatter formatter, @StringRes int patternRes) {
+    Locale locale = ConfigurationCompat.getLocales(getResources().getConfiguration()).get(0);
+    if (formatter == null || !formatter.getLocale().equals(locale)) {
+      formatter = new CounterFormatter(getContext().getString(patternRes), locale);
+    }
+    return formatter;
+  }
+
   void setTextAppearanceCompatWithErrorFallback(TextView textView, @StyleRes int textAppearance) {
     boolean useDefaultColor = false;
     try {
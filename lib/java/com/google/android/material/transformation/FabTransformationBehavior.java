@@ -460,7 +460,8 @@ public abstract class FabTransformationBehavior extends ExpandableTransformation
       return;
     }
     if (child instanceof CircularRevealWidget
-        && CircularRevealHelper.STRATEGY == CircularRevealHelper.BITMAP_SHADER) {
+        && CircularRevealCompat.getCircularRevealStrategy((CircularRevealWidget) child)
+            == CircularRevealHelper.BITMAP_SHADER) {
       // Bitmap shader strategy animates a static snapshot of the child.
       return;
     }
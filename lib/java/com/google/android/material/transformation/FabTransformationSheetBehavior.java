@@ -21,7 +21,7 @@ import android.content.Context;
 import android.os.Build;
 import android.support.annotation.AnimatorRes;
 import android.support.annotation.CallSuper;
-import com.google.android.material.animation.MotionSpec;
+import com.google.android.material.animation.MotionSpecRegistry;
 import com.google.android.material.animation.Positioning;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
 import android.support.design.widget.CoordinatorLayout;
@@ -60,7 +60,8 @@ public class FabTransformationSheetBehavior extends FabTransformationBehavior {
     }
 
     FabTransformationSpec spec = new FabTransformationSpec();
-    spec.timings = MotionSpec.createFromResource(context, specRes);
+    // Subclasses may modify the timings, so they get their own copy of the shared spec.
+    spec.timings = MotionSpecRegistry.getCopy(context, specRes);
     spec.positioning = new Positioning(Gravity.CENTER, 0f, 0f);
     return spec;
   }
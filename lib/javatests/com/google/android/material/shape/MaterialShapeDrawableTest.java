@@ -0,0 +1,90 @@
+/*
+ * Copyright 2018 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.shape;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/** Tests for the cached bitmap shadow of {@link MaterialShapeDrawable}. */
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE)
+public class MaterialShapeDrawableTest {
+
+  private static final int SIZE = 100;
+
+  private MaterialShapeDrawable drawable;
+  private Canvas canvas;
+
+  @Before
+  public void setUp() {
+    drawable =
+        new MaterialShapeDrawable(
+            new ShapePathModel.Builder().setAllCorners(new CutCornerTreatment(10f)).build());
+    drawable.setShadowMode(MaterialShapeDrawable.SHADOW_MODE_CACHED_BITMAP);
+    drawable.setShadowEnabled(true);
+    drawable.setBounds(0, 0, SIZE, SIZE);
+    canvas = new Canvas(Bitmap.createBitmap(SIZE, SIZE, Bitmap.Config.ARGB_8888));
+  }
+
+  @Test
+  public void draw_withoutChanges_doesNotRenderShadowAgain() {
+    drawable.draw(canvas);
+    drawable.draw(canvas);
+
+    assertThat(drawable.shadowBitmapRenderCount).isEqualTo(1);
+  }
+
+  @Test
+  public void draw_afterElevationAndColorChange_doesNotRenderShadowAgain() {
+    drawable.draw(canvas);
+
+    drawable.setShadowElevation(8);
+    drawable.setShadowColor(Color.RED);
+    drawable.setAlpha(128);
+    drawable.draw(canvas);
+
+    assertThat(drawable.shadowBitmapRenderCount).isEqualTo(1);
+  }
+
+  @Test
+  public void draw_afterRadiusChange_rendersShadowAgain() {
+    drawable.draw(canvas);
+
+    drawable.setShadowRadius(20);
+    drawable.draw(canvas);
+
+    assertThat(drawable.shadowBitmapRenderCount).isEqualTo(2);
+  }
+
+  @Test
+  public void draw_afterInterpolationChange_rendersShadowAgain() {
+    drawable.draw(canvas);
+
+    drawable.setInterpolation(0.5f);
+    drawable.draw(canvas);
+    drawable.draw(canvas);
+
+    assertThat(drawable.shadowBitmapRenderCount).isEqualTo(2);
+  }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2018 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.snackbar;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/** Tests for the priorities and the queue of {@link SnackbarManager}. */
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE)
+public class SnackbarManagerTest {
+
+  private final List<TestCallback> callbacks = new ArrayList<>();
+  private SnackbarManager manager;
+
+  @Before
+  public void setUp() {
+    manager = SnackbarManager.getInstance();
+    manager.setMaxQueueSize(1);
+    manager.setCoalescingMode(BaseTransientBottomBar.QUEUE_COALESCE_DROP_OLDEST);
+  }
+
+  @After
+  public void tearDown() {
+    // The manager is a singleton, make sure that nothing is left for the next test.
+    for (TestCallback callback : callbacks) {
+      manager.dismiss(callback, Snackbar.Callback.DISMISS_EVENT_MANUAL);
+      manager.onDismissed(callback);
+    }
+    manager.setMaxQueueSize(1);
+    manager.setCoalescingMode(BaseTransientBottomBar.QUEUE_COALESCE_DROP_OLDEST);
+  }
+
+  @Test
+  public void samePriority_replacesCurrent() {
+    TestCallback first = show(0, null);
+    TestCallback second = show(0, null);
+
+    assertThat(first.dismissEvents).containsExactly(Snackbar.Callback.DISMISS_EVENT_CONSECUTIVE);
+    assertThat(second.showCount).isEqualTo(0);
+
+    manager.onDismissed(first);
+
+    assertThat(manager.isCurrent(second)).isTrue();
+    assertThat(second.showCount).isEqualTo(1);
+  }
+
+  @Test
+  public void higherPriority_replacesCurrent() {
+    TestCallback low = show(0, null);
+    TestCallback high = show(1, null);
+
+    assertThat(low.dismissEvents).containsExactly(Snackbar.Callback.DISMISS_EVENT_CONSECUTIVE);
+
+    manager.onDismissed(low);
+
+    assertThat(manager.isCurrent(high)).isTrue();
+  }
+
+  @Test
+  public void lowerPriority_waitsForCurrent() {
+    TestCallback high = show(1, null);
+    TestCallback low = show(0, null);
+
+    assertThat(high.dismissEvents).isEmpty();
+    assertThat(manager.isCurrent(high)).isTrue();
+    assertThat(manager.isCurrentOrNext(low)).isTrue();
+    assertThat(low.showCount).isEqualTo(0);
+
+    manager.dismiss(high, Snackbar.Callback.DISMISS_EVENT_TIMEOUT);
+    manager.onDismissed(high);
+
+    assertThat(manager.isCurrent(low)).isTrue();
+    assertThat(low.showCount).isEqualTo(1);
+  }
+
+  @Test
+  public void queuedSnackbars_areShownByPriority() {
+    manager.setMaxQueueSize(3);
+    TestCallback current = show(2, null);
+    TestCallback first = show(0, null);
+    TestCallback second = show(1, null);
+    TestCallback third = show(0, null);
+
+    assertThat(current.dismissEvents).isEmpty();
+
+    dismissCurrent(current);
+    assertThat(manager.isCurrent(second)).isTrue();
+    dismissCurrent(second);
+    assertThat(manager.isCurrent(first)).isTrue();
+    dismissCurrent(first);
+    assertThat(manager.isCurrent(third)).isTrue();
+  }
+
+  @Test
+  public void deduplicate_replacesQueuedSnackbarWithSameKey() {
+    manager.setMaxQueueSize(3);
+    manager.setCoalescingMode(BaseTransientBottomBar.QUEUE_COALESCE_DEDUPLICATE);
+    TestCallback current = show(1, null);
+    TestCallback stale = show(0, "key");
+    TestCallback other = show(0, "other");
+    TestCallback fresh = show(0, "key");
+
+    assertThat(stale.dismissEvents).containsExactly(Snackbar.Callback.DISMISS_EVENT_CONSECUTIVE);
+    assertThat(manager.isCurrentOrNext(stale)).isFalse();
+    assertThat(manager.isCurrentOrNext(other)).isTrue();
+    assertThat(manager.isCurrentOrNext(fresh)).isTrue();
+    assertThat(current.dismissEvents).isEmpty();
+  }
+
+  @Test
+  public void fullQueue_dropOldest_dropsOldestQueuedSnackbar() {
+    manager.setMaxQueueSize(2);
+    TestCallback current = show(1, null);
+    TestCallback oldest = show(0, null);
+    TestCallback middle = show(0, null);
+    TestCallback newest = show(0, null);
+
+    assertThat(oldest.dismissEvents).containsExactly(Snackbar.Callback.DISMISS_EVENT_CONSECUTIVE);
+    assertThat(manager.isCurrentOrNext(oldest)).isFalse();
+    assertThat(manager.isCurrentOrNext(middle)).isTrue();
+    assertThat(manager.isCurrentOrNext(newest)).isTrue();
+    assertThat(manager.isCurrent(current)).isTrue();
+  }
+
+  @Test
+  public void fullQueue_dropOldest_dropsNewSnackbarWithLowerPriority() {
+    TestCallback current = show(2, null);
+    TestCallback queued = show(1, null);
+    TestCallback dropped = show(0, null);
+
+    assertThat(dropped.dismissEvents).containsExactly(Snackbar.Callback.DISMISS_EVENT_CONSECUTIVE);
+    assertThat(manager.isCurrentOrNext(dropped)).isFalse();
+    assertThat(manager.isCurrentOrNext(queued)).isTrue();
+    assertThat(manager.isCurrent(current)).isTrue();
+  }
+
+  @Test
+  public void fullQueue_noCoalescing_dropsNewSnackbar() {
+    manager.setCoalescingMode(BaseTransientBottomBar.QUEUE_COALESCE_NONE);
+    TestCallback current = show(1, null);
+    TestCallback queued = show(0, null);
+    TestCallback dropped = show(0, null);
+
+    assertThat(dropped.dismissEvents).containsExactly(Snackbar.Callback.DISMISS_EVENT_CONSECUTIVE);
+    assertThat(queued.dismissEvents).isEmpty();
+    assertThat(manager.isCurrentOrNext(queued)).isTrue();
+    assertThat(manager.isCurrent(current)).isTrue();
+  }
+
+  private TestCallback show(int priority, Object coalescingKey) {
+    TestCallback callback = new TestCallback();
+    callbacks.add(callback);
+    manager.show(Snackbar.LENGTH_INDEFINITE, priority, coalescingKey, callback);
+    return callback;
+  }
+
+  private void dismissCurrent(TestCallback callback) {
+    manager.dismiss(callback, Snackbar.Callback.DISMISS_EVENT_MANUAL);
+    manager.onDismissed(callback);
+  }
+
+  private static class TestCallback implements SnackbarManager.Callback {
+    int showCount;
+    final List<Integer> dismissEvents = new ArrayList<>();
+
+    @Override
+    public void show() {
+      showCount++;
+    }
+
+    @Override
+    public void dismiss(int event) {
+      dismissEvents.add(event);
+    }
+  }
+}
@@ -29,6 +29,7 @@ import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
 import android.graphics.Path;
+import android.graphics.Shader;
 import android.graphics.drawable.Drawable;
 import android.os.Build.VERSION_CODES;
 import android.support.annotation.ColorInt;
@@ -39,10 +40,12 @@ import com.google.android.material.circularreveal.CircularRevealWidget.RevealInf
 import com.google.android.material.math.MathUtils;
 import android.view.View;
 import android.view.View.MeasureSpec;
+import android.view.ViewGroup;
 import org.robolectric.RobolectricTestRunner;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Matchers;
 import org.robolectric.Robolectric;
 import org.robolectric.annotation.Config;
@@ -131,6 +134,64 @@ public class CircularRevealHelperTest {
     verify(canvas, never()).drawCircle(anyFloat(), anyFloat(), anyFloat(), Matchers.<Paint>any());
   }
 
+  @Test
+  @Config(sdk = VERSION_CODES.LOLLIPOP)
+  public void lAutoWithoutHardwareAccelerationUsesClipPathStrategy() {
+    helper = new CircularRevealHelper(delegate);
+    helper.setStrategy(CircularRevealHelper.AUTO);
+    helper.setRevealInfo(smallRevealInfo);
+
+    helper.draw(canvas);
+
+    assertThat(helper.getStrategy()).isEqualTo(CircularRevealHelper.CLIP_PATH);
+    verify(canvas).clipPath(Matchers.<Path>any());
+  }
+
+  @Test
+  @Config(sdk = VERSION_CODES.JELLY_BEAN)
+  public void jbBitmapShaderReusesSnapshotAcrossReveals() {
+    helper = new CircularRevealHelper(delegate);
+
+    Shader firstShader = revealWithBitmapShader();
+    Shader secondShader = revealWithBitmapShader();
+
+    assertThat(firstShader).isNotNull();
+    assertThat(secondShader).isSameAs(firstShader);
+  }
+
+  @Test
+  @Config(sdk = VERSION_CODES.JELLY_BEAN)
+  public void jbBitmapShaderReleasesSnapshotWhenDetached() {
+    activity.setContentView(delegate);
+    helper = new CircularRevealHelper(delegate);
+    Shader firstShader = revealWithBitmapShader();
+
+    ((ViewGroup) delegate.getParent()).removeView(delegate);
+    Shader secondShader = revealWithBitmapShader();
+
+    assertThat(secondShader).isNotNull();
+    assertThat(secondShader).isNotSameAs(firstShader);
+  }
+
+  @Test
+  @Config(sdk = VERSION_CODES.JELLY_BEAN)
+  public void jbHardwareAcceleratedClipPathFallsBackToBitmapShader() {
+    delegate.hardwareAccelerated = true;
+    helper = new CircularRevealHelper(delegate);
+    helper.setStrategy(CircularRevealHelper.CLIP_PATH);
+
+    assertThat(helper.getStrategy()).isEqualTo(CircularRevealHelper.BITMAP_SHADER);
+  }
+
+  @Test
+  @Config(sdk = VERSION_CODES.JELLY_BEAN)
+  public void jbSoftwareClipPathIsKept() {
+    helper = new CircularRevealHelper(delegate);
+    helper.setStrategy(CircularRevealHelper.CLIP_PATH);
+
+    assertThat(helper.getStrategy()).isEqualTo(CircularRevealHelper.CLIP_PATH);
+  }
+
   @Test
   @Config(sdk = VERSION_CODES.JELLY_BEAN)
   public void jbDrawsScrim() {
@@ -188,12 +249,39 @@ public class CircularRevealHelperTest {
             Matchers.<Paint>any());
   }
 
+  /** Runs a circular reveal with the bitmap shader strategy, and returns the shader it drew. */
+  private Shader revealWithBitmapShader() {
+    Canvas canvas = spy(new Canvas());
+    ArgumentCaptor<Paint> paint = ArgumentCaptor.forClass(Paint.class);
+    helper.setRevealInfo(smallRevealInfo);
+
+    helper.buildCircularRevealCache();
+    helper.draw(canvas);
+    verify(canvas)
+        .drawCircle(
+            eq(smallRevealInfo.centerX),
+            eq(smallRevealInfo.centerY),
+            eq(smallRevealInfo.radius),
+            paint.capture());
+    Shader shader = paint.getValue().getShader();
+    helper.destroyCircularRevealCache();
+    helper.setRevealInfo(null);
+    return shader;
+  }
+
   private static class TestDelegate extends View implements CircularRevealWidget {
 
+    boolean hardwareAccelerated;
+
     public TestDelegate(Context context) {
       super(context);
     }
 
+    @Override
+    public boolean isHardwareAccelerated() {
+      return hardwareAccelerated;
+    }
+
     @Override
     public void actualDraw(Canvas canvas) {}
 
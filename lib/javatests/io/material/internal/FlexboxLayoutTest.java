@@ -0,0 +1,153 @@
+/*
+ * Copyright 2018 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.material.internal;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import android.app.Activity;
+import com.google.android.material.internal.FlexLine;
+import com.google.android.material.internal.FlexWrap;
+import com.google.android.material.internal.FlexboxLayout;
+import android.view.View;
+import android.view.View.MeasureSpec;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/** Tests for the incremental flex line calculation of {@link FlexboxLayout}. */
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE)
+public class FlexboxLayoutTest {
+
+  private static final int LAYOUT_WIDTH = 100;
+  private static final int CHILD_WIDTH = 40;
+  private static final int CHILD_HEIGHT = 20;
+  private static final int CHILD_COUNT = 6;
+
+  private Activity activity;
+  private FlexboxLayout flexboxLayout;
+
+  @Before
+  public void setUp() {
+    activity = Robolectric.setupActivity(Activity.class);
+    flexboxLayout = createFlexboxLayout();
+    measureAndLayout(flexboxLayout);
+  }
+
+  @Test
+  public void remeasureWithoutChanges_reusesAllFlexLines() {
+    List<FlexLine> before = flexboxLayout.getFlexLines();
+
+    measureAndLayout(flexboxLayout);
+
+    List<FlexLine> after = flexboxLayout.getFlexLines();
+    assertThat(after).hasSize(3);
+    for (int i = 0; i < after.size(); i++) {
+      assertThat(after.get(i)).isSameAs(before.get(i));
+    }
+  }
+
+  @Test
+  public void childChangedInLastLine_reusesEarlierFlexLines() {
+    List<FlexLine> before = flexboxLayout.getFlexLines();
+
+    setChildWidth(flexboxLayout.getChildAt(4), 90);
+    measureAndLayout(flexboxLayout);
+
+    List<FlexLine> after = flexboxLayout.getFlexLines();
+    assertThat(after).hasSize(4);
+    assertThat(after.get(0)).isSameAs(before.get(0));
+    assertThat(after.get(1)).isSameAs(before.get(1));
+    assertThat(after.get(2).getItemCount()).isEqualTo(1);
+    assertThat(after.get(2).getMainSize()).isEqualTo(90);
+    assertThat(after.get(3).getItemCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void childChanged_matchesFullCalculation() {
+    setChildWidth(flexboxLayout.getChildAt(3), 70);
+    measureAndLayout(flexboxLayout);
+
+    FlexboxLayout expected = createFlexboxLayout();
+    setChildWidth(expected.getChildAt(3), 70);
+    measureAndLayout(expected);
+
+    assertSameFlexLines(flexboxLayout.getFlexLines(), expected.getFlexLines());
+    assertThat(flexboxLayout.getMeasuredHeight()).isEqualTo(expected.getMeasuredHeight());
+  }
+
+  @Test
+  public void childVisibilityChanged_recalculatesFollowingFlexLines() {
+    flexboxLayout.getChildAt(1).setVisibility(View.GONE);
+    measureAndLayout(flexboxLayout);
+
+    List<FlexLine> flexLines = flexboxLayout.getFlexLines();
+    assertThat(flexLines).hasSize(3);
+    assertThat(flexLines.get(0).getItemCount()).isEqualTo(3);
+    assertThat(flexLines.get(0).getItemCountNotGone()).isEqualTo(2);
+    assertThat(flexLines.get(1).getItemCount()).isEqualTo(2);
+    assertThat(flexLines.get(2).getItemCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void childRemoved_recalculatesFlexLines() {
+    flexboxLayout.removeViewAt(0);
+    measureAndLayout(flexboxLayout);
+
+    List<FlexLine> flexLines = flexboxLayout.getFlexLines();
+    assertThat(flexLines).hasSize(3);
+    assertThat(flexLines.get(0).getItemCount()).isEqualTo(2);
+    assertThat(flexLines.get(1).getItemCount()).isEqualTo(2);
+    assertThat(flexLines.get(2).getItemCount()).isEqualTo(1);
+    assertThat(flexboxLayout.getMeasuredHeight()).isEqualTo(3 * CHILD_HEIGHT);
+  }
+
+  private FlexboxLayout createFlexboxLayout() {
+    FlexboxLayout layout = new FlexboxLayout(activity);
+    layout.setFlexWrap(FlexWrap.WRAP);
+    for (int i = 0; i < CHILD_COUNT; i++) {
+      layout.addView(
+          new View(activity), new FlexboxLayout.LayoutParams(CHILD_WIDTH, CHILD_HEIGHT));
+    }
+    return layout;
+  }
+
+  private static void setChildWidth(View child, int width) {
+    child.getLayoutParams().width = width;
+    child.requestLayout();
+  }
+
+  private static void measureAndLayout(FlexboxLayout layout) {
+    layout.measure(
+        MeasureSpec.makeMeasureSpec(LAYOUT_WIDTH, MeasureSpec.AT_MOST),
+        MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED));
+    layout.layout(0, 0, layout.getMeasuredWidth(), layout.getMeasuredHeight());
+  }
+
+  private static void assertSameFlexLines(List<FlexLine> actual, List<FlexLine> expected) {
+    assertThat(actual).hasSize(expected.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertThat(actual.get(i).getFirstIndex()).isEqualTo(expected.get(i).getFirstIndex());
+      assertThat(actual.get(i).getItemCount()).isEqualTo(expected.get(i).getItemCount());
+      assertThat(actual.get(i).getMainSize()).isEqualTo(expected.get(i).getMainSize());
+      assertThat(actual.get(i).getCrossSize()).isEqualTo(expected.get(i).getCrossSize());
+    }
+  }
+}
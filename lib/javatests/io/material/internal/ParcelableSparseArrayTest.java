@@ -0,0 +1,151 @@
+/*
+ * Copyright 2018 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.material.internal;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import android.graphics.Point;
+import android.graphics.Rect;
+import android.os.Parcel;
+import com.google.android.material.internal.ParcelableSparseArray;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/** Tests for the parcel format of {@link ParcelableSparseArray}. */
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE)
+public class ParcelableSparseArrayTest {
+
+  private Parcel parcel;
+
+  @Before
+  public void setUp() {
+    parcel = Parcel.obtain();
+  }
+
+  @After
+  public void tearDown() {
+    parcel.recycle();
+  }
+
+  @Test
+  public void roundTrip_restoresKeysAndValues() {
+    ParcelableSparseArray array = createArray();
+
+    ParcelableSparseArray restored = writeAndRead(array);
+
+    assertThat(restored.size()).isEqualTo(4);
+    assertThat(restored.get(1)).isEqualTo(new Rect(1, 2, 3, 4));
+    assertThat(restored.get(5)).isEqualTo(new Point(5, 6));
+    assertThat(restored.get(7)).isEqualTo(new Rect(7, 8, 9, 10));
+    assertThat(restored.indexOfKey(9)).isAtLeast(0);
+    assertThat(restored.get(9)).isNull();
+  }
+
+  @Test
+  public void writeToParcel_writesEachClassNameOnce() {
+    createArray().writeToParcel(parcel, 0);
+    parcel.setDataPosition(0);
+
+    assertThat(parcel.readInt()).isEqualTo(4);
+    assertThat(parcel.createIntArray()).isEqualTo(new int[] {1, 5, 7, 9});
+    assertThat(parcel.readInt()).isEqualTo(2);
+    assertThat(parcel.readString()).isEqualTo(Rect.class.getName());
+    assertThat(parcel.readString()).isEqualTo(Point.class.getName());
+
+    assertThat(parcel.readInt()).isEqualTo(0);
+    assertThat(Rect.CREATOR.createFromParcel(parcel)).isEqualTo(new Rect(1, 2, 3, 4));
+    assertThat(parcel.readInt()).isEqualTo(1);
+    assertThat(Point.CREATOR.createFromParcel(parcel)).isEqualTo(new Point(5, 6));
+    assertThat(parcel.readInt()).isEqualTo(0);
+    assertThat(Rect.CREATOR.createFromParcel(parcel)).isEqualTo(new Rect(7, 8, 9, 10));
+    // Null values have no class
+    assertThat(parcel.readInt()).isEqualTo(-1);
+    assertThat(parcel.dataAvail()).isEqualTo(0);
+  }
+
+  @Test
+  public void roundTrip_emptyArray() {
+    ParcelableSparseArray restored = writeAndRead(new ParcelableSparseArray());
+
+    assertThat(restored.size()).isEqualTo(0);
+  }
+
+  @Test
+  public void getParceledSize_matchesWrittenSize() {
+    ParcelableSparseArray array = createArray();
+    int size = array.getParceledSize();
+
+    array.writeToParcel(parcel, 0);
+
+    assertThat(parcel.dataSize()).isEqualTo(size);
+    assertThat(writeAndRead(array).get(5)).isEqualTo(new Point(5, 6));
+  }
+
+  @Test
+  public void getParceledSize_thenModified_writesNewValues() {
+    ParcelableSparseArray array = createArray();
+    int size = array.getParceledSize();
+
+    array.put(11, new Point(11, 12));
+    array.remove(1);
+
+    assertThat(array.getParceledSize()).isGreaterThan(size);
+    ParcelableSparseArray restored = writeAndRead(array);
+    assertThat(restored.size()).isEqualTo(4);
+    assertThat(restored.get(1)).isNull();
+    assertThat(restored.get(11)).isEqualTo(new Point(11, 12));
+  }
+
+  @Test
+  public void getParceledSize_thenRemovedRange_writesRemainingValues() {
+    ParcelableSparseArray array = createArray();
+    int size = array.getParceledSize();
+
+    array.removeAtRange(0, 2);
+
+    assertThat(array.getParceledSize()).isLessThan(size);
+    ParcelableSparseArray restored = writeAndRead(array);
+    assertThat(restored.size()).isEqualTo(2);
+    assertThat(restored.get(1)).isNull();
+    assertThat(restored.get(5)).isNull();
+    assertThat(restored.get(7)).isEqualTo(new Rect(7, 8, 9, 10));
+  }
+
+  private static ParcelableSparseArray writeAndRead(ParcelableSparseArray array) {
+    Parcel out = Parcel.obtain();
+    try {
+      array.writeToParcel(out, 0);
+      out.setDataPosition(0);
+      return ParcelableSparseArray.CREATOR.createFromParcel(out);
+    } finally {
+      out.recycle();
+    }
+  }
+
+  private static ParcelableSparseArray createArray() {
+    ParcelableSparseArray array = new ParcelableSparseArray();
+    array.put(1, new Rect(1, 2, 3, 4));
+    array.put(5, new Point(5, 6));
+    array.put(7, new Rect(7, 8, 9, 10));
+    array.put(9, null);
+    return array;
+  }
+}
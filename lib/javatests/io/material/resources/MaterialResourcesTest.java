@@ -0,0 +1,83 @@
+/*
+ * Copyright 2018 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.material.resources;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import android.content.Context;
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import com.google.android.material.resources.MaterialResources;
+import com.google.android.material.resources.TextAppearance;
+import com.google.android.material.resources.WeakThemeMap;
+import android.view.ContextThemeWrapper;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+/** Tests for the TextAppearance cache of {@link MaterialResources}. */
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE)
+public class MaterialResourcesTest {
+
+  private static final int THEME = android.R.style.Theme;
+  private static final int TEXT_APPEARANCE = android.R.style.TextAppearance_Small;
+
+  @Test
+  public void getTextAppearance_sameTheme_returnsCachedInstance() {
+    Context context = createThemedContext(1f);
+
+    TextAppearance first = MaterialResources.getTextAppearance(context, TEXT_APPEARANCE);
+
+    assertThat(MaterialResources.getTextAppearance(context, TEXT_APPEARANCE)).isSameAs(first);
+  }
+
+  @Test
+  public void getTextAppearance_sameStyleOtherConfiguration_isNotShared() {
+    Context context = createThemedContext(1f);
+    Context otherContext = createThemedContext(2f);
+
+    TextAppearance textAppearance = MaterialResources.getTextAppearance(context, TEXT_APPEARANCE);
+    TextAppearance otherTextAppearance =
+        MaterialResources.getTextAppearance(otherContext, TEXT_APPEARANCE);
+
+    assertThat(otherTextAppearance).isNotSameAs(textAppearance);
+  }
+
+  @Test
+  public void weakThemeMap_comparesThemesByIdentity() {
+    Resources.Theme theme = createThemedContext(1f).getTheme();
+    Resources.Theme otherTheme = createThemedContext(1f).getTheme();
+    WeakThemeMap<String> map = new WeakThemeMap<>();
+
+    map.put(theme, "theme");
+    map.put(otherTheme, "otherTheme");
+
+    assertThat(map.get(theme)).isEqualTo("theme");
+    assertThat(map.get(otherTheme)).isEqualTo("otherTheme");
+    assertThat(map.size()).isEqualTo(2);
+  }
+
+  private static Context createThemedContext(float fontScale) {
+    Configuration configuration =
+        new Configuration(RuntimeEnvironment.application.getResources().getConfiguration());
+    configuration.fontScale = fontScale;
+    Context context = RuntimeEnvironment.application.createConfigurationContext(configuration);
+    return new ContextThemeWrapper(context, THEME);
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2018 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.material.shape;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.android.material.shape.CutCornerTreatment;
+import com.google.android.material.shape.RoundedCornerTreatment;
+import com.google.android.material.shape.ShapePathModel;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/** Tests for {@link ShapePathModel}. */
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE)
+public class ShapePathModelTest {
+
+  @Test
+  public void immutableModels_withSameTreatments_areEqual() {
+    ShapePathModel first =
+        new ShapePathModel.Builder().setAllCorners(new CutCornerTreatment(10f)).build();
+    ShapePathModel second =
+        new ShapePathModel.Builder().setAllCorners(new CutCornerTreatment(10f)).build();
+
+    assertThat(first).isEqualTo(second);
+    assertThat(first.hashCode()).isEqualTo(second.hashCode());
+  }
+
+  @Test
+  public void immutableModels_withDifferentTreatments_areNotEqual() {
+    ShapePathModel cut =
+        new ShapePathModel.Builder().setAllCorners(new CutCornerTreatment(10f)).build();
+    ShapePathModel rounded =
+        new ShapePathModel.Builder().setAllCorners(new RoundedCornerTreatment(10f)).build();
+
+    assertThat(cut).isNotEqualTo(rounded);
+  }
+
+  @Test
+  public void mutableModels_withSameTreatments_areNotEqual() {
+    ShapePathModel first = new ShapePathModel();
+    first.setAllCorners(new CutCornerTreatment(10f));
+    ShapePathModel second = new ShapePathModel();
+    second.setAllCorners(new CutCornerTreatment(10f));
+
+    assertThat(first).isEqualTo(first);
+    assertThat(first).isNotEqualTo(second);
+  }
+
+  @Test
+  public void mutableModel_isNotEqualToImmutableCopy() {
+    ShapePathModel mutable = new ShapePathModel();
+    ShapePathModel immutable = new ShapePathModel.Builder(mutable).build();
+
+    assertThat(mutable).isNotEqualTo(immutable);
+    assertThat(immutable).isNotEqualTo(mutable);
+  }
+
+  @Test
+  public void mutableModel_modifiedAfterInsertion_isStillFoundInSet() {
+    ShapePathModel model = new ShapePathModel();
+    Set<ShapePathModel> models = new HashSet<>();
+    models.add(model);
+
+    model.setAllCorners(new RoundedCornerTreatment(20f));
+
+    assertThat(models).contains(model);
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2018 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.material.stateful;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import android.os.Bundle;
+import android.os.Parcel;
+import com.google.android.material.stateful.ExtendableSavedState;
+import android.support.v4.view.AbsSavedState;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/** Tests for the parcel format of {@link ExtendableSavedState}. */
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE)
+public class ExtendableSavedStateTest {
+
+  @Test
+  public void roundTrip_restoresPackedStates() {
+    ExtendableSavedState state = new ExtendableSavedState(AbsSavedState.EMPTY_STATE);
+    state.packedStates.put(3, new int[] {1, 2});
+    state.packedStates.put(1, new int[] {});
+    state.packedStates.put(42, new int[] {Integer.MIN_VALUE, 0, Integer.MAX_VALUE});
+
+    ExtendableSavedState restored = writeAndRead(state);
+
+    assertThat(restored.packedStates.size()).isEqualTo(3);
+    assertThat(restored.packedStates.get(1)).isEmpty();
+    assertThat(restored.packedStates.get(3)).isEqualTo(new int[] {1, 2});
+    assertThat(restored.packedStates.get(42))
+        .isEqualTo(new int[] {Integer.MIN_VALUE, 0, Integer.MAX_VALUE});
+    assertThat(restored.extendableStates.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void roundTrip_restoresBundleAndPackedStates() {
+    ExtendableSavedState state = new ExtendableSavedState(AbsSavedState.EMPTY_STATE);
+    Bundle bundle = new Bundle();
+    bundle.putBoolean("expanded", true);
+    state.extendableStates.put("widget", bundle);
+    state.packedStates.put(7, new int[] {1});
+
+    ExtendableSavedState restored = writeAndRead(state);
+
+    assertThat(restored.extendableStates.size()).isEqualTo(1);
+    assertThat(restored.extendableStates.get("widget").getBoolean("expanded")).isTrue();
+    assertThat(restored.packedStates.get(7)).isEqualTo(new int[] {1});
+  }
+
+  @Test
+  public void roundTrip_withoutStates() {
+    ExtendableSavedState restored =
+        writeAndRead(new ExtendableSavedState(AbsSavedState.EMPTY_STATE));
+
+    assertThat(restored.extendableStates.isEmpty()).isTrue();
+    assertThat(restored.packedStates.size()).isEqualTo(0);
+  }
+
+  private static ExtendableSavedState writeAndRead(ExtendableSavedState state) {
+    Parcel parcel = Parcel.obtain();
+    try {
+      state.writeToParcel(parcel, 0);
+      parcel.setDataPosition(0);
+      ExtendableSavedState restored = ExtendableSavedState.CREATOR.createFromParcel(parcel);
+      // Everything written is read back
+      assertThat(parcel.dataAvail()).isEqualTo(0);
+      return restored;
+    } finally {
+      parcel.recycle();
+    }
+  }
+}
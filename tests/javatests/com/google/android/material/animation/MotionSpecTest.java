@@ -17,9 +17,13 @@ package com.google.android.material.animation;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 
 import android.animation.ValueAnimator;
 import android.content.res.TypedArray;
@@ -114,6 +118,44 @@ public class MotionSpecTest {
     assertEquals(ValueAnimator.REVERSE, translation.getRepeatMode());
   }
 
+  @Test
+  public void registryReturnsSharedImmutableMotionSpec() {
+    AppCompatActivity context = activityTestRule.getActivity();
+    MotionSpec spec1 =
+        MotionSpecRegistry.get(context, R.animator.valid_set_of_object_animator_motion_spec);
+    MotionSpec spec2 =
+        MotionSpecRegistry.get(context, R.animator.valid_set_of_object_animator_motion_spec);
+
+    assertSame(spec1, spec2);
+    assertTrue(spec1.isImmutable());
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void sharedMotionSpecCantBeModified() {
+    MotionSpec spec =
+        MotionSpecRegistry.get(
+            activityTestRule.getActivity(), R.animator.valid_set_of_object_animator_motion_spec);
+    spec.setTiming("alpha", new MotionTiming(0, 100));
+  }
+
+  @Test
+  public void registryCopyCanBeModified() {
+    AppCompatActivity context = activityTestRule.getActivity();
+    MotionSpec shared =
+        MotionSpecRegistry.get(context, R.animator.valid_set_of_object_animator_motion_spec);
+    MotionSpec copy =
+        MotionSpecRegistry.getCopy(context, R.animator.valid_set_of_object_animator_motion_spec);
+
+    assertNotSame(shared, copy);
+    assertFalse(copy.isImmutable());
+    assertEquals(shared, copy);
+
+    MotionTiming timing = new MotionTiming(0, 100);
+    copy.setTiming("alpha", timing);
+    assertSame(timing, copy.getTiming("alpha"));
+    assertNotSame(timing, shared.getTiming("alpha"));
+  }
+
   public void inflateInvalidSetOfSetMotionSpec() {
     assertNull(
         MotionSpec.createFromResource(
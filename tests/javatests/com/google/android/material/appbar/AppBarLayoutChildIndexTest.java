@@ -0,0 +1,128 @@
+/*
+ * Copyright 2018 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.appbar;
+
+import static org.junit.Assert.assertEquals;
+
+import com.google.android.material.testapp.DynamicCoordinatorLayoutActivity;
+import android.support.test.annotation.UiThreadTest;
+import android.support.test.filters.SmallTest;
+import android.support.test.rule.ActivityTestRule;
+import android.support.test.runner.AndroidJUnit4;
+import android.view.View;
+import android.view.View.MeasureSpec;
+import android.view.ViewGroup;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/** Tests for {@link AppBarLayout#getChildIndexOnAbsOffset(int)}. */
+@RunWith(AndroidJUnit4.class)
+@SmallTest
+public class AppBarLayoutChildIndexTest {
+
+  private static final int CHILD_HEIGHT = 100;
+  private static final int CHILD_COUNT = 4;
+
+  @Rule
+  public final ActivityTestRule<DynamicCoordinatorLayoutActivity> activityTestRule =
+      new ActivityTestRule<>(DynamicCoordinatorLayoutActivity.class);
+
+  private AppBarLayout appBar;
+
+  @Before
+  public void setUp() throws Throwable {
+    activityTestRule.runOnUiThread(
+        new Runnable() {
+          @Override
+          public void run() {
+            appBar = new AppBarLayout(activityTestRule.getActivity());
+            for (int i = 0; i < CHILD_COUNT; i++) {
+              appBar.addView(
+                  new View(activityTestRule.getActivity()),
+                  new AppBarLayout.LayoutParams(
+                      ViewGroup.LayoutParams.MATCH_PARENT, CHILD_HEIGHT));
+            }
+          }
+        });
+  }
+
+  @UiThreadTest
+  @Test
+  public void testFindsChildContainingOffset() {
+    layoutAppBar();
+
+    assertEquals(0, appBar.getChildIndexOnAbsOffset(0));
+    assertEquals(0, appBar.getChildIndexOnAbsOffset(50));
+    // Bounds are inclusive, the first child wins.
+    assertEquals(0, appBar.getChildIndexOnAbsOffset(CHILD_HEIGHT));
+    assertEquals(1, appBar.getChildIndexOnAbsOffset(CHILD_HEIGHT + 1));
+    assertEquals(2, appBar.getChildIndexOnAbsOffset(250));
+    assertEquals(3, appBar.getChildIndexOnAbsOffset(CHILD_COUNT * CHILD_HEIGHT));
+    assertEquals(-1, appBar.getChildIndexOnAbsOffset(CHILD_COUNT * CHILD_HEIGHT + 1));
+  }
+
+  @UiThreadTest
+  @Test
+  public void testSkipsGoneChildren() {
+    layoutAppBar();
+    // The gone child keeps its bounds from the previous layout.
+    appBar.getChildAt(1).setVisibility(View.GONE);
+    layoutAppBar();
+
+    assertEquals(0, appBar.getChildIndexOnAbsOffset(50));
+    assertEquals(2, appBar.getChildIndexOnAbsOffset(150));
+    assertEquals(3, appBar.getChildIndexOnAbsOffset(250));
+    assertEquals(-1, appBar.getChildIndexOnAbsOffset(350));
+  }
+
+  @UiThreadTest
+  @Test
+  public void testSkipsGoneFirstChild() {
+    appBar.getChildAt(0).setVisibility(View.GONE);
+    layoutAppBar();
+
+    assertEquals(1, appBar.getChildIndexOnAbsOffset(0));
+    assertEquals(2, appBar.getChildIndexOnAbsOffset(150));
+    assertEquals(3, appBar.getChildIndexOnAbsOffset(250));
+  }
+
+  @UiThreadTest
+  @Test
+  public void testChildrenChangedSinceLayout() {
+    layoutAppBar();
+    // Replace a child without changing the child count, and without a layout pass.
+    View removed = appBar.getChildAt(1);
+    appBar.removeViewAt(1);
+    appBar.addView(removed, 0);
+
+    // The new order is found by walking the views with their current bounds.
+    assertEquals(1, appBar.getChildIndexOnAbsOffset(50));
+    assertEquals(0, appBar.getChildIndexOnAbsOffset(150));
+
+    layoutAppBar();
+    assertEquals(0, appBar.getChildIndexOnAbsOffset(50));
+    assertEquals(1, appBar.getChildIndexOnAbsOffset(150));
+  }
+
+  private void layoutAppBar() {
+    appBar.measure(
+        MeasureSpec.makeMeasureSpec(400, MeasureSpec.EXACTLY),
+        MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED));
+    appBar.layout(0, 0, appBar.getMeasuredWidth(), appBar.getMeasuredHeight());
+  }
+}
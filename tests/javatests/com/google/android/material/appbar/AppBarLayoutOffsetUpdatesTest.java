@@ -0,0 +1,152 @@
+/*
+ * Copyright 2018 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.appbar;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.android.material.testapp.DynamicCoordinatorLayoutActivity;
+import android.support.test.annotation.UiThreadTest;
+import android.support.test.filters.SmallTest;
+import android.support.test.rule.ActivityTestRule;
+import android.support.test.runner.AndroidJUnit4;
+import android.support.v4.view.ViewCompat;
+import android.view.ViewGroup;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/** Tests for {@link AppBarLayout#setCoalesceOffsetUpdates(boolean)}. */
+@RunWith(AndroidJUnit4.class)
+@SmallTest
+public class AppBarLayoutOffsetUpdatesTest {
+
+  @Rule
+  public final ActivityTestRule<DynamicCoordinatorLayoutActivity> activityTestRule =
+      new ActivityTestRule<>(DynamicCoordinatorLayoutActivity.class);
+
+  private AppBarLayout appBar;
+  private ViewGroup content;
+  private final RecordingListener listener = new RecordingListener();
+
+  @Before
+  public void setUp() throws Throwable {
+    activityTestRule.runOnUiThread(
+        new Runnable() {
+          @Override
+          public void run() {
+            appBar = new AppBarLayout(activityTestRule.getActivity());
+            appBar.setCoalesceOffsetUpdates(true);
+            appBar.addOnOffsetChangedListener(listener);
+            content = activityTestRule.getActivity().findViewById(android.R.id.content);
+            content.addView(appBar);
+          }
+        });
+  }
+
+  @UiThreadTest
+  @Test
+  public void testOffsetStepsInOneFrameAreDispatchedOnce() {
+    assertTrue(ViewCompat.isAttachedToWindow(appBar));
+
+    appBar.dispatchOffsetUpdates(-10);
+    appBar.dispatchOffsetUpdates(-20);
+    appBar.dispatchOffsetUpdates(-30);
+    assertTrue(listener.updates.isEmpty());
+
+    drawFrame();
+    assertEquals(Arrays.asList(update(-30, -30)), listener.updates);
+
+    // Nothing changed during the next frame.
+    drawFrame();
+    assertEquals(1, listener.updates.size());
+  }
+
+  @UiThreadTest
+  @Test
+  public void testOffsetDeltaAccumulatesTheFrame() {
+    appBar.dispatchOffsetUpdates(-10);
+    drawFrame();
+    appBar.dispatchOffsetUpdates(-15);
+    appBar.dispatchOffsetUpdates(-25);
+    appBar.dispatchOffsetUpdates(-20);
+    drawFrame();
+
+    assertEquals(Arrays.asList(update(-10, -10), update(-20, -10)), listener.updates);
+  }
+
+  @UiThreadTest
+  @Test
+  public void testDisablingCoalescingFlushesPendingOffset() {
+    appBar.dispatchOffsetUpdates(-10);
+    appBar.dispatchOffsetUpdates(-20);
+
+    appBar.setCoalesceOffsetUpdates(false);
+    assertEquals(Arrays.asList(update(-20, -20)), listener.updates);
+
+    // Offsets are now dispatched as they happen.
+    appBar.dispatchOffsetUpdates(-25);
+    assertEquals(Arrays.asList(update(-20, -20), update(-25, -5)), listener.updates);
+  }
+
+  @UiThreadTest
+  @Test
+  public void testDetachingFlushesPendingOffset() {
+    appBar.dispatchOffsetUpdates(-10);
+    appBar.dispatchOffsetUpdates(-20);
+
+    content.removeView(appBar);
+    assertEquals(Arrays.asList(update(-20, -20)), listener.updates);
+  }
+
+  @UiThreadTest
+  @Test
+  public void testOffsetsAreDispatchedSynchronouslyWhenDetached() {
+    content.removeView(appBar);
+
+    appBar.dispatchOffsetUpdates(-10);
+    appBar.dispatchOffsetUpdates(-20);
+
+    assertEquals(Arrays.asList(update(-10, -10), update(-20, -10)), listener.updates);
+  }
+
+  private void drawFrame() {
+    appBar.getViewTreeObserver().dispatchOnPreDraw();
+  }
+
+  private static List<Integer> update(int verticalOffset, int offsetDelta) {
+    return Arrays.asList(verticalOffset, offsetDelta);
+  }
+
+  /** Records the offset and the delta of each call. */
+  private static class RecordingListener implements AppBarLayout.OnOffsetDeltaChangedListener {
+    final List<List<Integer>> updates = new ArrayList<>();
+
+    @Override
+    public void onOffsetChanged(AppBarLayout appBarLayout, int verticalOffset, int offsetDelta) {
+      updates.add(update(verticalOffset, offsetDelta));
+    }
+
+    @Override
+    public void onOffsetChanged(AppBarLayout appBarLayout, int verticalOffset) {
+      throw new AssertionError("Only the delta callback should be called");
+    }
+  }
+}
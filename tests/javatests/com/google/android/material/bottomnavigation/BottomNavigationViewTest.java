@@ -20,6 +20,7 @@ import static com.google.android.material.testutils.BottomNavigationViewActions.
 import static com.google.android.material.testutils.BottomNavigationViewActions.setIconSize;
 import static com.google.android.material.testutils.BottomNavigationViewActions.setItemIconTintList;
 import static com.google.android.material.testutils.BottomNavigationViewActions.setLabelVisibilityMode;
+import static com.google.android.material.testutils.BottomNavigationViewActions.setSelectionAnimationMode;
 import static android.support.test.espresso.Espresso.onView;
 import static android.support.test.espresso.action.ViewActions.click;
 import static android.support.test.espresso.assertion.ViewAssertions.matches;
@@ -49,6 +50,7 @@ import android.os.Parcelable;
 import android.support.annotation.ColorInt;
 import com.google.android.material.testapp.BottomNavigationViewActivity;
 import com.google.android.material.testapp.R;
+import com.google.android.material.testutils.PollingCheck;
 import com.google.android.material.testutils.TestDrawable;
 import com.google.android.material.testutils.TestUtilsMatchers;
 import android.support.test.annotation.UiThreadTest;
@@ -606,6 +608,28 @@ public class BottomNavigationViewTest {
     checkLabelVisibilityIsSelected();
   }
 
+  @Test
+  @SmallTest
+  public void testSelectionAnimationModeDefaultsToTransition() {
+    assertEquals(
+        SelectionAnimationMode.SELECTION_ANIMATION_TRANSITION,
+        bottomNavigation.getSelectionAnimationMode());
+  }
+
+  @Test
+  @SmallTest
+  public void testTransitionSelectionAnimationEndsAtLaidOutBounds() {
+    checkSelectionAnimationEndsAtLaidOutBounds(
+        SelectionAnimationMode.SELECTION_ANIMATION_TRANSITION);
+  }
+
+  @Test
+  @SmallTest
+  public void testLightweightSelectionAnimationEndsAtLaidOutBounds() {
+    checkSelectionAnimationEndsAtLaidOutBounds(
+        SelectionAnimationMode.SELECTION_ANIMATION_LIGHTWEIGHT);
+  }
+
   @Test
   @SmallTest
   public void testIconSizeChanges() {
@@ -696,6 +720,40 @@ public class BottomNavigationViewTest {
     }
   }
 
+  private void checkSelectionAnimationEndsAtLaidOutBounds(@SelectionAnimationMode int mode) {
+    // Use the shifting mode, where the width of the items changes with the selection.
+    onView(withId(R.id.bottom_navigation)).perform(addMenuItem("Settings"));
+    onView(withId(R.id.bottom_navigation)).perform(setSelectionAnimationMode(mode));
+    assertEquals(mode, bottomNavigation.getSelectionAnimationMode());
+
+    onView(withId(R.id.destination_profile)).perform(click());
+    onView(withId(R.id.destination_people)).perform(click());
+
+    final ViewGroup menuView = (ViewGroup) bottomNavigation.getChildAt(0);
+    PollingCheck.waitFor(
+        new PollingCheck.PollingCheckCondition() {
+          @Override
+          public boolean canProceed() {
+            return isLaidOutWithoutAnimation(menuView);
+          }
+        });
+    checkLabelVisibilityIsSelected();
+  }
+
+  private static boolean isLaidOutWithoutAnimation(ViewGroup menuView) {
+    int left = 0;
+    for (int i = 0; i < menuView.getChildCount(); i++) {
+      View item = menuView.getChildAt(i);
+      if (item.getLeft() != left
+          || item.getWidth() != item.getMeasuredWidth()
+          || item.findViewById(R.id.icon).getTranslationY() != 0f) {
+        return false;
+      }
+      left += item.getMeasuredWidth();
+    }
+    return true;
+  }
+
   private void checkLabelVisibilityIsLabeled() {
     for (int id : MENU_CONTENT_ITEM_IDS) {
       MenuItem item = bottomNavigation.getMenu().findItem(id);
@@ -31,6 +31,7 @@ import com.google.android.material.floatingactionbutton.FloatingActionButton;
 import com.google.android.material.testapp.BottomSheetBehaviorActivity;
 import com.google.android.material.testapp.R;
 import com.google.android.material.testutils.DesignViewActions;
+import com.google.android.material.testutils.PollingCheck;
 import android.support.design.widget.CoordinatorLayout;
 import android.support.test.espresso.Espresso;
 import android.support.test.espresso.IdlingResource;
@@ -59,6 +60,10 @@ import android.view.MotionEvent;
 import android.view.View;
 import android.view.ViewConfiguration;
 import android.view.ViewGroup;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import org.hamcrest.Matcher;
 import org.hamcrest.Matchers;
 import org.junit.Rule;
@@ -889,6 +894,141 @@ public class BottomSheetBehaviorTest {
     assertThat(scrollingChild, is((View) enabledChild));
   }
 
+  @Test
+  @SmallTest
+  public void testFlingTargetStateFitToContents() {
+    BottomSheetBehavior behavior = getBehavior();
+    int middle = (behavior.fitToContentsOffset + behavior.collapsedOffset) / 2;
+
+    assertThat(behavior.getFlingTargetState(middle, -1), is(BottomSheetBehavior.STATE_EXPANDED));
+    assertThat(behavior.getFlingTargetState(middle, 1), is(BottomSheetBehavior.STATE_COLLAPSED));
+  }
+
+  @Test
+  @SmallTest
+  public void testFlingUpTargetState() throws Throwable {
+    setFitToContents(false);
+    BottomSheetBehavior behavior = getBehavior();
+    int belowHalfExpanded = behavior.collapsedOffset - 1;
+    int aboveHalfExpanded = behavior.halfExpandedOffset - 1;
+
+    // A slow fling doesn't carry the sheet past the half expanded state.
+    assertThat(
+        behavior.getFlingTargetState(belowHalfExpanded, -1),
+        is(BottomSheetBehavior.STATE_HALF_EXPANDED));
+    // A fast fling carries it closer to the expanded state.
+    assertThat(
+        behavior.getFlingTargetState(belowHalfExpanded, -10 * behavior.parentHeight),
+        is(BottomSheetBehavior.STATE_EXPANDED));
+    // Above the half expanded state, any upward fling expands the sheet.
+    assertThat(
+        behavior.getFlingTargetState(aboveHalfExpanded, -1),
+        is(BottomSheetBehavior.STATE_EXPANDED));
+  }
+
+  @Test
+  @SmallTest
+  public void testFlingDownTargetState() throws Throwable {
+    setFitToContents(false);
+    BottomSheetBehavior behavior = getBehavior();
+    int aboveHalfExpanded = behavior.halfExpandedOffset - 1;
+    int belowHalfExpanded = behavior.halfExpandedOffset + 1;
+
+    // A slow fling doesn't carry the sheet past the half expanded state.
+    assertThat(
+        behavior.getFlingTargetState(aboveHalfExpanded, 1),
+        is(BottomSheetBehavior.STATE_HALF_EXPANDED));
+    // A fast fling carries it closer to the collapsed state.
+    assertThat(
+        behavior.getFlingTargetState(aboveHalfExpanded, 10 * behavior.parentHeight),
+        is(BottomSheetBehavior.STATE_COLLAPSED));
+    // Below the half expanded state, any downward fling collapses the sheet.
+    assertThat(
+        behavior.getFlingTargetState(belowHalfExpanded, 1),
+        is(BottomSheetBehavior.STATE_COLLAPSED));
+  }
+
+  @Test
+  @MediumTest
+  public void testSlideDispatchedOncePerFrameWhileDragging() throws Throwable {
+    final List<String> events = Collections.synchronizedList(new ArrayList<String>());
+    final BottomSheetBehavior behavior = getBehavior();
+    activityTestRule.runOnUiThread(
+        new Runnable() {
+          @Override
+          public void run() {
+            behavior.setBottomSheetCallback(new RecordingCallback(events));
+            behavior.setStateInternal(BottomSheetBehavior.STATE_DRAGGING);
+            events.clear();
+            int collapsedOffset = behavior.collapsedOffset;
+            behavior.dispatchOnSlide(collapsedOffset - 1);
+            behavior.dispatchOnSlide(collapsedOffset - 2);
+            behavior.dispatchOnSlide(collapsedOffset);
+            // Nothing is dispatched until the next frame.
+            assertThat(events.isEmpty(), is(true));
+          }
+        });
+
+    PollingCheck.waitFor(
+        new PollingCheck.PollingCheckCondition() {
+          @Override
+          public boolean canProceed() {
+            return !events.isEmpty();
+          }
+        });
+    // Only the last position is reported.
+    assertThat(events, is(Collections.singletonList("slide 0.0")));
+  }
+
+  @Test
+  @SmallTest
+  public void testPendingSlideDispatchedBeforeStateChange() throws Throwable {
+    final List<String> events = Collections.synchronizedList(new ArrayList<String>());
+    final BottomSheetBehavior behavior = getBehavior();
+    activityTestRule.runOnUiThread(
+        new Runnable() {
+          @Override
+          public void run() {
+            behavior.setBottomSheetCallback(new RecordingCallback(events));
+            behavior.setStateInternal(BottomSheetBehavior.STATE_DRAGGING);
+            events.clear();
+            behavior.dispatchOnSlide(behavior.collapsedOffset - 1);
+            behavior.dispatchOnSlide(behavior.collapsedOffset);
+            behavior.setStateInternal(BottomSheetBehavior.STATE_COLLAPSED);
+          }
+        });
+
+    assertThat(
+        events, is(Arrays.asList("slide 0.0", "state " + BottomSheetBehavior.STATE_COLLAPSED)));
+
+    // The pending slide isn't reported again on the next frame. This runs after the animation
+    // callbacks posted before it.
+    activityTestRule.runOnUiThread(
+        new Runnable() {
+          @Override
+          public void run() {
+            ViewCompat.postOnAnimation(
+                getBottomSheet(),
+                new Runnable() {
+                  @Override
+                  public void run() {
+                    events.add("frame");
+                  }
+                });
+          }
+        });
+    PollingCheck.waitFor(
+        new PollingCheck.PollingCheckCondition() {
+          @Override
+          public boolean canProceed() {
+            return events.contains("frame");
+          }
+        });
+    assertThat(
+        events,
+        is(Arrays.asList("slide 0.0", "state " + BottomSheetBehavior.STATE_COLLAPSED, "frame")));
+  }
+
   private void checkSetState(final int state, Matcher<View> matcher) throws Throwable {
     registerIdlingResourceCallback();
     try {
@@ -907,6 +1047,36 @@ public class BottomSheetBehaviorTest {
     }
   }
 
+  private void setFitToContents(final boolean fitToContents) throws Throwable {
+    activityTestRule.runOnUiThread(
+        new Runnable() {
+          @Override
+          public void run() {
+            getBehavior().setFitToContents(fitToContents);
+          }
+        });
+  }
+
+  /** Records the callbacks of a bottom sheet, in the order they're invoked. */
+  private static class RecordingCallback extends BottomSheetBehavior.BottomSheetCallback {
+
+    private final List<String> events;
+
+    RecordingCallback(List<String> events) {
+      this.events = events;
+    }
+
+    @Override
+    public void onStateChanged(@NonNull View bottomSheet, @BottomSheetBehavior.State int newState) {
+      events.add("state " + newState);
+    }
+
+    @Override
+    public void onSlide(@NonNull View bottomSheet, float slideOffset) {
+      events.add("slide " + slideOffset);
+    }
+  }
+
   private void registerIdlingResourceCallback() {
     // This cannot be done in setUp(), or swiping action cannot be executed.
     callback = new Callback(getBehavior());
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2018 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.chip;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.android.material.R;
+import com.google.android.material.testapp.DynamicCoordinatorLayoutActivity;
+import android.support.annotation.NonNull;
+import android.support.test.annotation.UiThreadTest;
+import android.support.test.filters.SmallTest;
+import android.support.test.rule.ActivityTestRule;
+import android.support.test.runner.AndroidJUnit4;
+import android.view.ContextThemeWrapper;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/** Tests for the checked state of the chips in a {@link ChipGroup}. */
+@RunWith(AndroidJUnit4.class)
+@SmallTest
+public class ChipGroupTest {
+
+  private static final int CHIP_COUNT = 4;
+  private static final int FIRST_CHIP_ID = 100;
+
+  @Rule
+  public final ActivityTestRule<DynamicCoordinatorLayoutActivity> activityTestRule =
+      new ActivityTestRule<>(DynamicCoordinatorLayoutActivity.class);
+
+  private ChipGroup chipGroup;
+  private final List<List<Integer>> checkedStateChanges = new ArrayList<>();
+
+  @Before
+  public void setUp() throws Throwable {
+    activityTestRule.runOnUiThread(
+        new Runnable() {
+          @Override
+          public void run() {
+            ContextThemeWrapper context =
+                new ContextThemeWrapper(
+                    activityTestRule.getActivity(), R.style.Theme_MaterialComponents_Light);
+            chipGroup = new ChipGroup(context);
+            for (int i = 0; i < CHIP_COUNT; i++) {
+              Chip chip = new Chip(context);
+              chip.setId(FIRST_CHIP_ID + i);
+              chip.setCheckable(true);
+              chipGroup.addView(chip);
+            }
+            chipGroup.setOnCheckedStateChangeListener(
+                new ChipGroup.OnCheckedStateChangeListener() {
+                  @Override
+                  public void onCheckedChanged(
+                      ChipGroup group, @NonNull List<Integer> checkedIds) {
+                    checkedStateChanges.add(new ArrayList<>(checkedIds));
+                  }
+                });
+          }
+        });
+  }
+
+  @UiThreadTest
+  @Test
+  public void testCheckAll() {
+    chipGroup.checkAll();
+
+    List<Integer> allIds = Arrays.asList(100, 101, 102, 103);
+    assertEquals(allIds, chipGroup.getCheckedChipIds());
+    for (int i = 0; i < CHIP_COUNT; i++) {
+      assertTrue(getChip(i).isChecked());
+    }
+    assertEquals(Collections.singletonList(allIds), checkedStateChanges);
+  }
+
+  @UiThreadTest
+  @Test
+  public void testClearAll() {
+    getChip(0).setChecked(true);
+    getChip(2).setChecked(true);
+    checkedStateChanges.clear();
+
+    chipGroup.clearAll();
+
+    assertTrue(chipGroup.getCheckedChipIds().isEmpty());
+    for (int i = 0; i < CHIP_COUNT; i++) {
+      assertFalse(getChip(i).isChecked());
+    }
+    assertEquals(1, checkedStateChanges.size());
+    assertTrue(checkedStateChanges.get(0).isEmpty());
+  }
+
+  @UiThreadTest
+  @Test
+  public void testClearAllWithoutCheckedChips() {
+    chipGroup.clearAll();
+
+    assertTrue(checkedStateChanges.isEmpty());
+  }
+
+  @UiThreadTest
+  @Test
+  public void testSetChecked() {
+    getChip(0).setChecked(true);
+    getChip(1).setChecked(true);
+    checkedStateChanges.clear();
+
+    chipGroup.setChecked(Arrays.asList(101, 103));
+
+    List<Integer> expectedIds = Arrays.asList(101, 103);
+    assertEquals(expectedIds, chipGroup.getCheckedChipIds());
+    assertFalse(getChip(0).isChecked());
+    assertTrue(getChip(1).isChecked());
+    assertFalse(getChip(2).isChecked());
+    assertTrue(getChip(3).isChecked());
+    assertEquals(Collections.singletonList(expectedIds), checkedStateChanges);
+  }
+
+  @UiThreadTest
+  @Test
+  public void testSetCheckedWithSameIds() {
+    chipGroup.setChecked(Arrays.asList(100, 102));
+    checkedStateChanges.clear();
+
+    chipGroup.setChecked(Arrays.asList(102, 100));
+
+    assertTrue(checkedStateChanges.isEmpty());
+  }
+
+  @UiThreadTest
+  @Test
+  public void testCheckedSnapshotIsReusedUntilChange() {
+    chipGroup.setChecked(Arrays.asList(100, 102));
+    List<Integer> snapshot = chipGroup.getCheckedChipIds();
+
+    assertTrue(snapshot == chipGroup.getCheckedChipIds());
+
+    getChip(1).setChecked(true);
+    assertEquals(Arrays.asList(100, 101, 102), chipGroup.getCheckedChipIds());
+  }
+
+  @UiThreadTest
+  @Test
+  public void testChipIdChangedAfterAdding() {
+    Chip chip = getChip(1);
+    chip.setChecked(true);
+    chip.setId(200);
+    checkedStateChanges.clear();
+
+    // The checked chip is tracked under its new id.
+    assertEquals(Collections.singletonList(200), chipGroup.getCheckedChipIds());
+    assertTrue(checkedStateChanges.isEmpty());
+
+    chipGroup.setChecked(Arrays.asList(100, 200));
+    assertTrue(getChip(0).isChecked());
+    assertTrue(chip.isChecked());
+    assertEquals(Collections.singletonList(Arrays.asList(100, 200)), checkedStateChanges);
+
+    chipGroup.clearAll();
+    assertFalse(chip.isChecked());
+    assertTrue(chipGroup.getCheckedChipIds().isEmpty());
+  }
+
+  @UiThreadTest
+  @Test
+  public void testChipIdChangedThenRemoved() {
+    Chip chip = getChip(1);
+    chip.setChecked(true);
+    chip.setId(200);
+    checkedStateChanges.clear();
+
+    chipGroup.removeView(chip);
+
+    assertTrue(chipGroup.getCheckedChipIds().isEmpty());
+    assertEquals(1, checkedStateChanges.size());
+  }
+
+  private Chip getChip(int index) {
+    return (Chip) chipGroup.getChildAt(index);
+  }
+}
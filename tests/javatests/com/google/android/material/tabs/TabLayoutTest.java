@@ -53,6 +53,7 @@ import android.view.LayoutInflater;
 import android.view.MotionEvent;
 import android.view.PointerIcon;
 import android.view.View;
+import android.view.View.MeasureSpec;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.Rule;
 import org.junit.Test;
@@ -229,6 +230,60 @@ public class TabLayoutTest {
     }
   }
 
+  @Test
+  @UiThreadTest
+  public void testVirtualizedSelectedTabStaysSelectedWhenScrolledBack() {
+    final TabLayout tabLayout = createVirtualizedTabLayout(50);
+    final TabLayout.Tab firstTab = tabLayout.getTabAt(0);
+    assertTrue(firstTab.isSelected());
+
+    // Scroll the selected tab far out of the window, then back
+    tabLayout.scrollTo(tabLayout.getChildAt(0).getWidth(), 0);
+    layoutTabLayout(tabLayout);
+    assertNotNull("Last tab is bound", tabLayout.getTabAt(49).view);
+    tabLayout.scrollTo(0, 0);
+    layoutTabLayout(tabLayout);
+
+    assertNotNull("Selected tab is bound", firstTab.view);
+    assertTrue("Selected tab view is selected", firstTab.view.isSelected());
+    assertTrue("Selected tab view is activated", firstTab.view.isActivated());
+  }
+
+  @Test
+  @UiThreadTest
+  public void testSelectingVirtualizedTabBindsSelectedView() {
+    final TabLayout tabLayout = createVirtualizedTabLayout(50);
+    final TabLayout.Tab lastTab = tabLayout.getTabAt(49);
+    assertNull("Last tab is virtualized", lastTab.view);
+
+    lastTab.select();
+
+    assertNotNull("Selected tab is bound", lastTab.view);
+    assertTrue("Selected tab view is selected", lastTab.view.isSelected());
+  }
+
+  private TabLayout createVirtualizedTabLayout(int tabCount) {
+    final LayoutInflater inflater = LayoutInflater.from(activityTestRule.getActivity());
+    final TabLayout tabLayout = (TabLayout) inflater.inflate(R.layout.design_tabs, null);
+    tabLayout.setTabMode(TabLayout.MODE_SCROLLABLE);
+    tabLayout.setTabViewVirtualizationEnabled(true);
+    for (int i = 0; i < tabCount; i++) {
+      tabLayout.addTab(tabLayout.newTab().setText("Tab " + i));
+    }
+    layoutTabLayout(tabLayout);
+    // Views are bound for the window of the first layout
+    tabLayout.updateVirtualizedTabViews();
+    layoutTabLayout(tabLayout);
+    return tabLayout;
+  }
+
+  private static void layoutTabLayout(TabLayout tabLayout) {
+    tabLayout.measure(
+        MeasureSpec.makeMeasureSpec(400, MeasureSpec.EXACTLY),
+        MeasureSpec.makeMeasureSpec(100, MeasureSpec.EXACTLY));
+    tabLayout.layout(0, 0, 400, 100);
+  }
+
   @Test
   public void setScrollPositionLtr() throws Throwable {
     testSetScrollPosition(true);
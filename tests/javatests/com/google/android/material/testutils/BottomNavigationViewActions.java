@@ -24,6 +24,7 @@ import android.support.annotation.IdRes;
 import android.support.annotation.Nullable;
 import com.google.android.material.bottomnavigation.BottomNavigationView;
 import com.google.android.material.bottomnavigation.LabelVisibilityMode;
+import com.google.android.material.bottomnavigation.SelectionAnimationMode;
 import android.support.test.espresso.UiController;
 import android.support.test.espresso.ViewAction;
 import android.view.View;
@@ -115,6 +116,27 @@ public class BottomNavigationViewActions {
     };
   }
 
+  /** Set the bottom navigation view's selection animation mode. */
+  public static ViewAction setSelectionAnimationMode(@SelectionAnimationMode final int mode) {
+    return new ViewAction() {
+      @Override
+      public Matcher<View> getConstraints() {
+        return isDisplayed();
+      }
+
+      @Override
+      public String getDescription() {
+        return "Set the bottom navigation's selection animation mode to " + mode;
+      }
+
+      @Override
+      public void perform(UiController uiController, View view) {
+        BottomNavigationView navigationView = (BottomNavigationView) view;
+        navigationView.setSelectionAnimationMode(mode);
+      }
+    };
+  }
+
   /** Set the bottom navigation view's icon size. */
   public static ViewAction setIconSize(final int size) {
     return new ViewAction() {